@@ -0,0 +1,99 @@
+package org.reactive.r2dbc.iclient.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
+import org.reactive.r2dbc.iclient.mapping.R2dbcPreparedStatement;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.reactive.r2dbc.iclient.util.ExpandedSql;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.r2dbc.core.binding.BindTarget;
+
+/**
+ * Parameter binding of a mapper method call, from method arguments to bind
+ * markers of the statement.
+ * 
+ * @author Bhautik Bhanani
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BindingBenchmark {
+
+	private R2dbcConfiguration configuration;
+	private R2dbcMapperMethod insert;
+	private R2dbcMapperMethod selectByAgeAndCity;
+	private ExpandedSql insertSql;
+	private Object[] insertArgs;
+	private Object[] selectArgs;
+	private Object insertParam;
+	private BindTarget bindTarget;
+
+	@Setup
+	public void setup() {
+		configuration = Fixtures.sessionFactory(1).getConfiguration();
+		insert = Fixtures.mapperMethod("insert", User.class);
+		selectByAgeAndCity = Fixtures.mapperMethod("selectByAgeAndCity", Integer.class, String.class);
+		insertSql = insert.getCommand().getExpandedSql(configuration.getBindMarkersFactory());
+		insertArgs = new Object[] { Fixtures.user() };
+		selectArgs = new Object[] { 30, "Amsterdam" };
+		insertParam = insert.getMethod().getNamedParameter(insertArgs);
+		bindTarget = new NoOpBindTarget();
+	}
+
+	@Benchmark
+	public Object namedParameter() {
+		return selectByAgeAndCity.getMethod().getNamedParameter(selectArgs);
+	}
+
+	@Benchmark
+	public Object[] resolve() {
+		return insert.getBindingPlan().resolve(insertParam);
+	}
+
+	@Benchmark
+	public void resolveAndBind(Blackhole blackhole) {
+		Object[] values = insert.getBindingPlan().resolve(insertParam);
+		insert.getBindingPlan().bindTo(bindTarget, values, insertSql);
+		blackhole.consume(values);
+	}
+
+	@Benchmark
+	public GenericExecuteSpec parameterize() {
+		Object param = insert.getMethod().getNamedParameter(insertArgs);
+		return new R2dbcPreparedStatement(configuration, insert).parameterize(param);
+	}
+
+	private static class NoOpBindTarget implements BindTarget {
+
+		@Override
+		public void bind(String identifier, Object value) {
+		}
+
+		@Override
+		public void bind(int index, Object value) {
+		}
+
+		@Override
+		public void bindNull(String identifier, Class<?> type) {
+		}
+
+		@Override
+		public void bindNull(int index, Class<?> type) {
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package org.reactive.r2dbc.iclient.benchmark;
+
+import java.lang.reflect.Method;
+
+import org.reactive.r2dbc.iclient.benchmark.stub.StubConnectionFactory;
+import org.reactive.r2dbc.iclient.benchmark.stub.StubResult;
+import org.reactive.r2dbc.iclient.benchmark.stub.StubRow;
+import org.reactive.r2dbc.iclient.benchmark.stub.StubRowMetadata;
+import org.reactive.r2dbc.iclient.core.R2dbcSqlSessionFactory;
+import org.reactive.r2dbc.iclient.core.R2dbcSqlSessionFactoryBuilder;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+
+/**
+ * Shared setup of benchmarks.
+ * 
+ * @author Bhautik Bhanani
+ */
+final class Fixtures {
+
+	static final StubRowMetadata METADATA = new StubRowMetadata("id", "name", "email", "age", "city");
+
+	private Fixtures() {
+	}
+
+	static User user() {
+		return new User(42, "Jane Doe", "jane@example.com", 36, "Amsterdam");
+	}
+
+	static StubRow row(int id) {
+		return new StubRow(METADATA, id, "User " + id, "user" + id + "@example.com", 20 + id % 50, "Amsterdam");
+	}
+
+	static StubResult result(int rows) {
+		StubRow[] result = new StubRow[rows];
+		for (int i = 0; i < rows; i++) {
+			result[i] = row(i);
+		}
+		return new StubResult(METADATA, result);
+	}
+
+	/**
+	 * Returns a session factory of an in-memory database returning given number
+	 * of rows for every statement, with {@link UserMapper} registered.
+	 */
+	static R2dbcSqlSessionFactory sessionFactory(int rows) {
+		R2dbcSqlSessionFactory sessionFactory = R2dbcSqlSessionFactoryBuilder
+				.build(new StubConnectionFactory(result(rows)));
+		sessionFactory.openSession().getMapper(UserMapper.class);
+		return sessionFactory;
+	}
+
+	static R2dbcMapperMethod mapperMethod(String name, Class<?>... parameterTypes) {
+		try {
+			Method method = UserMapper.class.getMethod(name, parameterTypes);
+			return new R2dbcMapperMethod(UserMapper.class, method);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package org.reactive.r2dbc.iclient.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactive.r2dbc.iclient.core.R2dbcSqlSession;
+import org.reactive.r2dbc.iclient.core.R2dbcSqlSessionFactory;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperProxyFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.transaction.TransactionDefinition;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Dispatch of a mapper call through the mapper proxy. Returned publishers are
+ * not subscribed, so no statement is executed. The {@code noOpSession}
+ * benchmarks isolate the proxy and method invoker from session overhead.
+ * 
+ * @author Bhautik Bhanani
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyDispatchBenchmark {
+
+	private UserMapper noOpMapper;
+	private UserMapper sessionMapper;
+
+	@Setup
+	public void setup() {
+		noOpMapper = new R2dbcMapperProxyFactory<>(UserMapper.class).newInstance(new NoOpSqlSession());
+		R2dbcSqlSessionFactory sessionFactory = Fixtures.sessionFactory(1);
+		sessionMapper = sessionFactory.openSession().getMapper(UserMapper.class);
+	}
+
+	@Benchmark
+	public Mono<User> noOpSessionSelectOne() {
+		return noOpMapper.selectById(42);
+	}
+
+	@Benchmark
+	public Flux<User> noOpSessionSelect() {
+		return noOpMapper.selectByAgeAndCity(30, "Amsterdam");
+	}
+
+	@Benchmark
+	public Mono<User> sessionSelectOne() {
+		return sessionMapper.selectById(42);
+	}
+
+	@Benchmark
+	public Flux<User> sessionSelect() {
+		return sessionMapper.selectByAgeAndCity(30, "Amsterdam");
+	}
+
+	private static class NoOpSqlSession implements R2dbcSqlSession {
+
+		@Override
+		public <T> T getMapper(Class<T> clazz) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public <T> Mono<T> selectOne(R2dbcMapperMethod method, Object params) {
+			return Mono.empty();
+		}
+
+		@Override
+		public <T> Flux<T> select(R2dbcMapperMethod method, Object params) {
+			return Flux.empty();
+		}
+
+		@Override
+		public <T> Mono<T> selectBatched(R2dbcMapperMethod method, Object key) {
+			return Mono.empty();
+		}
+
+		@Override
+		public <T> Mono<T> insert(R2dbcMapperMethod method, Object params) {
+			return Mono.empty();
+		}
+
+		@Override
+		public Mono<Integer> update(R2dbcMapperMethod method, Object params) {
+			return Mono.empty();
+		}
+
+		@Override
+		public Mono<Integer> delete(R2dbcMapperMethod method, Object params) {
+			return Mono.empty();
+		}
+
+		@Override
+		public <T> Flux<T> batch(R2dbcMapperMethod method, Publisher<?> params) {
+			return Flux.empty();
+		}
+
+		@Override
+		public <T> Flux<T> inTransaction(TransactionDefinition definition,
+				Function<R2dbcSqlSession, ? extends Publisher<T>> action) {
+			return Flux.from(action.apply(this));
+		}
+	}
+}
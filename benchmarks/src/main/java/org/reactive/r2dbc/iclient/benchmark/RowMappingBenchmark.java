@@ -0,0 +1,59 @@
+package org.reactive.r2dbc.iclient.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactive.r2dbc.iclient.benchmark.stub.StubRow;
+import org.reactive.r2dbc.iclient.mapping.ResultMap;
+import org.springframework.r2dbc.core.ColumnMapRowMapper;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+
+/**
+ * Mapping of a single row into a {@link User} by the compiled result map
+ * mapper, against a column map as baseline.
+ * 
+ * @author Bhautik Bhanani
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowMappingBenchmark {
+
+	private BiFunction<Row, RowMetadata, User> compiled;
+	private ColumnMapRowMapper columnMap;
+	private StubRow row;
+
+	@Setup
+	public void setup() {
+		ResultMap<User> resultMap = Fixtures.sessionFactory(1).getConfiguration().getResultMap("userMap");
+		compiled = resultMap.newStatementMapper();
+		columnMap = ColumnMapRowMapper.INSTANCE;
+		row = Fixtures.row(42);
+	}
+
+	@Benchmark
+	public User compiled() {
+		return compiled.apply(row, Fixtures.METADATA);
+	}
+
+	@Benchmark
+	public Map<String, Object> columnMap() {
+		return columnMap.apply(row, Fixtures.METADATA);
+	}
+}
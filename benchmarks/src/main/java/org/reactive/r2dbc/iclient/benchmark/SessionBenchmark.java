@@ -0,0 +1,68 @@
+package org.reactive.r2dbc.iclient.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.reactive.r2dbc.iclient.core.R2dbcSqlSessionFactory;
+
+/**
+ * End-to-end mapper calls against an in-memory {@link io.r2dbc.spi.Connection}
+ * stub, covering statement preparation, binding, execution on
+ * {@link org.springframework.r2dbc.core.DatabaseClient} and row mapping
+ * without network or driver cost.
+ * 
+ * @author Bhautik Bhanani
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SessionBenchmark {
+
+	private R2dbcSqlSessionFactory singleRowFactory;
+	private R2dbcSqlSessionFactory manyRowsFactory;
+	private UserMapper singleRow;
+	private UserMapper manyRows;
+
+	@Setup
+	public void setup() {
+		singleRowFactory = Fixtures.sessionFactory(1);
+		manyRowsFactory = Fixtures.sessionFactory(100);
+		singleRow = singleRowFactory.openSession().getMapper(UserMapper.class);
+		manyRows = manyRowsFactory.openSession().getMapper(UserMapper.class);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		singleRowFactory.close();
+		manyRowsFactory.close();
+	}
+
+	@Benchmark
+	public User selectOne() {
+		return singleRow.selectById(42).block();
+	}
+
+	@Benchmark
+	public User select100() {
+		return manyRows.selectByAgeAndCity(30, "Amsterdam").blockLast();
+	}
+
+	@Benchmark
+	public Integer insert() {
+		return singleRow.insert(Fixtures.user()).block();
+	}
+}
@@ -0,0 +1,57 @@
+package org.reactive.r2dbc.iclient.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactive.r2dbc.iclient.util.ExpandedSql;
+import org.reactive.r2dbc.iclient.util.NamedParameterUtils;
+import org.reactive.r2dbc.iclient.util.ParsedSql;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+
+/**
+ * Parsing of named parameters and expansion into native bind markers.
+ * 
+ * @author Bhautik Bhanani
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlParsingBenchmark {
+
+	private static final String SQL = "SELECT u.id, u.name, u.email, a.city FROM users u "
+			+ "JOIN address a ON a.user_id = u.id WHERE u.age > :minAge AND a.city = :city "
+			+ "AND u.status IN (:statuses) AND u.name LIKE ':not_a_parameter' ORDER BY u.id LIMIT :limit";
+
+	private final BindMarkersFactory bindMarkersFactory = BindMarkersFactory.indexed("$", 1);
+	private ParsedSql parsedSql;
+	private List<String> parameterOrder;
+
+	@Setup
+	public void setup() {
+		parsedSql = NamedParameterUtils.parseSqlStatement(SQL);
+		parameterOrder = parsedSql.getParameterNames();
+	}
+
+	@Benchmark
+	public ParsedSql parse() {
+		return NamedParameterUtils.parseSqlStatement(SQL);
+	}
+
+	@Benchmark
+	public ExpandedSql expand() {
+		return NamedParameterUtils.expandSql(parsedSql, bindMarkersFactory, parameterOrder);
+	}
+}
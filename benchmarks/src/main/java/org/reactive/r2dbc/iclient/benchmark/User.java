@@ -0,0 +1,66 @@
+package org.reactive.r2dbc.iclient.benchmark;
+
+/**
+ * Domain object mapped by benchmarks.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class User {
+
+	private Integer id;
+	private String name;
+	private String email;
+	private Integer age;
+	private String city;
+
+	public User() {
+	}
+
+	public User(Integer id, String name, String email, Integer age, String city) {
+		this.id = id;
+		this.name = name;
+		this.email = email;
+		this.age = age;
+		this.city = city;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public Integer getAge() {
+		return age;
+	}
+
+	public void setAge(Integer age) {
+		this.age = age;
+	}
+
+	public String getCity() {
+		return city;
+	}
+
+	public void setCity(String city) {
+		this.city = city;
+	}
+}
@@ -0,0 +1,33 @@
+package org.reactive.r2dbc.iclient.benchmark;
+
+import org.reactive.r2dbc.iclient.annotation.Insert;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.Result;
+import org.reactive.r2dbc.iclient.annotation.Results;
+import org.reactive.r2dbc.iclient.annotation.Select;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mapper exercised by benchmarks.
+ * 
+ * @author Bhautik Bhanani
+ */
+public interface UserMapper {
+
+	@Results(id = "userMap", type = User.class, value = {
+			@Result(property = "id", column = "id", javaType = Integer.class),
+			@Result(property = "name", column = "name", javaType = String.class),
+			@Result(property = "email", column = "email", javaType = String.class),
+			@Result(property = "age", column = "age", javaType = Integer.class),
+			@Result(property = "city", column = "city", javaType = String.class) })
+	@Select("SELECT id, name, email, age, city FROM users WHERE id = :id")
+	Mono<User> selectById(@Param("id") Integer id);
+
+	@Select(value = "SELECT id, name, email, age, city FROM users WHERE age > :minAge AND city = :city", resultMap = "userMap")
+	Flux<User> selectByAgeAndCity(@Param("minAge") Integer minAge, @Param("city") String city);
+
+	@Insert("INSERT INTO users (id, name, email, age, city) VALUES (:user.id, :user.name, :user.email, :user.age, :user.city)")
+	Mono<Integer> insert(@Param("user") User user);
+}
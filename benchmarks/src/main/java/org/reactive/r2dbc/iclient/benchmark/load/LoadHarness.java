@@ -0,0 +1,131 @@
+package org.reactive.r2dbc.iclient.benchmark.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.reactive.r2dbc.iclient.benchmark.load.Workload.Mappers;
+import org.reactive.r2dbc.iclient.core.R2dbcSqlSession;
+import org.reactive.r2dbc.iclient.core.R2dbcSqlSessionFactory;
+import org.reactive.r2dbc.iclient.core.R2dbcSqlSessionFactoryBuilder;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Closed-loop load harness running mapper calls against an embedded H2
+ * database. For every workload and concurrency, a fixed number of workers
+ * execute operations back to back for the configured duration after a warm-up
+ * period. Latency percentiles and throughput are written as JSON to the
+ * {@code --output} file or standard output, progress to standard error.
+ * 
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.reactive.r2dbc.iclient.benchmark.load.LoadHarness \
+ * 	--workloads=point-select,mixed --concurrency=1,16,64 --duration=30 --output=results.json
+ * </pre>
+ * 
+ * @author Bhautik Bhanani
+ */
+public class LoadHarness {
+
+	public static void main(String[] args) throws IOException {
+		LoadOptions options = LoadOptions.parse(args);
+
+		ConnectionPool pool = new ConnectionPool(
+				ConnectionPoolConfiguration.builder(H2ConnectionFactory.inMemory("iclient-load"))
+						.initialSize(options.getPoolSize()).maxSize(options.getPoolSize()).build());
+		List<LoadResult> results = new ArrayList<>();
+		try {
+			seed(DatabaseClient.create(pool), options.getSeedRows());
+
+			R2dbcSqlSessionFactory sessionFactory = R2dbcSqlSessionFactoryBuilder.build(pool);
+			R2dbcSqlSession session = sessionFactory.openSession();
+			Mappers mappers = new Mappers(session.getMapper(UserQueryMapper.class),
+					session.getMapper(UserCommandMapper.class));
+			sessionFactory.warmUp().block();
+
+			for (Workload workload : options.getWorkloads()) {
+				for (int concurrency : options.getConcurrency()) {
+					run(workload, concurrency, options.getWarmupSeconds(), mappers, options);
+					LoadResult result = run(workload, concurrency, options.getDurationSeconds(), mappers, options);
+					System.err.printf("%-14s concurrency %4d: %10.1f ops/s, p50 %8.1f us, p99 %8.1f us, p999 %8.1f us%n",
+							workload, concurrency, result.getQps(), result.getLatencyMicros().get("p50"),
+							result.getLatencyMicros().get("p99"), result.getLatencyMicros().get("p999"));
+					results.add(result);
+				}
+			}
+		} finally {
+			pool.dispose();
+		}
+
+		write(options, results);
+	}
+
+	private static void seed(DatabaseClient databaseClient, int rows) {
+		databaseClient.sql("CREATE TABLE IF NOT EXISTS users (id INT AUTO_INCREMENT PRIMARY KEY, "
+				+ "name VARCHAR(64), email VARCHAR(128), age INT, city VARCHAR(64))").then().block();
+		databaseClient.sql("INSERT INTO users (name, email, age, city) SELECT 'user-' || X, "
+				+ "'user-' || X || '@example.com', 18 + MOD(X, 60), 'city-' || MOD(X, 100) FROM SYSTEM_RANGE(1, :rows)")
+				.bind("rows", rows).then().block();
+	}
+
+	private static LoadResult run(Workload workload, int concurrency, int seconds, Mappers mappers,
+			LoadOptions options) {
+		Histogram histogram = new ConcurrentHistogram(3);
+		LongAdder rows = new LongAdder();
+		LongAdder errors = new LongAdder();
+		AtomicReference<Throwable> firstError = new AtomicReference<>();
+
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+		Flux.range(0, concurrency).flatMap(worker -> Mono.defer(() -> {
+			long begin = System.nanoTime();
+			return workload.execute(mappers, options, ThreadLocalRandom.current()).doOnNext(rows::add)
+					.doOnSuccess(count -> histogram.recordValue(System.nanoTime() - begin)).onErrorResume(ex -> {
+						errors.increment();
+						firstError.compareAndSet(null, ex);
+						return Mono.empty();
+					});
+		}).repeat(() -> System.nanoTime() < deadline), concurrency).blockLast();
+		long elapsed = System.nanoTime() - start;
+
+		if (firstError.get() != null) {
+			System.err.printf("%s: %d errors, first error:%n", workload, errors.sum());
+			firstError.get().printStackTrace();
+		}
+		return new LoadResult(workload, concurrency, elapsed, errors.sum(), rows.sum(), histogram);
+	}
+
+	private static void write(LoadOptions options, List<LoadResult> results) throws IOException {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("timestamp", Instant.now().toString());
+		report.put("javaVersion", System.getProperty("java.version"));
+		report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+		report.put("options", options.toMap());
+		report.put("results", results);
+
+		ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		if (options.getOutput() != null) {
+			objectMapper.writeValue(new File(options.getOutput()), report);
+		} else {
+			System.out.println(objectMapper.writeValueAsString(report));
+		}
+	}
+}
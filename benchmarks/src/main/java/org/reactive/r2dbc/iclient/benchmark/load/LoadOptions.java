@@ -0,0 +1,132 @@
+package org.reactive.r2dbc.iclient.benchmark.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Options of the load harness, parsed from {@code --name=value} arguments.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class LoadOptions {
+
+	private List<Workload> workloads = Arrays.asList(Workload.values());
+	private int[] concurrency = { 1, 16, 64 };
+	private int durationSeconds = 30;
+	private int warmupSeconds = 5;
+	private int seedRows = 100_000;
+	private int streamRows = 1_000;
+	private int poolSize;
+	private String output;
+	private String label = "local";
+
+	public static LoadOptions parse(String[] args) {
+		LoadOptions options = new LoadOptions();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+				throw new IllegalArgumentException("Expected --name=value but was '" + arg + "'");
+			}
+			String name = arg.substring(2, arg.indexOf('='));
+			String value = arg.substring(arg.indexOf('=') + 1);
+			switch (name) {
+			case "workloads":
+				options.workloads = new ArrayList<>();
+				for (String workload : value.split(",")) {
+					options.workloads.add(Workload.valueOf(workload.trim().toUpperCase(Locale.ROOT).replace('-', '_')));
+				}
+				break;
+			case "concurrency":
+				options.concurrency = Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt)
+						.toArray();
+				break;
+			case "duration":
+				options.durationSeconds = Integer.parseInt(value);
+				break;
+			case "warmup":
+				options.warmupSeconds = Integer.parseInt(value);
+				break;
+			case "seed-rows":
+				options.seedRows = Integer.parseInt(value);
+				break;
+			case "stream-rows":
+				options.streamRows = Integer.parseInt(value);
+				break;
+			case "pool-size":
+				options.poolSize = Integer.parseInt(value);
+				break;
+			case "output":
+				options.output = value;
+				break;
+			case "label":
+				options.label = value;
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown option '" + name + "'");
+			}
+		}
+		return options;
+	}
+
+	public List<Workload> getWorkloads() {
+		return workloads;
+	}
+
+	public int[] getConcurrency() {
+		return concurrency;
+	}
+
+	public int getDurationSeconds() {
+		return durationSeconds;
+	}
+
+	public int getWarmupSeconds() {
+		return warmupSeconds;
+	}
+
+	public int getSeedRows() {
+		return seedRows;
+	}
+
+	public int getStreamRows() {
+		return streamRows;
+	}
+
+	/**
+	 * Returns the connection pool size, by default the highest concurrency.
+	 */
+	public int getPoolSize() {
+		return poolSize > 0 ? poolSize : Arrays.stream(concurrency).max().orElse(1);
+	}
+
+	/**
+	 * Returns the file results are written to, or {@code null} for standard
+	 * output.
+	 */
+	public String getOutput() {
+		return output;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	/**
+	 * Returns options as written to results.
+	 */
+	public Map<String, Object> toMap() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("label", label);
+		map.put("workloads", workloads);
+		map.put("concurrency", concurrency);
+		map.put("durationSeconds", durationSeconds);
+		map.put("warmupSeconds", warmupSeconds);
+		map.put("seedRows", seedRows);
+		map.put("streamRows", streamRows);
+		map.put("poolSize", getPoolSize());
+		return map;
+	}
+}
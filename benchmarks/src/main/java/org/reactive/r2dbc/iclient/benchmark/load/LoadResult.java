@@ -0,0 +1,80 @@
+package org.reactive.r2dbc.iclient.benchmark.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Measured throughput and latency of one workload at one concurrency.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class LoadResult {
+
+	private final Workload workload;
+	private final int concurrency;
+	private final long durationMillis;
+	private final long operations;
+	private final long errors;
+	private final long rows;
+	private final Map<String, Double> latencyMicros = new LinkedHashMap<>();
+
+	public LoadResult(Workload workload, int concurrency, long durationNanos, long errors, long rows,
+			Histogram histogram) {
+		this.workload = workload;
+		this.concurrency = concurrency;
+		this.durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+		this.operations = histogram.getTotalCount();
+		this.errors = errors;
+		this.rows = rows;
+		latencyMicros.put("min", micros(histogram.getMinValue()));
+		latencyMicros.put("mean", micros(histogram.getMean()));
+		latencyMicros.put("p50", micros(histogram.getValueAtPercentile(50)));
+		latencyMicros.put("p90", micros(histogram.getValueAtPercentile(90)));
+		latencyMicros.put("p99", micros(histogram.getValueAtPercentile(99)));
+		latencyMicros.put("p999", micros(histogram.getValueAtPercentile(99.9)));
+		latencyMicros.put("max", micros(histogram.getMaxValue()));
+	}
+
+	private static double micros(double nanos) {
+		return Math.round(nanos / 100) / 10.0;
+	}
+
+	public Workload getWorkload() {
+		return workload;
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public long getDurationMillis() {
+		return durationMillis;
+	}
+
+	public long getOperations() {
+		return operations;
+	}
+
+	public long getErrors() {
+		return errors;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public double getQps() {
+		return durationMillis > 0 ? Math.round(operations * 10_000.0 / durationMillis) / 10.0 : 0;
+	}
+
+	public double getRowsPerSecond() {
+		return durationMillis > 0 ? Math.round(rows * 10_000.0 / durationMillis) / 10.0 : 0;
+	}
+
+	public Map<String, Double> getLatencyMicros() {
+		return latencyMicros;
+	}
+}
@@ -0,0 +1,18 @@
+package org.reactive.r2dbc.iclient.benchmark.load;
+
+import org.reactive.r2dbc.iclient.annotation.Insert;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.benchmark.User;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Write statements of the load harness.
+ * 
+ * @author Bhautik Bhanani
+ */
+public interface UserCommandMapper {
+
+	@Insert(value = "INSERT INTO users (name, email, age, city) VALUES (:user.name, :user.email, :user.age, :user.city)", retrieveId = "id", idType = Integer.class)
+	Mono<Integer> insert(@Param("user") User user);
+}
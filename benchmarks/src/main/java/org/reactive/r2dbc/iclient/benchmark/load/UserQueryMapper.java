@@ -0,0 +1,30 @@
+package org.reactive.r2dbc.iclient.benchmark.load;
+
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.Result;
+import org.reactive.r2dbc.iclient.annotation.Results;
+import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.benchmark.User;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Select statements of the load harness.
+ * 
+ * @author Bhautik Bhanani
+ */
+public interface UserQueryMapper {
+
+	@Results(id = "loadUserMap", type = User.class, value = {
+			@Result(property = "id", column = "id", javaType = Integer.class),
+			@Result(property = "name", column = "name", javaType = String.class),
+			@Result(property = "email", column = "email", javaType = String.class),
+			@Result(property = "age", column = "age", javaType = Integer.class),
+			@Result(property = "city", column = "city", javaType = String.class) })
+	@Select("SELECT id, name, email, age, city FROM users WHERE id = :id")
+	Mono<User> selectById(@Param("id") Integer id);
+
+	@Select(value = "SELECT id, name, email, age, city FROM users WHERE id >= :fromId ORDER BY id LIMIT :limit", resultMap = "loadUserMap")
+	Flux<User> selectRange(@Param("fromId") Integer fromId, @Param("limit") Integer limit);
+}
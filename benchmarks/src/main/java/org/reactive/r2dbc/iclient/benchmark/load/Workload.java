@@ -0,0 +1,78 @@
+package org.reactive.r2dbc.iclient.benchmark.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.reactive.r2dbc.iclient.benchmark.User;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Operations executed by the load harness. Each operation emits the number of
+ * rows it read or wrote.
+ * 
+ * @author Bhautik Bhanani
+ */
+public enum Workload {
+
+	/**
+	 * Select of a single user by primary key.
+	 */
+	POINT_SELECT {
+		@Override
+		Mono<Long> execute(Mappers mappers, LoadOptions options, ThreadLocalRandom random) {
+			return mappers.query.selectById(random.nextInt(1, options.getSeedRows() + 1)).map(user -> 1L);
+		}
+	},
+
+	/**
+	 * Select streaming {@link LoadOptions#getStreamRows()} users, complete when
+	 * the last row is mapped.
+	 */
+	STREAM_SELECT {
+		@Override
+		Mono<Long> execute(Mappers mappers, LoadOptions options, ThreadLocalRandom random) {
+			int fromId = random.nextInt(1, Math.max(2, options.getSeedRows() - options.getStreamRows() + 1));
+			return mappers.query.selectRange(fromId, options.getStreamRows()).count();
+		}
+	},
+
+	/**
+	 * Insert of a single user, retrieving the generated id.
+	 */
+	INSERT {
+		@Override
+		Mono<Long> execute(Mappers mappers, LoadOptions options, ThreadLocalRandom random) {
+			int n = random.nextInt(1_000_000);
+			User user = new User(null, "user-" + n, "user-" + n + "@example.com", 18 + n % 60, "city-" + n % 100);
+			return mappers.command.insert(user).map(id -> 1L);
+		}
+	},
+
+	/**
+	 * 80% point selects, 5% streaming selects and 15% inserts.
+	 */
+	MIXED {
+		@Override
+		Mono<Long> execute(Mappers mappers, LoadOptions options, ThreadLocalRandom random) {
+			int dice = random.nextInt(100);
+			Workload workload = dice < 80 ? POINT_SELECT : dice < 85 ? STREAM_SELECT : INSERT;
+			return workload.execute(mappers, options, random);
+		}
+	};
+
+	abstract Mono<Long> execute(Mappers mappers, LoadOptions options, ThreadLocalRandom random);
+
+	/**
+	 * Mapper instances shared by all workers.
+	 */
+	static class Mappers {
+
+		final UserQueryMapper query;
+		final UserCommandMapper command;
+
+		Mappers(UserQueryMapper query, UserCommandMapper command) {
+			this.query = query;
+			this.command = command;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package org.reactive.r2dbc.iclient.benchmark.stub;
+
+import org.reactivestreams.Publisher;
+
+import io.r2dbc.spi.Batch;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionMetadata;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.ValidationDepth;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory {@link Connection} returning the same result for every statement.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class StubConnection implements Connection {
+
+	private final StubResult result;
+
+	public StubConnection(StubResult result) {
+		this.result = result;
+	}
+
+	@Override
+	public Statement createStatement(String sql) {
+		return new StubStatement(result);
+	}
+
+	@Override
+	public Publisher<Boolean> validate(ValidationDepth depth) {
+		return Mono.just(Boolean.TRUE);
+	}
+
+	@Override
+	public Publisher<Void> close() {
+		return Mono.empty();
+	}
+
+	@Override
+	public Publisher<Void> beginTransaction() {
+		return Mono.empty();
+	}
+
+	@Override
+	public Publisher<Void> commitTransaction() {
+		return Mono.empty();
+	}
+
+	@Override
+	public Publisher<Void> rollbackTransaction() {
+		return Mono.empty();
+	}
+
+	@Override
+	public Batch createBatch() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Publisher<Void> createSavepoint(String name) {
+		return Mono.empty();
+	}
+
+	@Override
+	public Publisher<Void> releaseSavepoint(String name) {
+		return Mono.empty();
+	}
+
+	@Override
+	public Publisher<Void> rollbackTransactionToSavepoint(String name) {
+		return Mono.empty();
+	}
+
+	@Override
+	public boolean isAutoCommit() {
+		return true;
+	}
+
+	@Override
+	public Publisher<Void> setAutoCommit(boolean autoCommit) {
+		return Mono.empty();
+	}
+
+	@Override
+	public IsolationLevel getTransactionIsolationLevel() {
+		return IsolationLevel.READ_COMMITTED;
+	}
+
+	@Override
+	public Publisher<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
+		return Mono.empty();
+	}
+
+	@Override
+	public ConnectionMetadata getMetadata() {
+		return new ConnectionMetadata() {
+
+			@Override
+			public String getDatabaseProductName() {
+				return StubConnectionFactory.NAME;
+			}
+
+			@Override
+			public String getDatabaseVersion() {
+				return "0";
+			}
+		};
+	}
+}
@@ -0,0 +1,32 @@
+package org.reactive.r2dbc.iclient.benchmark.stub;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory {@link ConnectionFactory}. Reports PostgreSQL as database so that
+ * statements are expanded with {@code $1} bind markers.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class StubConnectionFactory implements ConnectionFactory {
+
+	static final String NAME = "PostgreSQL";
+
+	private final Mono<StubConnection> connection;
+
+	public StubConnectionFactory(StubResult result) {
+		this.connection = Mono.just(new StubConnection(result));
+	}
+
+	@Override
+	public Mono<StubConnection> create() {
+		return connection;
+	}
+
+	@Override
+	public ConnectionFactoryMetadata getMetadata() {
+		return () -> NAME;
+	}
+}
@@ -0,0 +1,37 @@
+package org.reactive.r2dbc.iclient.benchmark.stub;
+
+import java.util.function.BiFunction;
+
+import org.reactivestreams.Publisher;
+
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory {@link Result} emitting the same rows on every execution.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class StubResult implements Result {
+
+	private final StubRowMetadata metadata;
+	private final StubRow[] rows;
+
+	public StubResult(StubRowMetadata metadata, StubRow[] rows) {
+		this.metadata = metadata;
+		this.rows = rows;
+	}
+
+	@Override
+	public Publisher<Integer> getRowsUpdated() {
+		return Mono.just(rows.length);
+	}
+
+	@Override
+	public <T> Publisher<T> map(BiFunction<Row, RowMetadata, ? extends T> mappingFunction) {
+		return Flux.fromArray(rows).map(row -> mappingFunction.apply(row, metadata));
+	}
+}
@@ -0,0 +1,29 @@
+package org.reactive.r2dbc.iclient.benchmark.stub;
+
+import io.r2dbc.spi.Row;
+
+/**
+ * In-memory {@link Row} of fixed values.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class StubRow implements Row {
+
+	private final StubRowMetadata metadata;
+	private final Object[] values;
+
+	public StubRow(StubRowMetadata metadata, Object... values) {
+		this.metadata = metadata;
+		this.values = values;
+	}
+
+	@Override
+	public <T> T get(int index, Class<T> type) {
+		return type.cast(values[index]);
+	}
+
+	@Override
+	public <T> T get(String name, Class<T> type) {
+		return get(metadata.indexOf(name), type);
+	}
+}
@@ -0,0 +1,56 @@
+package org.reactive.r2dbc.iclient.benchmark.stub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.RowMetadata;
+
+/**
+ * In-memory {@link RowMetadata} of fixed column names.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class StubRowMetadata implements RowMetadata {
+
+	private final String[] names;
+	private final List<ColumnMetadata> columns = new ArrayList<>();
+
+	public StubRowMetadata(String... names) {
+		this.names = names;
+		for (String name : names) {
+			columns.add(() -> name);
+		}
+	}
+
+	int indexOf(String name) {
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equalsIgnoreCase(name)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unknown column " + name);
+	}
+
+	@Override
+	public ColumnMetadata getColumnMetadata(int index) {
+		return columns.get(index);
+	}
+
+	@Override
+	public ColumnMetadata getColumnMetadata(String name) {
+		return columns.get(indexOf(name));
+	}
+
+	@Override
+	public Iterable<? extends ColumnMetadata> getColumnMetadatas() {
+		return columns;
+	}
+
+	@Override
+	public Collection<String> getColumnNames() {
+		return Arrays.asList(names);
+	}
+}
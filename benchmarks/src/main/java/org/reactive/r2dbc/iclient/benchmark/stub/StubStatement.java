@@ -0,0 +1,60 @@
+package org.reactive.r2dbc.iclient.benchmark.stub;
+
+import org.reactivestreams.Publisher;
+
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory {@link Statement} discarding bound values.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class StubStatement implements Statement {
+
+	private final StubResult result;
+	private int bindings;
+
+	public StubStatement(StubResult result) {
+		this.result = result;
+	}
+
+	public int getBindings() {
+		return bindings;
+	}
+
+	@Override
+	public Statement add() {
+		return this;
+	}
+
+	@Override
+	public Statement bind(int index, Object value) {
+		bindings++;
+		return this;
+	}
+
+	@Override
+	public Statement bind(String name, Object value) {
+		bindings++;
+		return this;
+	}
+
+	@Override
+	public Statement bindNull(int index, Class<?> type) {
+		bindings++;
+		return this;
+	}
+
+	@Override
+	public Statement bindNull(String name, Class<?> type) {
+		bindings++;
+		return this;
+	}
+
+	@Override
+	public Publisher<? extends Result> execute() {
+		return Mono.just(result);
+	}
+}
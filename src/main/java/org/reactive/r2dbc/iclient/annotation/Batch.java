@@ -0,0 +1,79 @@
+package org.reactive.r2dbc.iclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation that executes an {@link Insert}, {@link Update} or
+ * {@link Delete} statement once per element of a {@code Flux}, collection or
+ * array parameter, sending elements to the database in batches.
+ *
+ * <p>
+ * <b>How to use:</b>
+ *
+ * <pre>
+ * public interface UserMapper {
+ * 	&#064;Batch(size = 500)
+ * 	&#064;Insert("INSERT INTO users (id, name) VALUES(:user.id, :user.name)")
+ * 	Flux<Integer> insertAll(&#064;Param("user") Flux<User> users);
+ * }
+ * </pre>
+ *
+ * Returns the number of records affected per element, or the retrieved ids if
+ * {@code retrieveId} is set. A {@code Mono<Integer>} return type returns the
+ * total number of records affected.
+ *
+ * @author Bhautik Bhanani
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Batch {
+	/**
+	 * Returns the name of the parameter holding batch elements. Not required if
+	 * only one parameter is a {@code Flux}, collection or array.
+	 *
+	 * @return the parameter name
+	 */
+	String value() default "";
+
+	/**
+	 * Returns the number of elements bound to a single statement execution. If
+	 * not set, the default batch size of the configuration is used.
+	 *
+	 * @return the batch size
+	 */
+	int size() default 0;
+
+	/**
+	 * Returns whether elements are inserted by a single multi-row
+	 * {@code INSERT ... VALUES (...), (...)} statement per batch instead of one
+	 * binding set per element. The value tuple of the insert statement is
+	 * repeated once per element; parameters outside of it are bound from the
+	 * first element. Each statement returns the number of records affected by
+	 * it.
+	 *
+	 * <p>
+	 * With {@code retrieveId}, a multi-row statement returns the generated id of
+	 * every row only on databases returning generated values per row, see
+	 * {@code R2dbcConfiguration#isMultiRowGeneratedValues()}. On other databases,
+	 * such as MySQL, MariaDB and SQL Server, which return a single last insert
+	 * id, elements are bound one binding set per element instead, so an id is
+	 * returned per element.
+	 *
+	 * @return whether to use multi-row statements
+	 */
+	boolean multiRow() default false;
+
+	/**
+	 * Returns the maximum number of bind parameters of a multi-row statement,
+	 * limiting the number of elements per statement. If not set, the max bind
+	 * parameters of the configuration is used.
+	 *
+	 * @return the maximum number of bind parameters
+	 */
+	int maxParameters() default 0;
+}
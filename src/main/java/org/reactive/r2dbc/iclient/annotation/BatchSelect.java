@@ -0,0 +1,65 @@
+package org.reactive.r2dbc.iclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation that batches calls of a single key {@link Select} method into
+ * one query. Calls arriving within {@link #window()} are collected and their
+ * keys bound as a collection to the batch statement; rows are returned to each
+ * caller by the value of {@link #keyColumn()}.
+ *
+ * <p>
+ * <b>How to use:</b>
+ *
+ * <pre>
+ * public interface UserMapper {
+ * 	&#064;BatchSelect(value = "SELECT id, name FROM users WHERE id IN (:id)", keyColumn = "id")
+ * 	&#064;Select("SELECT id, name FROM users WHERE id = :id")
+ * 	Mono<User> selectById(&#064;Param("id") int id);
+ * }
+ * </pre>
+ *
+ * The batch statement uses the parameter name of the key. Result mapping of
+ * the method applies to both statements.
+ *
+ * @author Bhautik Bhanani
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface BatchSelect {
+	/**
+	 * Returns an SQL retrieving records of a collection of keys.
+	 *
+	 * @return the batch statement
+	 */
+	String value();
+
+	/**
+	 * Returns the result column holding the key of a record.
+	 *
+	 * @return the key column
+	 */
+	String keyColumn();
+
+	/**
+	 * Returns the time in milliseconds calls are collected before the batch
+	 * statement is executed. {@code 0} collects calls made before the scheduled
+	 * flush runs.
+	 *
+	 * @return the batching window
+	 */
+	long window() default 5;
+
+	/**
+	 * Returns the maximum number of calls per batch. A full batch is executed
+	 * without waiting for the window to end.
+	 *
+	 * @return the maximum batch size
+	 */
+	int maxSize() default 100;
+}
@@ -0,0 +1,56 @@
+package org.reactive.r2dbc.iclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The annotation that caches results of {@link Select} methods by statement
+ * parameter values. Applied to a mapper interface it enables caching for all
+ * its select methods; applied to a method it overrides the interface settings.
+ * 
+ * Cached results of a mapper are invalidated whenever an {@link Insert},
+ * {@link Update} or {@link Delete} method of the same mapper completes.
+ *
+ * <p>
+ * <b>How to use:</b>
+ *
+ * <pre>
+ * &#064;Cache(ttl = 10, timeUnit = TimeUnit.MINUTES)
+ * public interface CountryMapper {
+ * 	&#064;Select("SELECT code, name FROM country WHERE code = :code")
+ * 	Mono<Country> selectByCode(&#064;Param("code") String code);
+ * }
+ * </pre>
+ *
+ * @author Bhautik Bhanani
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface Cache {
+	/**
+	 * Returns the time a cached result stays valid.
+	 *
+	 * @return the time to live
+	 */
+	long ttl() default 60;
+
+	/**
+	 * Returns the unit of {@link #ttl()}.
+	 *
+	 * @return the time unit
+	 */
+	TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+	/**
+	 * Returns the maximum number of cached results per method. Least recently
+	 * used results are evicted first.
+	 *
+	 * @return the maximum number of results
+	 */
+	int size() default 1000;
+}
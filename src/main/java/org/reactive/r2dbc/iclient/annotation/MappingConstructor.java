@@ -0,0 +1,41 @@
+package org.reactive.r2dbc.iclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation that marks the constructor creating result objects of a
+ * {@link Results} mapping. Constructor parameters are bound to {@link Result}
+ * properties by name, so result types can be immutable and need no
+ * non-argument constructor. Records use their canonical constructor without
+ * this annotation.
+ *
+ * <p>
+ * <b>How to use:</b>
+ *
+ * <pre>
+ * public class User {
+ * 	private final Integer id;
+ * 	private final String name;
+ *
+ * 	&#064;MappingConstructor
+ * 	public User(Integer id, String name) {
+ * 		this.id = id;
+ * 		this.name = name;
+ * 	}
+ * }
+ * </pre>
+ *
+ * Parameter names are read from class files compiled with {@code -parameters},
+ * otherwise parameters require {@link Param}.
+ *
+ * @author Bhautik Bhanani
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.CONSTRUCTOR)
+public @interface MappingConstructor {
+}
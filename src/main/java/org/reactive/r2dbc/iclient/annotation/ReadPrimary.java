@@ -0,0 +1,31 @@
+package org.reactive.r2dbc.iclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation that routes {@link Select} methods to the primary database
+ * even if replicas are configured, e.g. to read records written just before.
+ * Applied to a mapper interface it applies to all its select methods.
+ *
+ * <p>
+ * <b>How to use:</b>
+ *
+ * <pre>
+ * public interface OrderMapper {
+ * 	&#064;ReadPrimary
+ * 	&#064;Select("SELECT id, status FROM orders WHERE id = :id")
+ * 	Mono<Order> selectById(&#064;Param("id") Long id);
+ * }
+ * </pre>
+ *
+ * @author Bhautik Bhanani
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface ReadPrimary {
+}
@@ -49,4 +49,25 @@ public @interface Select {
 	 * @return a result map ID
 	 */
 	String resultMap() default "";
+
+	/**
+	 * Returns whether collection parameters expanded into IN lists are padded to
+	 * the next power of two by repeating their last element, so the database sees
+	 * a bounded set of statement shapes. Padding is also applied if enabled by
+	 * {@code R2dbcConfiguration#setInListPadding(boolean)}.
+	 *
+	 * @return whether to pad IN lists
+	 */
+	boolean inListPadding() default false;
+
+	/**
+	 * Returns the number of rows fetched from the database per round trip when
+	 * streaming a {@code Flux} result. Downstream demand is requested from the
+	 * driver in batches of this size, so large results are not buffered at once.
+	 * If not set, the default fetch size of the configuration is used; {@code 0}
+	 * leaves fetching to the driver.
+	 *
+	 * @return the fetch size
+	 */
+	int fetchSize() default -1;
 }
@@ -0,0 +1,44 @@
+package org.reactive.r2dbc.iclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation that marks the mapper method parameter deciding the shard a
+ * statement is executed on, if shards are configured. The value optionally
+ * names a property of the parameter holding the shard key.
+ *
+ * <p>
+ * <b>How to use:</b>
+ *
+ * <pre>
+ * public interface OrderMapper {
+ * 	&#064;Select("SELECT id, status FROM orders WHERE tenant_id = :tenantId")
+ * 	Flux<Order> selectByTenant(&#064;ShardKey &#064;Param("tenantId") Long tenantId);
+ * 
+ * 	&#064;Insert("INSERT INTO orders (tenant_id, status) VALUES(:order.tenantId, :order.status)")
+ * 	Mono<Integer> insert(&#064;ShardKey("tenantId") &#064;Param("order") Order order);
+ * }
+ * </pre>
+ *
+ * Flux select methods called with a {@code null} shard key are executed on all
+ * shards concurrently and their results merged, other methods fail. Methods
+ * without a shard key parameter are executed on the primary database.
+ *
+ * @author Bhautik Bhanani
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface ShardKey {
+	/**
+	 * Returns the property path of the shard key within the parameter. If not set,
+	 * the parameter itself is the shard key.
+	 *
+	 * @return the property path
+	 */
+	String value() default "";
+}
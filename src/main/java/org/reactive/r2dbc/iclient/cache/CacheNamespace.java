@@ -0,0 +1,32 @@
+package org.reactive.r2dbc.iclient.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generation of cached results of a mapper interface. Invalidating the
+ * namespace makes results cached by any method of the mapper stale, including
+ * results of queries still in flight.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class CacheNamespace {
+
+	private final Class<?> mapperInterface;
+	private final AtomicLong generation = new AtomicLong();
+
+	public CacheNamespace(Class<?> mapperInterface) {
+		this.mapperInterface = mapperInterface;
+	}
+
+	public Class<?> getMapperInterface() {
+		return mapperInterface;
+	}
+
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	public void invalidate() {
+		generation.incrementAndGet();
+	}
+}
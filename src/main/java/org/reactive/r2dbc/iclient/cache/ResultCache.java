@@ -0,0 +1,124 @@
+package org.reactive.r2dbc.iclient.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Results of a select method cached by parameter values, evicted by size (least
+ * recently used first) and time to live. Entries belong to a generation of the
+ * {@link CacheNamespace} and are stale once the namespace is invalidated.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class ResultCache {
+
+	private final CacheNamespace namespace;
+	private final long ttlNanos;
+	private final Map<Object, Entry> entries;
+
+	public ResultCache(CacheNamespace namespace, long ttlNanos, int size) {
+		this.namespace = namespace;
+		this.ttlNanos = ttlNanos;
+		this.entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+				return size() > size;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached result of a single row query or executes the query and
+	 * caches its result, including an empty result.
+	 * 
+	 * @param key   parameter values of the query
+	 * @param query supplier of the query
+	 * @return cached or queried result
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Mono<T> getOne(Object key, Supplier<Mono<T>> query) {
+		return Mono.defer(() -> {
+			List<Object> values = get(key);
+			if (values != null) {
+				return Mono.justOrEmpty(values.isEmpty() ? null : (T) values.get(0));
+			}
+			long generation = namespace.getGeneration();
+			return query.get().doOnSuccess(
+					value -> put(key, value == null ? Collections.emptyList() : Collections.singletonList(value),
+							generation));
+		});
+	}
+
+	/**
+	 * Returns the cached rows of a query or executes the query and caches its
+	 * rows once it completes.
+	 * 
+	 * @param key   parameter values of the query
+	 * @param query supplier of the query
+	 * @return cached or queried rows
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Flux<T> getAll(Object key, Supplier<Flux<T>> query) {
+		return Flux.defer(() -> {
+			List<Object> values = get(key);
+			if (values != null) {
+				return Flux.fromIterable((List<T>) values);
+			}
+			long generation = namespace.getGeneration();
+			return query.get().collectList().doOnNext(rows -> put(key, (List<Object>) rows, generation))
+					.flatMapIterable(Function.identity());
+		});
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	private List<Object> get(Object key) {
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.generation != namespace.getGeneration() || System.nanoTime() - entry.expiresAt > 0) {
+				entries.remove(key);
+				return null;
+			}
+			return entry.values;
+		}
+	}
+
+	private void put(Object key, List<Object> values, long generation) {
+		if (generation != namespace.getGeneration()) {
+			// a write completed while querying
+			return;
+		}
+		synchronized (entries) {
+			entries.put(key, new Entry(values, generation, System.nanoTime() + ttlNanos));
+		}
+	}
+
+	private static final class Entry {
+
+		private final List<Object> values;
+		private final long generation;
+		private final long expiresAt;
+
+		Entry(List<Object> values, long generation, long expiresAt) {
+			this.values = values;
+			this.generation = generation;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
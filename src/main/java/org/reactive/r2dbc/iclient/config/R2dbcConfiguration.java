@@ -5,17 +5,33 @@ import static org.springframework.util.Assert.isTrue;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.reactive.r2dbc.iclient.annotation.Result;
 import org.reactive.r2dbc.iclient.annotation.Results;
+import org.reactive.r2dbc.iclient.cache.CacheNamespace;
+import org.reactive.r2dbc.iclient.logging.SlowQueryDetector;
+import org.reactive.r2dbc.iclient.logging.StatementLogger;
+import org.reactive.r2dbc.iclient.mapping.ConstructorResolver;
 import org.reactive.r2dbc.iclient.mapping.ResultMap;
 import org.reactive.r2dbc.iclient.mapping.ResultMapping;
+import org.reactive.r2dbc.iclient.metrics.MapperMetrics;
+import org.reactive.r2dbc.iclient.plugin.Interceptor;
+import org.reactive.r2dbc.iclient.plugin.InterceptorChain;
 import org.reactive.r2dbc.iclient.proxy.R2dbcMapperProxyFactory;
+import org.reactive.r2dbc.iclient.routing.ReplicaRouter;
+import org.reactive.r2dbc.iclient.routing.ShardRouter;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.util.ClassUtils;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import org.springframework.transaction.ReactiveTransactionManager;
+
+import io.r2dbc.spi.ConnectionFactory;
 
 /**
  * Configuration class to hold mappers, result mapping and
@@ -27,21 +43,251 @@ import org.springframework.util.ClassUtils;
 public class R2dbcConfiguration {
 
 	private final DatabaseClient databaseClient;
-	private Map<Class<?>, R2dbcMapperProxyFactory<?>> mappers = new HashMap<>();
-	private Map<String, ResultMap<?>> resultMaps = new HashMap<>();
+	private final BindMarkersFactory bindMarkersFactory;
+	private int defaultBatchSize = 1000;
+	private int maxBindParameters = 32767;
+	private boolean inListPadding;
+	private Boolean multiRowGeneratedValues;
+	private int defaultFetchSize;
+	private boolean coalesceSelectOne;
+	private MapperMetrics mapperMetrics = MapperMetrics.NONE;
+	private StatementLogger statementLogger = StatementLogger.NONE;
+	private SlowQueryDetector slowQueryDetector;
+	private InterceptorChain interceptorChain = InterceptorChain.EMPTY;
+	private ReplicaRouter replicaRouter;
+	private ShardRouter shardRouter;
+	private volatile ReactiveTransactionManager transactionManager;
+	private Map<Class<?>, R2dbcMapperProxyFactory<?>> mappers = new ConcurrentHashMap<>();
+	private Map<String, ResultMap<?>> resultMaps = new ConcurrentHashMap<>();
+	private Map<Class<?>, CacheNamespace> cacheNamespaces = new ConcurrentHashMap<>();
 
 	public R2dbcConfiguration(DatabaseClient databaseClient) {
+		this(databaseClient, null);
+	}
+
+	public R2dbcConfiguration(DatabaseClient databaseClient, BindMarkersFactory bindMarkersFactory) {
 		super();
 		this.databaseClient = databaseClient;
+		this.bindMarkersFactory = bindMarkersFactory;
 	}
 
 	public DatabaseClient getDatabaseClient() {
 		return databaseClient;
 	}
 
+	/**
+	 * Returns the bind markers of the database dialect, used to expand statements
+	 * once into native SQL. If {@code null}, statements are passed to
+	 * {@link DatabaseClient} with named parameters.
+	 * 
+	 * @return dialect bind markers or {@code null}
+	 */
+	public BindMarkersFactory getBindMarkersFactory() {
+		return bindMarkersFactory;
+	}
+
+	public int getDefaultBatchSize() {
+		return defaultBatchSize;
+	}
+
+	public void setDefaultBatchSize(int defaultBatchSize) {
+		isTrue(defaultBatchSize > 0, "Default batch size must be greater than 0");
+		this.defaultBatchSize = defaultBatchSize;
+	}
+
+	public int getMaxBindParameters() {
+		return maxBindParameters;
+	}
+
+	public void setMaxBindParameters(int maxBindParameters) {
+		isTrue(maxBindParameters > 0, "Max bind parameters must be greater than 0");
+		this.maxBindParameters = maxBindParameters;
+	}
+
+	public boolean isInListPadding() {
+		return inListPadding;
+	}
+
+	public void setInListPadding(boolean inListPadding) {
+		this.inListPadding = inListPadding;
+	}
+
+	/**
+	 * Returns whether a multi-row insert returns generated values of every row.
+	 * Unless set, this is only assumed for PostgreSQL and H2; MySQL, MariaDB and
+	 * SQL Server return a single last insert id per statement, so multi-row batch
+	 * methods retrieving ids bind one binding set per element instead.
+	 * 
+	 * @return whether multi-row statements may retrieve ids
+	 */
+	public boolean isMultiRowGeneratedValues() {
+		if (multiRowGeneratedValues == null) {
+			String name = databaseClient.getConnectionFactory().getMetadata().getName().toLowerCase(Locale.ROOT);
+			multiRowGeneratedValues = name.contains("postgres") || name.equals("h2");
+		}
+		return multiRowGeneratedValues;
+	}
+
+	public void setMultiRowGeneratedValues(boolean multiRowGeneratedValues) {
+		this.multiRowGeneratedValues = multiRowGeneratedValues;
+	}
+
+	public int getDefaultFetchSize() {
+		return defaultFetchSize;
+	}
+
+	public void setDefaultFetchSize(int defaultFetchSize) {
+		isTrue(defaultFetchSize >= 0, "Default fetch size must not be negative");
+		this.defaultFetchSize = defaultFetchSize;
+	}
+
+	public boolean isCoalesceSelectOne() {
+		return coalesceSelectOne;
+	}
+
+	/**
+	 * Enables sharing of in-flight single row selects among concurrent calls of
+	 * the same method with equal parameter values and Reactor context. Calls
+	 * within a transaction are never shared.
+	 * 
+	 * @param coalesceSelectOne whether to coalesce concurrent selects
+	 */
+	public void setCoalesceSelectOne(boolean coalesceSelectOne) {
+		this.coalesceSelectOne = coalesceSelectOne;
+	}
+
+	public MapperMetrics getMapperMetrics() {
+		return mapperMetrics;
+	}
+
+	public void setMapperMetrics(MapperMetrics mapperMetrics) {
+		notNull(mapperMetrics, "MapperMetrics must not be null");
+		this.mapperMetrics = mapperMetrics;
+	}
+
+	public StatementLogger getStatementLogger() {
+		return statementLogger;
+	}
+
+	public void setStatementLogger(StatementLogger statementLogger) {
+		notNull(statementLogger, "StatementLogger must not be null");
+		this.statementLogger = statementLogger;
+	}
+
+	public SlowQueryDetector getSlowQueryDetector() {
+		return slowQueryDetector;
+	}
+
+	public void setSlowQueryDetector(SlowQueryDetector slowQueryDetector) {
+		this.slowQueryDetector = slowQueryDetector;
+	}
+
+	/**
+	 * Returns the router of select statements to replicas, or {@code null} if all
+	 * statements are executed by {@link #getDatabaseClient()}.
+	 */
+	public ReplicaRouter getReplicaRouter() {
+		return replicaRouter;
+	}
+
+	public void setReplicaRouter(ReplicaRouter replicaRouter) {
+		this.replicaRouter = replicaRouter;
+	}
+
+	/**
+	 * Returns the router of statements to shards by {@code @ShardKey}, or
+	 * {@code null} if the database is not sharded.
+	 */
+	public ShardRouter getShardRouter() {
+		return shardRouter;
+	}
+
+	public void setShardRouter(ShardRouter shardRouter) {
+		this.shardRouter = shardRouter;
+	}
+
+	/**
+	 * Returns the transaction manager of the primary database. If not set, an
+	 * {@link R2dbcTransactionManager} is created once on first use, which
+	 * enforces read-only transactions on MySQL, MariaDB and PostgreSQL.
+	 */
+	public ReactiveTransactionManager getTransactionManager() {
+		ReactiveTransactionManager manager = transactionManager;
+		if (manager == null) {
+			synchronized (this) {
+				manager = transactionManager;
+				if (manager == null) {
+					manager = createTransactionManager();
+					transactionManager = manager;
+				}
+			}
+		}
+		return manager;
+	}
+
+	private ReactiveTransactionManager createTransactionManager() {
+		ConnectionFactory connectionFactory = databaseClient.getConnectionFactory();
+		R2dbcTransactionManager manager = new R2dbcTransactionManager(connectionFactory);
+		String name = connectionFactory.getMetadata().getName().toLowerCase(Locale.ROOT);
+		manager.setEnforceReadOnly(name.contains("mysql") || name.contains("mariadb") || name.contains("postgres"));
+		return manager;
+	}
+
+	public void setTransactionManager(ReactiveTransactionManager transactionManager) {
+		notNull(transactionManager, "ReactiveTransactionManager must not be null");
+		this.transactionManager = transactionManager;
+	}
+
+	public InterceptorChain getInterceptorChain() {
+		return interceptorChain;
+	}
+
+	/**
+	 * Adds an interceptor to the end of the chain. Interceptors added first wrap
+	 * the ones added later.
+	 */
+	public void addInterceptor(Interceptor interceptor) {
+		this.interceptorChain = interceptorChain.with(interceptor);
+	}
+
+	public CacheNamespace getCacheNamespace(Class<?> mapperInterface) {
+		return cacheNamespaces.computeIfAbsent(mapperInterface, CacheNamespace::new);
+	}
+
+	/**
+	 * Returns whether results of a mapper are cached by any of its methods.
+	 * 
+	 * @param mapperInterface the mapper interface
+	 */
+	public boolean hasCacheNamespace(Class<?> mapperInterface) {
+		return cacheNamespaces.containsKey(mapperInterface);
+	}
+
+	/**
+	 * Invalidates cached results of a mapper, if any are cached.
+	 * 
+	 * @param mapperInterface the mapper interface
+	 */
+	public void invalidateCache(Class<?> mapperInterface) {
+		CacheNamespace namespace = cacheNamespaces.get(mapperInterface);
+		if (namespace != null) {
+			namespace.invalidate();
+		}
+	}
+
+	/**
+	 * Registers a mapper, unless its interface is already registered.
+	 * 
+	 * @param mapper the mapper proxy factory
+	 */
 	public <T> void addMapper(R2dbcMapperProxyFactory<T> mapper) {
-		mappers.put(mapper.getMapperInterface(), mapper);
-		parseMapper(mapper.getMapperInterface());
+		if (mappers.putIfAbsent(mapper.getMapperInterface(), mapper) == null) {
+			parseMapper(mapper.getMapperInterface());
+		}
+	}
+
+	public Collection<R2dbcMapperProxyFactory<?>> getMappers() {
+		return Collections.unmodifiableCollection(mappers.values());
 	}
 
 	public <T> R2dbcMapperProxyFactory<T> getMapper(Class<T> type) {
@@ -73,8 +319,8 @@ public class R2dbcConfiguration {
 
 		notNull(id, "Id is required for @Results for method: " + methodName);
 		notNull(type, "Type is required for @Results with id: " + id);
-		isTrue(ClassUtils.hasConstructor(type, new Class[0]),
-				"Type requires non argument constructor for @Results with id: " + id);
+		isTrue(ConstructorResolver.resolve(type) != null,
+				"Type requires non argument constructor, @MappingConstructor or record for @Results with id: " + id);
 
 		if (!resultMaps.containsKey(id)) {
 			Result[] result = results.value();
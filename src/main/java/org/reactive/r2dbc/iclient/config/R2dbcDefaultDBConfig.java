@@ -1,6 +1,7 @@
 package org.reactive.r2dbc.iclient.config;
 
 import static org.springframework.util.Assert.hasText;
+import static org.springframework.util.Assert.isTrue;
 import static io.r2dbc.spi.ConnectionFactoryOptions.DATABASE;
 import static io.r2dbc.spi.ConnectionFactoryOptions.DRIVER;
 import static io.r2dbc.spi.ConnectionFactoryOptions.HOST;
@@ -8,19 +9,48 @@ import static io.r2dbc.spi.ConnectionFactoryOptions.PASSWORD;
 import static io.r2dbc.spi.ConnectionFactoryOptions.PORT;
 import static io.r2dbc.spi.ConnectionFactoryOptions.USER;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.commons.lang3.StringUtils;
 import org.reactive.r2dbc.iclient.core.R2dbcSqlSession;
 import org.reactive.r2dbc.iclient.core.R2dbcSqlSessionFactory;
 import org.reactive.r2dbc.iclient.core.R2dbcSqlSessionFactoryBuilder;
+import org.reactive.r2dbc.iclient.health.R2dbcSqlSessionHealthIndicator;
+import org.reactive.r2dbc.iclient.logging.DefaultStatementLogger;
+import org.reactive.r2dbc.iclient.logging.SlowQueryDetector;
+import org.reactive.r2dbc.iclient.logging.SlowQueryListener;
+import org.reactive.r2dbc.iclient.logging.StatementLogger;
+import org.reactive.r2dbc.iclient.metrics.ConnectionPoolMetrics;
+import org.reactive.r2dbc.iclient.metrics.MapperMetrics;
+import org.reactive.r2dbc.iclient.metrics.MicrometerMapperMetrics;
+import org.reactive.r2dbc.iclient.plugin.Interceptor;
+import org.reactive.r2dbc.iclient.routing.ReplicaRouter.Strategy;
+import org.reactive.r2dbc.iclient.routing.ShardRouter;
 import org.reactive.r2dbc.iclient.type.DatabaseTypes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.ReactiveTransactionManager;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.spi.ConnectionFactories;
 import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.ConnectionFactoryOptions;
@@ -56,6 +86,51 @@ public class R2dbcDefaultDBConfig {
 	private String dbType;
 	@Value("${spring.r2dbc.options:}")
 	private String dbOptions;
+	@Value("${spring.r2dbc.pool.enabled:true}")
+	private boolean poolEnabled;
+	@Value("${spring.r2dbc.pool.name:r2dbc-iclient}")
+	private String poolName;
+	@Value("${spring.r2dbc.pool.initial-size:10}")
+	private int poolInitialSize;
+	@Value("${spring.r2dbc.pool.max-size:10}")
+	private int poolMaxSize;
+	@Value("${spring.r2dbc.pool.max-idle-time:30m}")
+	private String poolMaxIdleTime;
+	@Value("${spring.r2dbc.pool.max-acquire-time:-1}")
+	private String poolMaxAcquireTime;
+	@Value("${spring.r2dbc.pool.max-create-connection-time:-1}")
+	private String poolMaxCreateConnectionTime;
+	@Value("${spring.r2dbc.pool.max-life-time:-1}")
+	private String poolMaxLifeTime;
+	@Value("${spring.r2dbc.pool.acquire-retry:1}")
+	private int poolAcquireRetry;
+	@Value("${spring.r2dbc.pool.validation-query:}")
+	private String poolValidationQuery;
+	@Value("${spring.r2dbc.replica.hosts:}")
+	private String replicaHosts;
+	@Value("${spring.r2dbc.replica.routing:round-robin}")
+	private String replicaRouting;
+	@Value("${spring.r2dbc.shard.hosts:}")
+	private String shardHosts;
+	@Value("${spring.r2dbc.statement-log.level:off}")
+	private String statementLogLevel;
+	@Value("${spring.r2dbc.statement-log.sample-rate:100}")
+	private int statementLogSampleRate;
+	@Value("${spring.r2dbc.statement-log.slow-threshold:1000}")
+	private long statementLogSlowThreshold;
+	@Value("${spring.r2dbc.slow-query.threshold:-1}")
+	private long slowQueryThreshold;
+	@Value("${spring.r2dbc.slow-query.explain:false}")
+	private boolean slowQueryExplain;
+	@Value("${spring.r2dbc.slow-query.explain-max-concurrency:2}")
+	private int slowQueryExplainMaxConcurrency;
+	@Value("${spring.r2dbc.slow-query.redact:}")
+	private String slowQueryRedact;
+	/**
+	 * Pools of replica or shard databases by name, created with the session
+	 * factory.
+	 */
+	private final Map<String, ConnectionFactory> secondaryPools = Collections.synchronizedMap(new LinkedHashMap<>());
 
 	/**
 	 * Initialize default {@link ConnectionFactory} based on provided properties.
@@ -78,8 +153,29 @@ public class R2dbcDefaultDBConfig {
 		hasText(dbType,
 				"Database Type is require for database connection. Please define 'spring.r2dbc.database' property with either of these values [mysql, postgresql, mariadb].");
 
-		ConnectionFactoryOptions.Builder builder = ConnectionFactoryOptions.builder().option(HOST, dbHost)
-				.option(PORT, Integer.valueOf(dbPort))
+		return pool(connectionFactory(dbHost, Integer.valueOf(dbPort)), poolName);
+	}
+
+	/**
+	 * Creates {@link ConnectionFactory}s of a comma separated list of
+	 * host[:port], sharing all other properties of the primary database.
+	 */
+	private List<ConnectionFactory> connectionFactories(String hosts) {
+		List<ConnectionFactory> connectionFactories = new ArrayList<>();
+		for (String host : StringUtils.stripAll(StringUtils.split(hosts, ","))) {
+			String[] hostPort = StringUtils.split(host, ":");
+			ConnectionFactory connectionFactory = pool(
+					connectionFactory(hostPort[0], Integer.valueOf(hostPort.length > 1 ? hostPort[1] : dbPort)),
+					poolName + "-" + host);
+			secondaryPools.put(poolName + "-" + host, connectionFactory);
+			connectionFactories.add(connectionFactory);
+		}
+		return connectionFactories;
+	}
+
+	private ConnectionFactory connectionFactory(String host, int port) {
+		ConnectionFactoryOptions.Builder builder = ConnectionFactoryOptions.builder().option(HOST, host)
+				.option(PORT, port)
 				.option(DRIVER, DatabaseTypes.getDatabaseType(dbType).getDatabaseType())
 				.option(DATABASE, dbDatabase)
 				.option(USER, dbUsername)
@@ -100,17 +196,117 @@ public class R2dbcDefaultDBConfig {
 		return ConnectionFactories.get(builder.build());
 	}
 
+	/**
+	 * Wraps a {@link ConnectionFactory} into a {@link ConnectionPool} configured
+	 * by "spring.r2dbc.pool.*" properties, unless pooling is disabled. Times are
+	 * durations such as "30s" or "10m", plain numbers are milliseconds; negative
+	 * values leave a time unlimited.
+	 */
+	private ConnectionFactory pool(ConnectionFactory connectionFactory, String name) {
+		if (!poolEnabled) {
+			return connectionFactory;
+		}
+		isTrue(poolInitialSize <= poolMaxSize,
+				"Property 'spring.r2dbc.pool.initial-size' must not exceed 'spring.r2dbc.pool.max-size'.");
+		ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory)
+				.name(name)
+				.initialSize(poolInitialSize)
+				.maxSize(poolMaxSize)
+				.acquireRetry(poolAcquireRetry)
+				.maxIdleTime(poolTime(poolMaxIdleTime));
+		Duration maxAcquireTime = poolTime(poolMaxAcquireTime);
+		if (!maxAcquireTime.isNegative()) {
+			builder.maxAcquireTime(maxAcquireTime);
+		}
+		Duration maxCreateConnectionTime = poolTime(poolMaxCreateConnectionTime);
+		if (!maxCreateConnectionTime.isNegative()) {
+			builder.maxCreateConnectionTime(maxCreateConnectionTime);
+		}
+		Duration maxLifeTime = poolTime(poolMaxLifeTime);
+		if (!maxLifeTime.isNegative()) {
+			builder.maxLifeTime(maxLifeTime);
+		}
+		if (StringUtils.isNotBlank(poolValidationQuery)) {
+			builder.validationQuery(poolValidationQuery);
+		}
+		return new ConnectionPool(builder.build());
+	}
+
+	/**
+	 * Parses a pool time such as "30s", "10m" or ISO-8601 "PT1H". Plain numbers
+	 * are milliseconds, so values of earlier versions keep their meaning.
+	 */
+	static Duration poolTime(String value) {
+		return DurationStyle.detectAndParse(value.trim(), ChronoUnit.MILLIS);
+	}
+
 	/**
 	 * Initialize default {@link R2dbcSqlSessionFactory} bean.
 	 * 
 	 * @param {@link ConnectionFactory} bean
+	 * @param {@link MapperMetrics} bean, if any
+	 * @param {@link StatementLogger} bean, if any
+	 * @param {@link SlowQueryListener} bean, if any
+	 * @param {@link Interceptor} beans, in {@code @Order}
+	 * @param {@link ShardRouter.Strategy} bean, if any
+	 * @param {@link ReactiveTransactionManager} bean, if unique
 	 * @return R2dbcSqlSessionFactory
 	 */
 	@Bean("r2dbcSqlSessionFactory")
 	@ConditionalOnMissingBean
-	public R2dbcSqlSessionFactory r2dbcSqlSessionFactory(ConnectionFactory connectionFactory) {
+	public R2dbcSqlSessionFactory r2dbcSqlSessionFactory(ConnectionFactory connectionFactory,
+			ObjectProvider<MapperMetrics> mapperMetrics, ObjectProvider<StatementLogger> statementLogger,
+			ObjectProvider<SlowQueryListener> slowQueryListener, ObjectProvider<Interceptor> interceptors,
+			ObjectProvider<ShardRouter.Strategy> shardStrategy,
+			ObjectProvider<ReactiveTransactionManager> transactionManager) {
 		log.debug("Initializing default R2dbcSqlSessionFactory.");
-		return R2dbcSqlSessionFactoryBuilder.build(connectionFactory);
+		isTrue(StringUtils.isBlank(replicaHosts) || StringUtils.isBlank(shardHosts),
+				"Properties 'spring.r2dbc.replica.hosts' and 'spring.r2dbc.shard.hosts' can't be combined.");
+		R2dbcSqlSessionFactory sessionFactory;
+		if (StringUtils.isNotBlank(shardHosts)) {
+			sessionFactory = R2dbcSqlSessionFactoryBuilder.buildSharded(connectionFactory,
+					connectionFactories(shardHosts), shardStrategy.getIfAvailable(() -> ShardRouter.Strategy.HASH));
+		} else if (StringUtils.isNotBlank(replicaHosts)) {
+			sessionFactory = R2dbcSqlSessionFactoryBuilder.build(connectionFactory, connectionFactories(replicaHosts),
+					Strategy.valueOf(StringUtils.replace(replicaRouting.toUpperCase(), "-", "_")));
+		} else {
+			sessionFactory = R2dbcSqlSessionFactoryBuilder.build(connectionFactory);
+		}
+		mapperMetrics.ifAvailable(sessionFactory.getConfiguration()::setMapperMetrics);
+		interceptors.orderedStream().forEach(sessionFactory.getConfiguration()::addInterceptor);
+		transactionManager.ifUnique(sessionFactory.getConfiguration()::setTransactionManager);
+		sessionFactory.getConfiguration().setStatementLogger(statementLogger.getIfAvailable(this::statementLogger));
+		if (slowQueryThreshold >= 0) {
+			SlowQueryDetector detector = new SlowQueryDetector(sessionFactory.getConfiguration(),
+					Duration.ofMillis(slowQueryThreshold),
+					slowQueryListener.getIfAvailable(() -> SlowQueryListener.LOGGING));
+			detector.setExplain(slowQueryExplain);
+			detector.setMaxConcurrentExplains(slowQueryExplainMaxConcurrency);
+			if (StringUtils.isNotBlank(slowQueryRedact)) {
+				detector.setRedactedProperties(
+						new HashSet<>(Arrays.asList(StringUtils.stripAll(StringUtils.split(slowQueryRedact, ",")))));
+			}
+			sessionFactory.getConfiguration().setSlowQueryDetector(detector);
+		}
+		return sessionFactory;
+	}
+
+	/**
+	 * Create {@link StatementLogger} based on "spring.r2dbc.statement-log.level"
+	 * property with either of values [off, sampled, slow, full].
+	 * "spring.r2dbc.statement-log.sample-rate" sets one in how many statements are
+	 * sampled and "spring.r2dbc.statement-log.slow-threshold" sets milliseconds a
+	 * slow statement takes.
+	 * 
+	 * @return StatementLogger
+	 */
+	private StatementLogger statementLogger() {
+		DefaultStatementLogger.Level level = DefaultStatementLogger.Level.valueOf(statementLogLevel.toUpperCase());
+		if (level == DefaultStatementLogger.Level.OFF) {
+			return StatementLogger.NONE;
+		}
+		return new DefaultStatementLogger(level, statementLogSampleRate,
+				Duration.ofMillis(statementLogSlowThreshold));
 	}
 
 	/**
@@ -126,4 +322,82 @@ public class R2dbcDefaultDBConfig {
 		return r2dbcSqlSessionFactory.openSession();
 	}
 
+	/**
+	 * Warms up the {@link R2dbcSqlSessionFactory} once all singletons, including
+	 * mappers, are initialized, unless "spring.r2dbc.warm-up.enabled" is false.
+	 * Warm-up runs in the background; its progress is reported by the health
+	 * indicator.
+	 * 
+	 * @param {@link R2dbcSqlSessionFactory} bean
+	 * @return SmartInitializingSingleton
+	 */
+	@Bean("r2dbcSqlSessionWarmUp")
+	@ConditionalOnMissingBean(name = "r2dbcSqlSessionWarmUp")
+	public SmartInitializingSingleton r2dbcSqlSessionWarmUp(R2dbcSqlSessionFactory r2dbcSqlSessionFactory,
+			@Value("${spring.r2dbc.warm-up.enabled:true}") boolean enabled) {
+		return () -> {
+			if (enabled) {
+				r2dbcSqlSessionFactory.warmUp().subscribe(
+						connections -> log.info("R2dbcSqlSessionFactory warmed up with {} connections.", connections),
+						ex -> log.error("R2dbcSqlSessionFactory warm-up failed.", ex));
+			}
+		};
+	}
+
+	/**
+	 * Returns the pools of replica or shard databases created by this
+	 * configuration, by pool name.
+	 */
+	Map<String, ConnectionFactory> getSecondaryPools() {
+		synchronized (secondaryPools) {
+			return new LinkedHashMap<>(secondaryPools);
+		}
+	}
+
+	/**
+	 * Records mapper method and connection pool metrics to Micrometer if it is on
+	 * the classpath, using the application's {@link MeterRegistry} or the global
+	 * registry.
+	 */
+	@Configuration
+	@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+	static class MetricsConfig {
+
+		@Bean("r2dbcMapperMetrics")
+		@ConditionalOnMissingBean
+		public MapperMetrics r2dbcMapperMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+			return new MicrometerMapperMetrics(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+		}
+
+		@Bean("r2dbcConnectionPoolMetrics")
+		@ConditionalOnMissingBean
+		public ConnectionPoolMetrics r2dbcConnectionPoolMetrics(ConnectionFactory connectionFactory,
+				R2dbcSqlSessionFactory r2dbcSqlSessionFactory, R2dbcDefaultDBConfig dbConfig,
+				ObjectProvider<MeterRegistry> meterRegistry,
+				@Value("${spring.r2dbc.pool.name:r2dbc-iclient}") String poolName) {
+			// replica and shard pools are created along with the session factory
+			Map<String, ConnectionFactory> pools = new LinkedHashMap<>();
+			pools.put(poolName, connectionFactory);
+			pools.putAll(dbConfig.getSecondaryPools());
+			ConnectionPoolMetrics metrics = new ConnectionPoolMetrics(pools);
+			metrics.bindTo(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+			return metrics;
+		}
+	}
+
+	/**
+	 * Reports health of the primary database if Spring Boot Actuator is on the
+	 * classpath.
+	 */
+	@Configuration
+	@ConditionalOnClass(name = "org.springframework.boot.actuate.health.ReactiveHealthIndicator")
+	static class HealthConfig {
+
+		@Bean("r2dbcSqlSessionHealthIndicator")
+		@ConditionalOnMissingBean(name = "r2dbcSqlSessionHealthIndicator")
+		public R2dbcSqlSessionHealthIndicator r2dbcSqlSessionHealthIndicator(
+				R2dbcSqlSessionFactory r2dbcSqlSessionFactory) {
+			return new R2dbcSqlSessionHealthIndicator(r2dbcSqlSessionFactory);
+		}
+	}
 }
@@ -0,0 +1,129 @@
+package org.reactive.r2dbc.iclient.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
+
+/**
+ * Collects single key lookups within a time window and resolves them with one
+ * query for all distinct keys. The query emits key and value pairs which are
+ * returned to the callers of the key; keys without a row complete empty. Calls
+ * are batched with calls of equal Reactor context entries only, the query of a
+ * batch runs with their context.
+ * 
+ * @author Bhautik Bhanani
+ */
+class BatchLoader {
+
+	private final long window;
+	private final int maxSize;
+	private final Function<List<Object>, Flux<Object[]>> query;
+	private List<Pending> pending = new ArrayList<>();
+
+	BatchLoader(long window, int maxSize, Function<List<Object>, Flux<Object[]>> query) {
+		this.window = window;
+		this.maxSize = maxSize;
+		this.query = query;
+	}
+
+	@SuppressWarnings("unchecked")
+	<T> Mono<T> load(Object key) {
+		if (key == null) {
+			return Mono.empty();
+		}
+		return Mono.deferContextual(context -> {
+			Sinks.One<Object> sink = Sinks.one();
+			List<Pending> batch = null;
+			boolean schedule = false;
+			synchronized (this) {
+				pending.add(new Pending(key, sink, context));
+				if (pending.size() >= maxSize) {
+					batch = pending;
+					pending = new ArrayList<>();
+				} else {
+					schedule = pending.size() == 1;
+				}
+			}
+			if (batch != null) {
+				execute(batch);
+			} else if (schedule) {
+				Schedulers.parallel().schedule(this::flush, window, TimeUnit.MILLISECONDS);
+			}
+			return (Mono<T>) sink.asMono();
+		});
+	}
+
+	private void flush() {
+		List<Pending> batch;
+		synchronized (this) {
+			if (pending.isEmpty()) {
+				return;
+			}
+			batch = pending;
+			pending = new ArrayList<>();
+		}
+		execute(batch);
+	}
+
+	/**
+	 * Executes one query per distinct context of the collected calls.
+	 */
+	private void execute(List<Pending> calls) {
+		Map<Object, List<Pending>> batches = new LinkedHashMap<>();
+		for (Pending call : calls) {
+			batches.computeIfAbsent(call.contextKey, k -> new ArrayList<>()).add(call);
+		}
+		for (List<Pending> batch : batches.values()) {
+			executeBatch(batch);
+		}
+	}
+
+	private void executeBatch(List<Pending> batch) {
+		LinkedHashSet<Object> keys = new LinkedHashSet<>();
+		for (Pending call : batch) {
+			keys.add(call.key);
+		}
+		query.apply(new ArrayList<>(keys)).collect(HashMap::new, (Map<Object, Object> values, Object[] pair) -> {
+			values.putIfAbsent(pair[0], pair[1]);
+		}).contextWrite(batch.get(0).context).subscribe(values -> {
+			for (Pending call : batch) {
+				Object value = values.get(call.key);
+				if (value == null) {
+					call.sink.tryEmitEmpty();
+				} else {
+					call.sink.tryEmitValue(value);
+				}
+			}
+		}, error -> {
+			for (Pending call : batch) {
+				call.sink.tryEmitError(error);
+			}
+		});
+	}
+
+	private static final class Pending {
+
+		private final Object key;
+		private final Sinks.One<Object> sink;
+		private final ContextView context;
+		private final Object contextKey;
+
+		Pending(Object key, Sinks.One<Object> sink, ContextView context) {
+			this.key = key;
+			this.sink = sink;
+			this.context = context;
+			this.contextKey = DefaultR2dbcSqlSession.contextKey(context);
+		}
+	}
+}
@@ -1,17 +1,50 @@
 package org.reactive.r2dbc.iclient.core;
 
-import org.apache.commons.lang3.StringUtils;
+import static org.springframework.util.Assert.notNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactive.r2dbc.iclient.annotation.BatchSelect;
+import org.reactive.r2dbc.iclient.cache.ResultCache;
 import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
+import org.reactive.r2dbc.iclient.exception.R2dbcQueryException;
+import org.reactive.r2dbc.iclient.logging.SlowQueryDetector;
 import org.reactive.r2dbc.iclient.mapping.R2dbcPreparedStatement;
+import org.reactive.r2dbc.iclient.plugin.InterceptorChain;
 import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod.SqlCommand;
 import org.reactive.r2dbc.iclient.proxy.R2dbcMapperProxyFactory;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.reactive.r2dbc.iclient.routing.ReplicaRouter;
+import org.reactive.r2dbc.iclient.routing.ShardRouter;
+import org.reactive.r2dbc.iclient.type.SqlCommandType;
+import org.reactivestreams.Publisher;
+import org.springframework.r2dbc.core.ColumnMapRowMapper;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
 
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 /**
  * Default implementation of {@link R2dbcSqlSession}.
@@ -21,8 +54,10 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("unchecked")
 class DefaultR2dbcSqlSession implements R2dbcSqlSession {
 
-	private static Logger log = LoggerFactory.getLogger(R2dbcSqlSession.class);
 	private final R2dbcConfiguration configuration;
+	private final Map<Object, Mono<?>> inFlight = new ConcurrentHashMap<>();
+	private final Map<R2dbcMapperMethod, BatchLoader> batchLoaders = new ConcurrentHashMap<>();
+	private final Map<Class<?>, Object> mappers = new ConcurrentHashMap<>();
 	private final DatabaseClient databaseClient;
 
 	public DefaultR2dbcSqlSession(R2dbcConfiguration configuration) {
@@ -30,98 +65,528 @@ class DefaultR2dbcSqlSession implements R2dbcSqlSession {
 		this.databaseClient = configuration.getDatabaseClient();
 	}
 
+	/**
+	 * Returns the mapper proxy of an interface, created once per session. Its
+	 * mapper methods, parsed statements and row mappers are shared by all calls,
+	 * so mappers can be retrieved cheaply, e.g. within every transaction.
+	 */
 	@Override
 	public <T> T getMapper(Class<T> clazz) {
-		R2dbcMapperProxyFactory<T> mapperFactory = new R2dbcMapperProxyFactory<>(clazz);
-		configuration.addMapper(mapperFactory);
-		return mapperFactory.newInstance(this);
+		return (T) mappers.computeIfAbsent(clazz, type -> {
+			R2dbcMapperProxyFactory<T> mapperFactory = configuration.getMapper(clazz);
+			if (mapperFactory == null) {
+				configuration.addMapper(new R2dbcMapperProxyFactory<>(clazz));
+				mapperFactory = configuration.getMapper(clazz);
+			}
+			return mapperFactory.newInstance(this);
+		});
 	}
 
 	@Override
 	public <T> Mono<T> selectOne(R2dbcMapperMethod method, Object params) {
-		log.info("Executing select statment for: {}", method.getCommand().getStatement());
+		Object bound = bind(method, params);
+		ResultCache cache = method.getResultCache(configuration);
+		if (cache == null && !configuration.isCoalesceSelectOne()) {
+			return observe(method, params, executeSelectOne(method, bound));
+		}
+		Object key = parameterKey(method, bound);
+		Supplier<Mono<T>> query = configuration.isCoalesceSelectOne() ? () -> coalesce(method, key, bound)
+				: () -> executeSelectOne(method, bound);
+		Mono<T> result = cache == null ? query.get()
+				: isTransactionActive().flatMap(
+						active -> active ? executeSelectOne(method, bound) : cache.getOne(key, query));
+		return observe(method, params, result);
+	}
+
+	/**
+	 * Shares an in-flight select among concurrent callers with the same method,
+	 * parameter values and Reactor context. The shared select runs with the
+	 * context of its first caller, so callers of different contexts, e.g. tenants
+	 * or traces, don't share selects. Calls within a transaction are not shared,
+	 * they must run on the transaction's connection. The flight is removed once it
+	 * terminates or all callers cancel, following calls query again.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Mono<T> coalesce(R2dbcMapperMethod method, Object key, Object params) {
+		return isTransactionActive().flatMap(active -> active ? executeSelectOne(method, params)
+				: Mono.deferContextual(context -> {
+					Object flightKey = Arrays.asList(method, key, contextKey(context));
+					return (Mono<T>) inFlight.computeIfAbsent(flightKey, k -> executeSelectOne(method, params)
+							.doFinally(signal -> inFlight.remove(k)).share());
+				}));
+	}
+
+	/**
+	 * Returns the entries of a context, comparable among contexts.
+	 */
+	static Object contextKey(ContextView context) {
+		if (context.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<Object, Object> entries = new HashMap<>();
+		context.stream().forEach(entry -> entries.put(entry.getKey(), entry.getValue()));
+		return entries;
+	}
+
+	private <T> Mono<T> executeSelectOne(R2dbcMapperMethod method, Object params) {
+		return route(method, params, client -> executeSelectOne(client, method, params));
+	}
+
+	private <T> Mono<T> executeSelectOne(DatabaseClient client, R2dbcMapperMethod method, Object params) {
 		Mono<T> result = null;
-		GenericExecuteSpec sql = new R2dbcPreparedStatement(databaseClient, method).parameterize(params);
-		if (StringUtils.isNotBlank(method.getMethod().getResultMap())
-				&& configuration.getResultMap(method.getMethod().getResultMap()) != null) {
-			result = (Mono<T>) sql.map(configuration.getResultMap(method.getMethod().getResultMap()).getMapper()).one();
+		GenericExecuteSpec sql = prepare(client, method, params);
+		BiFunction<Row, RowMetadata, ?> mapper = rowMapper(method);
+		if (method.getRowMapper(configuration) != null) {
+			result = (Mono<T>) sql.map(mapper).one();
+		} else if (mapper != null) {
+			result = (Mono<T>) sql.map(mapper).first();
 		} else {
 			result = (Mono<T>) sql.fetch().first();
 		}
-		return result;
+		SlowQueryDetector detector = configuration.getSlowQueryDetector();
+		return detector != null ? detector.executedOn(client, result) : result;
 	}
 
 	@Override
 	public <T> Flux<T> select(R2dbcMapperMethod method, Object params) {
-		log.info("Executing select statment for: {}", method.getCommand().getStatement());
+		Object bound = bind(method, params);
+		ResultCache cache = method.getResultCache(configuration);
+		if (cache == null) {
+			return observe(method, params, executeSelect(method, bound));
+		}
+		Object key = parameterKey(method, bound);
+		Flux<T> result = isTransactionActive().flatMapMany(active -> active ? executeSelect(method, bound)
+				: cache.getAll(key, () -> executeSelect(method, bound)));
+		return observe(method, params, result);
+	}
+
+	private <T> Flux<T> executeSelect(R2dbcMapperMethod method, Object params) {
+		return routeMany(method, params, client -> executeSelect(client, method, params));
+	}
+
+	private <T> Flux<T> executeSelect(DatabaseClient client, R2dbcMapperMethod method, Object params) {
 		Flux<T> result = null;
-		GenericExecuteSpec sql = new R2dbcPreparedStatement(databaseClient, method).parameterize(params);
-		if (StringUtils.isNotBlank(method.getMethod().getResultMap())
-				&& configuration.getResultMap(method.getMethod().getResultMap()) != null) {
-			result = (Flux<T>) sql.map(configuration.getResultMap(method.getMethod().getResultMap()).getMapper()).all();
+		GenericExecuteSpec sql = prepare(client, method, params);
+		int fetchSize = method.getCommand().getFetchSize() >= 0 ? method.getCommand().getFetchSize()
+				: configuration.getDefaultFetchSize();
+		if (fetchSize > 0) {
+			sql = sql.filter(statement -> statement.fetchSize(fetchSize));
+		}
+		BiFunction<Row, RowMetadata, ?> mapper = rowMapper(method);
+		if (mapper != null) {
+			result = (Flux<T>) sql.map(mapper).all();
 		} else {
 			result = (Flux<T>) sql.fetch().all();
 		}
-		return result;
+		// request rows from the driver in fetch size batches instead of unbounded
+		result = fetchSize > 0 ? result.limitRate(fetchSize) : result;
+		SlowQueryDetector detector = configuration.getSlowQueryDetector();
+		return detector != null ? detector.executedOn(client, result) : result;
 	}
 
+	/**
+	 * Batches a single key select with concurrent calls, unless the call is part
+	 * of a transaction: a batch query runs outside the callers' subscriptions, so
+	 * it would not join the transaction's connection.
+	 */
 	@Override
-	public <T> Mono<T> insert(R2dbcMapperMethod method, Object params) {
-		log.info("Executing insert statment for: {}", method.getCommand().getStatement());
-		GenericExecuteSpec sql = new R2dbcPreparedStatement(databaseClient, method).parameterize(params);
-		if (method.getCommand().isRetrieveId()) {
-			sql = sql.filter((statement, executeFunction) -> statement
-					.returnGeneratedValues(method.getCommand().getIdColumn()).execute());
+	public <T> Mono<T> selectBatched(R2dbcMapperMethod method, Object key) {
+		BatchLoader loader = batchLoaders.get(method);
+		if (loader == null) {
+			BatchSelect batchSelect = method.getMethod().getBatchSelect();
+			loader = batchLoaders.computeIfAbsent(method, m -> new BatchLoader(batchSelect.window(),
+					batchSelect.maxSize(), keys -> selectKeyed(m, keys)));
 		}
+		BatchLoader batchLoader = loader;
+		Mono<T> result = key == null ? Mono.empty()
+				: isTransactionActive().flatMap(active -> active
+						? executeSelectOne(method,
+								bind(method, method.getMethod().getNamedParameter(new Object[] { key })))
+						: batchLoader.load(key));
+		return observe(method, null, result);
+	}
 
-		Mono<T> result = null;
-		if (method.getCommand().isRetrieveId()) {
-			result = (Mono<T>) sql.fetch().first().map(row -> row.get(method.getCommand().getIdColumn()));
-		} else {
-			result = (Mono<T>) sql.fetch().rowsUpdated();
-		}
-		return result;
+	private Flux<Object[]> selectKeyed(R2dbcMapperMethod method, List<Object> keys) {
+		// keys may belong to any shard
+		return routeMany(method, null, client -> selectKeyed(client, method, keys));
+	}
+
+	private Flux<Object[]> selectKeyed(DatabaseClient client, R2dbcMapperMethod method, List<Object> keys) {
+		R2dbcMapperMethod batchMethod = method.getBatchSelectMethod();
+		GenericExecuteSpec sql = prepare(client, batchMethod,
+				bind(batchMethod, method.getMethod().getNamedParameter(new Object[] { keys })));
+		String keyColumn = method.getMethod().getBatchSelect().keyColumn();
+		Class<?> keyType = method.getMethod().getKeyType();
+		BiFunction<Row, RowMetadata, ?> mapper = rowMapper(batchMethod);
+		BiFunction<Row, RowMetadata, ?> rowMapper = mapper != null ? mapper : ColumnMapRowMapper.INSTANCE;
+		return sql.map((row, rowMetadata) -> new Object[] { row.get(keyColumn, keyType),
+				rowMapper.apply(row, rowMetadata) }).all();
+	}
+
+	@Override
+	public <T> Mono<T> insert(R2dbcMapperMethod method, Object params) {
+		return observe(method, params, executeInsert(method, bind(method, params)));
+	}
+
+	private <T> Mono<T> executeInsert(R2dbcMapperMethod method, Object params) {
+		Mono<T> result = Mono.defer(() -> {
+			GenericExecuteSpec sql = prepare(method, params);
+			if (method.getCommand().isRetrieveId()) {
+				sql = sql.filter((statement, executeFunction) -> statement
+						.returnGeneratedValues(method.getCommand().getIdColumn()).execute());
+				return (Mono<T>) sql.map(generatedIdMapper(method)).first();
+			}
+			return (Mono<T>) sql.fetch().rowsUpdated();
+		});
+		return invalidateCache(method, outsideTransaction(method, result));
 	}
 
 	@Override
 	public Mono<Integer> update(R2dbcMapperMethod method, Object params) {
-		log.info("Executing update statment for: {}", method.getCommand().getStatement());
-		GenericExecuteSpec sql = new R2dbcPreparedStatement(databaseClient, method).parameterize(params);
-		return sql.fetch().rowsUpdated();
+		return observe(method, params, executeUpdate(method, bind(method, params)));
 	}
 
 	@Override
 	public Mono<Integer> delete(R2dbcMapperMethod method, Object params) {
-		log.info("Executing delete statment for: {}", method.getCommand().getStatement());
-		GenericExecuteSpec sql = new R2dbcPreparedStatement(databaseClient, method).parameterize(params);
-		return sql.fetch().rowsUpdated();
-	}
-
-//	private GenericExecuteSpec getExecuteSpec(R2dbcMapperMethod method, Object[] params) {
-//		GenericExecuteSpec sql = databaseClient.sql(method.getCommand().getStatement());
-//		if (params != null && params.length > 0) {
-//			log.info("Passing parameters: {}", Arrays.toString(params));
-//			String[] paramNames = method.getMethod().getParamNameResolver().getNames();
-//			if (paramNames.length > 0 && paramNames.length == params.length) {
-//				for (int i = 0; i < params.length; i++) {
-//					PropertyTokenizer tokenizer = method.getCommand().getPropertyMapper().get(paramNames[i]);
-//					if (tokenizer != null) {
-//						Object paramValue = ParamObject.forObject(params[i]).getValue(tokenizer);
-//						if (paramValue != null) {
-//							sql = sql.bind(tokenizer.getOriginalProperty(), paramValue);
-//						} else {
-//							sql = sql.bindNull(tokenizer.getOriginalProperty(), params[i].getClass());
-//						}
-//					} else {
-//						sql = sql.bind(paramNames[i], params[i]);
-//					}
-//				}
-//			} else {
-//				for (int i = 0; i < params.length; i++) {
-//					sql = sql.bind(i, params[i]);
-//				}
-//			}
-//		}
-//		return sql;
-//	}
+		return observe(method, params, executeUpdate(method, bind(method, params)));
+	}
+
+	private Mono<Integer> executeUpdate(R2dbcMapperMethod method, Object params) {
+		Mono<Integer> result = Mono.defer(() -> prepare(method, params).fetch().rowsUpdated());
+		return invalidateCache(method, outsideTransaction(method, result));
+	}
+
+	@Override
+	public <T> Flux<T> batch(R2dbcMapperMethod method, Publisher<?> params) {
+		int batchSize = method.getMethod().getBatchSize() > 0 ? method.getMethod().getBatchSize()
+				: configuration.getDefaultBatchSize();
+		if (isMultiRow(method)) {
+			int maxParameters = method.getMethod().getMaxParameters() > 0 ? method.getMethod().getMaxParameters()
+					: configuration.getMaxBindParameters();
+			int rowParameters = method.getCommand().getExpandedSql(configuration.getBindMarkersFactory(), 1)
+					.getBindMarkerCount();
+			batchSize = Math.min(batchSize, Math.max(1, maxParameters / Math.max(1, rowParameters)));
+		}
+		Flux<T> result = Flux.from(params).buffer(batchSize).concatMap(chunk -> executeBatch(method, chunk));
+		return observe(method, null, invalidateCache(method, result));
+	}
+
+	private <T> Flux<T> executeBatch(R2dbcMapperMethod method, List<?> params) {
+		InterceptorChain interceptors = configuration.getInterceptorChain();
+		if (!interceptors.isEmpty()) {
+			params = Arrays.asList(params.stream().map(param -> interceptors.bind(method, param)).toArray());
+		}
+		if (configuration.getShardRouter() == null || !method.getMethod().hasShardKey()) {
+			return executeBatch(databaseClient, method, params);
+		}
+		List<?> elements = params;
+		return outsideTransaction(method, Flux.defer(() -> {
+			Map<DatabaseClient, List<Object>> shards = new LinkedHashMap<>();
+			for (Object param : elements) {
+				shards.computeIfAbsent(client(method, param), client -> new ArrayList<>()).add(param);
+			}
+			return Flux.fromIterable(shards.entrySet())
+					.concatMap(shard -> executeBatch(shard.getKey(), method, shard.getValue()));
+		}));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Flux<T> executeBatch(DatabaseClient client, R2dbcMapperMethod method, List<?> params) {
+		if (configuration.getBindMarkersFactory() == null) {
+			// statements can't be bound by marker, execute one by one
+			return Flux.fromIterable(params).concatMap(param -> method.getCommand().getType() == SqlCommandType.INSERT
+					? executeInsert(method, param)
+					: (Mono<T>) prepare(method, param).fetch().rowsUpdated());
+		}
+		R2dbcPreparedStatement prepared = new R2dbcPreparedStatement(client, configuration.getBindMarkersFactory(),
+				method);
+		SqlCommand command = method.getCommand();
+		InterceptorChain interceptors = configuration.getInterceptorChain();
+		if (!interceptors.isEmpty()) {
+			GenericExecuteSpec sql = interceptors.prepare(method,
+					prepared.parameterizeBatchSpec(params, isMultiRow(method)));
+			return command.isRetrieveId() ? executeBatchRetrievingIds(sql, method) : executeBatchCounting(sql);
+		}
+		Function<Connection, Statement> statement = prepared.parameterizeBatch(params, isMultiRow(method));
+		return client.inConnectionMany(connection -> {
+			Statement sql = statement.apply(connection);
+			if (command.isRetrieveId()) {
+				BiFunction<Row, RowMetadata, ?> mapper = generatedIdMapper(method);
+				return Flux.from(sql.returnGeneratedValues(command.getIdColumn()).execute())
+						.concatMap(result -> result.map((row, rowMetadata) -> (T) mapper.apply(row, rowMetadata)));
+			}
+			return Flux.from(sql.execute()).concatMap(result -> (Publisher<T>) result.getRowsUpdated());
+		});
+	}
+
+	/**
+	 * Executes an intercepted batch through {@link DatabaseClient}, returning the
+	 * generated id of every row.
+	 */
+	private <T> Flux<T> executeBatchRetrievingIds(GenericExecuteSpec sql, R2dbcMapperMethod method) {
+		String idColumn = method.getCommand().getIdColumn();
+		return (Flux<T>) sql.filter(statement -> statement.returnGeneratedValues(idColumn))
+				.map(generatedIdMapper(method)).all();
+	}
+
+	/**
+	 * Executes an intercepted batch through {@link DatabaseClient}, returning the
+	 * update count of every element. {@link DatabaseClient} only sums update
+	 * counts, so they are read by the innermost filter.
+	 */
+	private <T> Flux<T> executeBatchCounting(GenericExecuteSpec sql) {
+		return Flux.defer(() -> {
+			List<Integer> counts = new ArrayList<>();
+			return sql.filter((statement, next) -> Flux.from(next.execute(statement))
+					.concatMap(result -> Mono.from(result.getRowsUpdated()).doOnNext(counts::add).map(UpdateCount::new)))
+					.fetch().rowsUpdated().thenMany(Flux.fromIterable((List<T>) counts));
+		});
+	}
+
+	/**
+	 * Returns whether batches of a method are sent as multi-row statements. Ids
+	 * are only retrieved by a multi-row statement if the database returns
+	 * generated values of every row.
+	 */
+	private boolean isMultiRow(R2dbcMapperMethod method) {
+		return method.getMethod().isMultiRow() && configuration.getBindMarkersFactory() != null
+				&& (!method.getCommand().isRetrieveId() || configuration.isMultiRowGeneratedValues());
+	}
+
+	@Override
+	public <T> Flux<T> inTransaction(TransactionDefinition definition,
+			Function<R2dbcSqlSession, ? extends Publisher<T>> action) {
+		notNull(definition, "TransactionDefinition must not be null");
+		notNull(action, "Transaction action must not be null");
+		// DatabaseClient joins the connection bound to the transaction context, so
+		// all statements of the action share one connection
+		return TransactionalOperator.create(configuration.getTransactionManager(), definition)
+				.execute(status -> action.apply(this));
+	}
+
+	private <T> Mono<T> observe(R2dbcMapperMethod method, Object params, Mono<T> result) {
+		InterceptorChain interceptors = configuration.getInterceptorChain();
+		if (!interceptors.isEmpty()) {
+			result = interceptors.execute(method, params, result);
+		}
+		SlowQueryDetector detector = configuration.getSlowQueryDetector();
+		Mono<T> detected = detector != null ? detector.detect(method, params, result) : result;
+		return configuration.getMapperMetrics().record(method,
+				configuration.getStatementLogger().log(method, params, detected));
+	}
+
+	private <T> Flux<T> observe(R2dbcMapperMethod method, Object params, Flux<T> result) {
+		InterceptorChain interceptors = configuration.getInterceptorChain();
+		if (!interceptors.isEmpty()) {
+			result = interceptors.execute(method, params, result);
+		}
+		SlowQueryDetector detector = configuration.getSlowQueryDetector();
+		Flux<T> detected = detector != null ? detector.detect(method, params, result) : result;
+		return configuration.getMapperMetrics().record(method,
+				configuration.getStatementLogger().log(method, params, detected));
+	}
+
+	private Object parameterKey(R2dbcMapperMethod method, Object params) {
+		return Arrays.asList(method.getBindingPlan().resolve(params));
+	}
+
+	/**
+	 * Invalidates cached results of the method's mapper once a write terminates.
+	 * Within a transaction, results are invalidated after commit instead:
+	 * invalidating before commit would let concurrent reads cache rows the
+	 * transaction is about to change. Reads within a transaction bypass the
+	 * cache, so uncommitted rows are never cached.
+	 */
+	private <T> Mono<T> invalidateCache(R2dbcMapperMethod method, Mono<T> write) {
+		if (!configuration.hasCacheNamespace(method.getMethod().getMapperInterface())) {
+			return write;
+		}
+		return invalidateAfterCommit(method)
+				.flatMap(registered -> registered ? write : write.doFinally(signal -> invalidateCache(method)));
+	}
+
+	private <T> Flux<T> invalidateCache(R2dbcMapperMethod method, Flux<T> write) {
+		if (!configuration.hasCacheNamespace(method.getMethod().getMapperInterface())) {
+			return write;
+		}
+		return invalidateAfterCommit(method)
+				.flatMapMany(registered -> registered ? write : write.doFinally(signal -> invalidateCache(method)));
+	}
+
+	/**
+	 * Registers invalidation of cached results of the method's mapper after
+	 * commit of the current transaction.
+	 * 
+	 * @return Mono of whether the call is part of a transaction
+	 */
+	private Mono<Boolean> invalidateAfterCommit(R2dbcMapperMethod method) {
+		return TransactionSynchronizationManager.forCurrentTransaction()
+				.filter(TransactionSynchronizationManager::isSynchronizationActive).map(synchronization -> {
+					synchronization.registerSynchronization(new TransactionSynchronization() {
+						@Override
+						public Mono<Void> afterCommit() {
+							return Mono.fromRunnable(() -> invalidateCache(method));
+						}
+					});
+					return Boolean.TRUE;
+				}).onErrorReturn(NoTransactionException.class, Boolean.FALSE).defaultIfEmpty(Boolean.FALSE);
+	}
+
+	private void invalidateCache(R2dbcMapperMethod method) {
+		configuration.invalidateCache(method.getMethod().getMapperInterface());
+	}
+
+	/**
+	 * Executes a select on the shard of its shard key, if the method has one.
+	 * Otherwise executes it on a replica unless no replicas are configured, the
+	 * method reads from primary or the call is part of a transaction.
+	 */
+	private <T> Mono<T> route(R2dbcMapperMethod method, Object params, Function<DatabaseClient, Mono<T>> query) {
+		if (configuration.getShardRouter() != null && method.getMethod().hasShardKey()) {
+			return outsideTransaction(method, Mono.defer(() -> query.apply(client(method, params))));
+		}
+		ReplicaRouter router = configuration.getReplicaRouter();
+		if (router == null || method.getMethod().isReadPrimary()) {
+			return query.apply(databaseClient);
+		}
+		return isTransactionActive().flatMap(active -> active ? query.apply(databaseClient) : router.route(query));
+	}
+
+	/**
+	 * Like {@link #route(R2dbcMapperMethod, Object, Function)}, but executes
+	 * selects with a {@code null} shard key value on all shards and merges their
+	 * rows.
+	 */
+	private <T> Flux<T> routeMany(R2dbcMapperMethod method, Object params, Function<DatabaseClient, Flux<T>> query) {
+		ShardRouter shards = configuration.getShardRouter();
+		if (shards != null && method.getMethod().hasShardKey()) {
+			Object key = method.getMethod().getShardKey(params);
+			return outsideTransaction(method, key != null ? Flux.defer(() -> query.apply(shards.route(key)))
+					: Flux.fromIterable(shards.getShards()).flatMap(query, shards.getShards().size()));
+		}
+		ReplicaRouter router = configuration.getReplicaRouter();
+		if (router == null || method.getMethod().isReadPrimary()) {
+			return query.apply(databaseClient);
+		}
+		return isTransactionActive()
+				.flatMapMany(active -> active ? query.apply(databaseClient) : router.routeMany(query));
+	}
+
+	/**
+	 * Fails a statement routed by shard key if it is part of a transaction.
+	 * Transactions are bound to a connection of the primary database, shards
+	 * would execute the statement outside of it.
+	 */
+	private <T> Mono<T> outsideTransaction(R2dbcMapperMethod method, Mono<T> statement) {
+		if (configuration.getShardRouter() == null || !method.getMethod().hasShardKey()) {
+			return statement;
+		}
+		return isTransactionActive().flatMap(active -> active ? Mono.error(shardedInTransaction(method)) : statement);
+	}
+
+	private <T> Flux<T> outsideTransaction(R2dbcMapperMethod method, Flux<T> statement) {
+		if (configuration.getShardRouter() == null || !method.getMethod().hasShardKey()) {
+			return statement;
+		}
+		return isTransactionActive().flatMapMany(active -> active ? Flux.error(shardedInTransaction(method)) : statement);
+	}
+
+	private static R2dbcQueryException shardedInTransaction(R2dbcMapperMethod method) {
+		return new R2dbcQueryException("Method '" + method.getMethod().getName()
+				+ "' with @ShardKey can't be executed within a transaction, shards are not part of it.");
+	}
+
+	private static Mono<Boolean> isTransactionActive() {
+		return TransactionSynchronizationManager.forCurrentTransaction()
+				.map(TransactionSynchronizationManager::isActualTransactionActive)
+				.onErrorReturn(NoTransactionException.class, Boolean.FALSE);
+	}
+
+	/**
+	 * Returns the shard of the call's shard key, or the primary database if the
+	 * method has no shard key. Throws for a {@code null} key or a key the
+	 * strategy can't route, so callers invoke it within a deferred publisher.
+	 */
+	private DatabaseClient client(R2dbcMapperMethod method, Object params) {
+		ShardRouter shards = configuration.getShardRouter();
+		if (shards == null || !method.getMethod().hasShardKey()) {
+			return databaseClient;
+		}
+		Object key = method.getMethod().getShardKey(params);
+		if (key == null) {
+			throw new R2dbcQueryException(
+					"Shard key of method '" + method.getMethod().getName() + "' must not be null.");
+		}
+		return shards.route(key);
+	}
+
+	private GenericExecuteSpec prepare(R2dbcMapperMethod method, Object params) {
+		return prepare(client(method, params), method, params);
+	}
+
+	/**
+	 * Returns the named parameters of a call replaced by interceptors. Calls bind
+	 * once, before parameter values are used as keys of cached, coalesced or
+	 * routed selects.
+	 */
+	private Object bind(R2dbcMapperMethod method, Object params) {
+		InterceptorChain interceptors = configuration.getInterceptorChain();
+		return interceptors.isEmpty() ? params : interceptors.bind(method, params);
+	}
+
+	/**
+	 * Returns the statement of a call, decorated by interceptors. Parameters are
+	 * already bound by {@link #bind(R2dbcMapperMethod, Object)}.
+	 */
+	private GenericExecuteSpec prepare(DatabaseClient client, R2dbcMapperMethod method, Object params) {
+		GenericExecuteSpec spec = new R2dbcPreparedStatement(configuration, client, method).parameterize(params);
+		InterceptorChain interceptors = configuration.getInterceptorChain();
+		return interceptors.isEmpty() ? spec : interceptors.prepare(method, spec);
+	}
+
+	/**
+	 * Returns the row mapper of a select, decorated by interceptors. Interceptors
+	 * see a {@link ColumnMapRowMapper} for selects without a result map.
+	 */
+	private BiFunction<Row, RowMetadata, ?> rowMapper(R2dbcMapperMethod method) {
+		BiFunction<Row, RowMetadata, ?> mapper = method.getRowMapper(configuration);
+		InterceptorChain interceptors = configuration.getInterceptorChain();
+		if (interceptors.isEmpty()) {
+			return mapper;
+		}
+		return interceptors.mapRow(method, mapper != null ? mapper : ColumnMapRowMapper.INSTANCE);
+	}
+
+	/**
+	 * Returns the row mapper of generated ids of an insert, decorated by
+	 * interceptors.
+	 */
+	private BiFunction<Row, RowMetadata, ?> generatedIdMapper(R2dbcMapperMethod method) {
+		String idColumn = method.getCommand().getIdColumn();
+		BiFunction<Row, RowMetadata, ?> mapper = (row, rowMetadata) -> row.get(idColumn);
+		InterceptorChain interceptors = configuration.getInterceptorChain();
+		return interceptors.isEmpty() ? mapper : interceptors.mapRow(method, mapper);
+	}
+
+	/**
+	 * Result of a batch element whose update count was already read.
+	 */
+	private static final class UpdateCount implements Result {
+
+		private final Integer count;
+
+		UpdateCount(Integer count) {
+			this.count = count;
+		}
+
+		@Override
+		public Publisher<Integer> getRowsUpdated() {
+			return Mono.just(count);
+		}
+
+		@Override
+		public <T> Publisher<T> map(BiFunction<Row, RowMetadata, ? extends T> mappingFunction) {
+			return Flux.empty();
+		}
+	}
 }
@@ -1,11 +1,22 @@
 package org.reactive.r2dbc.iclient.core;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
+import org.reactive.r2dbc.iclient.exception.R2dbcConnectionException;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperProxyFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Default implementation of {@link R2dbcSqlSessionFactory}.
@@ -14,12 +25,23 @@ import io.r2dbc.spi.ConnectionFactory;
  */
 class DefaultR2dbcSqlSessionFactory implements R2dbcSqlSessionFactory {
 
+	private static Logger log = LoggerFactory.getLogger(DefaultR2dbcSqlSessionFactory.class);
+
 	private final R2dbcConfiguration configuration;
 	private final ConnectionFactory connectionFactory;
+	private final List<ConnectionFactory> secondaries;
 	private final R2dbcSqlSession r2dbcSqlSession;
+	private volatile boolean warmedUp;
+	private volatile Throwable warmUpFailure;
 
 	public DefaultR2dbcSqlSessionFactory(ConnectionFactory connectionFactory, R2dbcConfiguration configuration) {
+		this(connectionFactory, Collections.emptyList(), configuration);
+	}
+
+	public DefaultR2dbcSqlSessionFactory(ConnectionFactory connectionFactory, List<ConnectionFactory> secondaries,
+			R2dbcConfiguration configuration) {
 		this.connectionFactory = connectionFactory;
+		this.secondaries = secondaries;
 		this.configuration = configuration;
 		this.r2dbcSqlSession = new DefaultR2dbcSqlSession(configuration);
 	}
@@ -39,10 +61,63 @@ class DefaultR2dbcSqlSessionFactory implements R2dbcSqlSessionFactory {
 		return connectionFactory;
 	}
 
+	@Override
+	public Mono<Void> validate() {
+		return Flux.concat(Mono.just(connectionFactory), Flux.fromIterable(secondaries))
+				.flatMap(DefaultR2dbcSqlSessionFactory::validate).then();
+	}
+
+	@Override
+	public Mono<Integer> warmUp() {
+		return validate().then(Mono.fromCallable(() -> {
+			int prepared = 0;
+			for (R2dbcMapperProxyFactory<?> mapper : new ArrayList<>(configuration.getMappers())) {
+				prepared += mapper.prepare(configuration);
+			}
+			return prepared;
+		})).doOnNext(prepared -> log.debug("Prepared {} mapper methods.", prepared))
+				.thenMany(Flux.concat(Mono.just(connectionFactory), Flux.fromIterable(secondaries)))
+				.ofType(ConnectionPool.class).flatMap(ConnectionPool::warmup).reduce(0, Integer::sum)
+				.doOnNext(connections -> {
+					log.debug("Opened {} pooled connections.", connections);
+					warmUpFailure = null;
+					warmedUp = true;
+				}).doOnError(ex -> warmUpFailure = ex);
+	}
+
+	/**
+	 * Validates the database connection, closing the connection afterwards so a
+	 * pooled connection is returned to the pool.
+	 */
+	private static Mono<Void> validate(ConnectionFactory connectionFactory) {
+		return Mono.usingWhen(connectionFactory.create(),
+				connection -> Mono.from(connection.validate(ValidationDepth.REMOTE)), Connection::close)
+				.onErrorMap(ex -> new R2dbcConnectionException("Issue connecting database.", ex))
+				.flatMap(valid -> valid ? Mono.<Void>empty()
+						: Mono.error(new R2dbcConnectionException(
+								"Issue connecting database. Connection validation failed.")));
+	}
+
+	@Override
+	public boolean isWarmedUp() {
+		return warmedUp;
+	}
+
+	@Override
+	public Throwable getWarmUpFailure() {
+		return warmUpFailure;
+	}
+
 	@Override
 	public void close() throws IOException {
-		if (this.connectionFactory instanceof ConnectionPool) {
-			ConnectionPool connectionPool = ((ConnectionPool) this.connectionFactory);
+		dispose(connectionFactory);
+		// replicas or shards
+		secondaries.forEach(DefaultR2dbcSqlSessionFactory::dispose);
+	}
+
+	private static void dispose(ConnectionFactory connectionFactory) {
+		if (connectionFactory instanceof ConnectionPool) {
+			ConnectionPool connectionPool = ((ConnectionPool) connectionFactory);
 			if (!connectionPool.isDisposed()) {
 				connectionPool.dispose();
 			}
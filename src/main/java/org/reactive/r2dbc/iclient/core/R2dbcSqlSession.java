@@ -1,6 +1,10 @@
 package org.reactive.r2dbc.iclient.core;
 
+import java.util.function.Function;
+
 import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.reactivestreams.Publisher;
+import org.springframework.transaction.TransactionDefinition;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -57,6 +61,17 @@ public interface R2dbcSqlSession {
 	 */
 	<T> Flux<T> select(R2dbcMapperMethod method, Object params);
 
+	/**
+	 * Retrieve a single row of a key, batched with concurrent calls of the same
+	 * mapper method into its {@code @BatchSelect} statement.
+	 * 
+	 * @param Mono<T> Mono of the returned object type
+	 * @param mapper  method signature
+	 * @param key     the key parameter of the call
+	 * @return Mono of mapped object
+	 */
+	<T> Mono<T> selectBatched(R2dbcMapperMethod method, Object key);
+
 	/**
 	 * Execute an insert statement.
 	 * 
@@ -115,4 +130,41 @@ public interface R2dbcSqlSession {
 	 * @return Mono<Integer> The number of rows affected by the delete.
 	 */
 	Mono<Integer> delete(R2dbcMapperMethod method, Object params);
+
+	/**
+	 * Execute an insert, update or delete statement once per parameter object,
+	 * binding parameters in batches.
+	 * 
+	 * @param mapper method signature.
+	 * @param params Publisher of parameter objects, one per execution.
+	 * @return Flux<T> The number of rows affected or resulted column per
+	 *         parameter object.
+	 */
+	<T> Flux<T> batch(R2dbcMapperMethod method, Publisher<?> params);
+
+	/**
+	 * Executes mapper calls of given action in a transaction with default
+	 * settings. See {@link #inTransaction(TransactionDefinition, Function)}.
+	 * 
+	 * @param action creates the Publisher of mapper calls
+	 * @return Flux<T> of the action's results
+	 */
+	default <T> Flux<T> inTransaction(Function<R2dbcSqlSession, ? extends Publisher<T>> action) {
+		return inTransaction(TransactionDefinition.withDefaults(), action);
+	}
+
+	/**
+	 * Executes mapper calls of given action in a transaction on a single
+	 * connection of the primary database. The transaction commits when the
+	 * action's Publisher completes and rolls back on error or cancellation. Mapper
+	 * calls must be subscribed as part of the returned Publisher to join the
+	 * transaction. Methods with a {@code @ShardKey} fail within a transaction, as
+	 * shards are not part of it.
+	 * 
+	 * @param definition isolation level, read-only hint, timeout and propagation
+	 * @param action     creates the Publisher of mapper calls
+	 * @return Flux<T> of the action's results
+	 */
+	<T> Flux<T> inTransaction(TransactionDefinition definition,
+			Function<R2dbcSqlSession, ? extends Publisher<T>> action);
 }
@@ -5,6 +5,7 @@ import java.io.Closeable;
 import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
 
 import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Mono;
 
 /**
  * Creates an {@link R2dbcSqlSession} out of a {@link ConnectionFactory}.
@@ -18,4 +19,33 @@ public interface R2dbcSqlSessionFactory extends Closeable{
 	R2dbcConfiguration getConfiguration();
 	
 	ConnectionFactory getConnectionFactory();
+
+	/**
+	 * Validates a connection of the primary, replica and shard databases without
+	 * blocking, e.g. to fail fast on startup.
+	 * 
+	 * @return Mono completing once all databases are validated, or failing with
+	 *         {@code R2dbcConnectionException}
+	 */
+	Mono<Void> validate();
+
+	/**
+	 * Validates a connection of every database, prepares statements of all
+	 * registered mappers and opens the configured initial connections of all
+	 * connection pools concurrently.
+	 * 
+	 * @return Mono of the number of connections opened
+	 */
+	Mono<Integer> warmUp();
+
+	/**
+	 * Returns whether {@link #warmUp()} completed.
+	 */
+	boolean isWarmedUp();
+
+	/**
+	 * Returns the error of the last failed {@link #warmUp()}, e.g. a database
+	 * that can't be connected, or {@code null}.
+	 */
+	Throwable getWarmUpFailure();
 }
@@ -1,39 +1,137 @@
 package org.reactive.r2dbc.iclient.core;
 
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notEmpty;
+import static org.springframework.util.Assert.notNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.reactive.r2dbc.iclient.annotation.ShardKey;
 import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
-import org.reactive.r2dbc.iclient.exception.R2dbcConnectionException;
+import org.reactive.r2dbc.iclient.routing.ReplicaRouter;
+import org.reactive.r2dbc.iclient.routing.ReplicaRouter.Strategy;
+import org.reactive.r2dbc.iclient.routing.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver.NoBindMarkersFactoryException;
 
-import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactory;
-import io.r2dbc.spi.ValidationDepth;
 import reactor.core.publisher.Mono;
 
 /**
  * Builder class to create {@link R2dbcSqlSessionFactory} using
- * {@link ConnectionFactory}.
+ * {@link ConnectionFactory}. Building does not block on the database;
+ * connections are validated by {@link #validate(R2dbcSqlSessionFactory)} or
+ * {@link R2dbcSqlSessionFactory#warmUp()}.
  * 
  * @author Bhautik Bhanani
  */
 public class R2dbcSqlSessionFactoryBuilder {
 
-	@SuppressWarnings("unchecked")
+	private static Logger log = LoggerFactory.getLogger(R2dbcSqlSessionFactoryBuilder.class);
+
 	public static R2dbcSqlSessionFactory build(ConnectionFactory connectionFactory) {
+		return build(connectionFactory, Collections.emptyList(), Strategy.ROUND_ROBIN);
+	}
+
+	/**
+	 * Builds a session factory executing selects on replicas, and inserts,
+	 * updates, deletes and selects within transactions on the primary database.
+	 * Replicas must be of the same database type as the primary.
+	 * 
+	 * @param connectionFactory primary {@link ConnectionFactory}
+	 * @param replicas          replica {@link ConnectionFactory}s
+	 * @param strategy          how a replica is chosen per select
+	 * @return R2dbcSqlSessionFactory
+	 */
+	public static R2dbcSqlSessionFactory build(ConnectionFactory connectionFactory, List<ConnectionFactory> replicas,
+			Strategy strategy) {
+		notNull(replicas, "Replica ConnectionFactory list must not be null");
 
-		// Validating Database connection. Application wasn't getting terminated without
-		// block() call.
-		Mono<Connection> conn = (Mono<Connection>) connectionFactory.create();
-		conn.map(c -> c.validate(ValidationDepth.REMOTE))
-				.onErrorMap(ex -> new R2dbcConnectionException("Issue connecting database.", ex)).block();
+		DatabaseClient databaseClient = databaseClient(connectionFactory);
 
-		DatabaseClient databaseClient = DatabaseClient.builder().connectionFactory(connectionFactory)
-				.namedParameters(true).build();
+		R2dbcConfiguration configuration = new R2dbcConfiguration(databaseClient,
+				resolveBindMarkers(connectionFactory));
 
-		R2dbcConfiguration configuration = new R2dbcConfiguration(databaseClient);
+		if (!replicas.isEmpty()) {
+			configuration.setReplicaRouter(new ReplicaRouter(databaseClients(connectionFactory, replicas), strategy));
+		}
 
-		R2dbcSqlSessionFactory sessionFactory = new DefaultR2dbcSqlSessionFactory(connectionFactory, configuration);
+		R2dbcSqlSessionFactory sessionFactory = new DefaultR2dbcSqlSessionFactory(connectionFactory, replicas,
+				configuration);
 
 		return sessionFactory;
 	}
 
+	/**
+	 * Builds a session factory executing statements of methods with a
+	 * {@link ShardKey} on the shard of the key, and all other statements on the
+	 * primary database. Flux selects without a shard key are executed on all
+	 * shards. Shards must be of the same database type as the primary, which may
+	 * also be one of the shards.
+	 * 
+	 * @param connectionFactory primary {@link ConnectionFactory}
+	 * @param shards            shard {@link ConnectionFactory}s, in shard order
+	 * @param strategy          how a shard is chosen by shard key
+	 * @return R2dbcSqlSessionFactory
+	 */
+	public static R2dbcSqlSessionFactory buildSharded(ConnectionFactory connectionFactory,
+			List<ConnectionFactory> shards, ShardRouter.Strategy strategy) {
+		notEmpty(shards, "At least one shard ConnectionFactory is required");
+
+		R2dbcConfiguration configuration = new R2dbcConfiguration(databaseClient(connectionFactory),
+				resolveBindMarkers(connectionFactory));
+		configuration.setShardRouter(new ShardRouter(databaseClients(connectionFactory, shards), strategy));
+
+		return new DefaultR2dbcSqlSessionFactory(connectionFactory, shards, configuration);
+	}
+
+	/**
+	 * Validates a connection of every database of a built session factory without
+	 * blocking, to fail fast outside of Spring, e.g.
+	 * {@code validate(build(connectionFactory)).block(timeout)} on startup.
+	 * 
+	 * @param sessionFactory built {@link R2dbcSqlSessionFactory}
+	 * @return Mono of the session factory once validated, or failing with
+	 *         {@code R2dbcConnectionException}
+	 */
+	public static Mono<R2dbcSqlSessionFactory> validate(R2dbcSqlSessionFactory sessionFactory) {
+		notNull(sessionFactory, "R2dbcSqlSessionFactory must not be null");
+		return sessionFactory.validate().thenReturn(sessionFactory);
+	}
+
+	private static List<DatabaseClient> databaseClients(ConnectionFactory primary,
+			List<ConnectionFactory> connectionFactories) {
+		List<DatabaseClient> databaseClients = new ArrayList<>();
+		for (ConnectionFactory connectionFactory : connectionFactories) {
+			if (connectionFactory == primary) {
+				databaseClients.add(databaseClient(primary));
+				continue;
+			}
+			isTrue(connectionFactory.getMetadata().getName().equals(primary.getMetadata().getName()),
+					"Database type must match primary database type '" + primary.getMetadata().getName() + "'");
+			databaseClients.add(databaseClient(connectionFactory));
+		}
+		return databaseClients;
+	}
+
+	private static DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+		return DatabaseClient.builder().connectionFactory(connectionFactory).namedParameters(true).build();
+	}
+
+	private static BindMarkersFactory resolveBindMarkers(ConnectionFactory connectionFactory) {
+		try {
+			return BindMarkersFactoryResolver.resolve(connectionFactory);
+		} catch (NoBindMarkersFactoryException e) {
+			log.warn("No bind markers found for '{}'. Falling back to named parameters of DatabaseClient.",
+					connectionFactory.getMetadata().getName());
+			return null;
+		}
+	}
+
 }
@@ -0,0 +1,49 @@
+package org.reactive.r2dbc.iclient.health;
+
+import org.reactive.r2dbc.iclient.core.R2dbcSqlSessionFactory;
+import org.springframework.boot.actuate.health.AbstractReactiveHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import reactor.core.publisher.Mono;
+
+/**
+ * Health of the primary database of a {@link R2dbcSqlSessionFactory}. Reports
+ * {@code OUT_OF_SERVICE} until warm-up completed and {@code DOWN} if it failed,
+ * then validates a connection and adds pool usage as details.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class R2dbcSqlSessionHealthIndicator extends AbstractReactiveHealthIndicator {
+
+	private final R2dbcSqlSessionFactory sessionFactory;
+
+	public R2dbcSqlSessionHealthIndicator(R2dbcSqlSessionFactory sessionFactory) {
+		super("R2DBC health check failed");
+		this.sessionFactory = sessionFactory;
+	}
+
+	@Override
+	protected Mono<Health> doHealthCheck(Health.Builder builder) {
+		ConnectionFactory connectionFactory = sessionFactory.getConnectionFactory();
+		builder.withDetail("database", connectionFactory.getMetadata().getName());
+		if (sessionFactory.getWarmUpFailure() != null) {
+			return Mono.just(builder.down(sessionFactory.getWarmUpFailure()).withDetail("warmUp", "failed").build());
+		}
+		if (!sessionFactory.isWarmedUp()) {
+			return Mono.just(builder.outOfService().withDetail("warmUp", "in progress").build());
+		}
+		if (connectionFactory instanceof ConnectionPool) {
+			((ConnectionPool) connectionFactory).getMetrics().ifPresent(metrics -> builder
+					.withDetail("acquired", metrics.acquiredSize()).withDetail("idle", metrics.idleSize())
+					.withDetail("pending", metrics.pendingAcquireSize())
+					.withDetail("maxAllocated", metrics.getMaxAllocatedSize()));
+		}
+		return Mono.usingWhen(connectionFactory.create(),
+				connection -> Mono.from(connection.validate(ValidationDepth.REMOTE)), Connection::close)
+				.map(valid -> (valid ? builder.up() : builder.down()).build());
+	}
+}
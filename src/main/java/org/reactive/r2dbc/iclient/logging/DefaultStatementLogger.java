@@ -0,0 +1,145 @@
+package org.reactive.r2dbc.iclient.logging;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.reactive.r2dbc.iclient.mapping.BindingPlan;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link StatementLogger} writing to SLF4J logger
+ * {@code org.reactive.r2dbc.iclient.logging.StatementLogger} at one of the
+ * {@link Level}s.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class DefaultStatementLogger implements StatementLogger {
+
+	private static final Logger log = LoggerFactory.getLogger(StatementLogger.class);
+
+	/**
+	 * What to log.
+	 */
+	public enum Level {
+		/** Log nothing. */
+		OFF,
+		/** Log the statement of one in {@code sampleRate} executions at INFO. */
+		SAMPLED,
+		/** Log statements taking at least {@code slowThreshold} at WARN. */
+		SLOW,
+		/** Log every statement with its bound values and duration at INFO. */
+		FULL
+	}
+
+	private final Level level;
+	private final int sampleRate;
+	private final long slowThresholdNanos;
+
+	public DefaultStatementLogger(Level level, int sampleRate, Duration slowThreshold) {
+		Assert.notNull(level, "Level must not be null");
+		Assert.isTrue(sampleRate > 0, "Sample rate must be greater than 0");
+		Assert.notNull(slowThreshold, "Slow threshold must not be null");
+		this.level = level;
+		this.sampleRate = sampleRate;
+		this.slowThresholdNanos = slowThreshold.toNanos();
+	}
+
+	public static DefaultStatementLogger sampled(int sampleRate) {
+		return new DefaultStatementLogger(Level.SAMPLED, sampleRate, Duration.ZERO);
+	}
+
+	public static DefaultStatementLogger slow(Duration slowThreshold) {
+		return new DefaultStatementLogger(Level.SLOW, 1, slowThreshold);
+	}
+
+	public static DefaultStatementLogger full() {
+		return new DefaultStatementLogger(Level.FULL, 1, Duration.ZERO);
+	}
+
+	public Level getLevel() {
+		return level;
+	}
+
+	@Override
+	public <T> Mono<T> log(R2dbcMapperMethod method, Object params, Mono<T> result) {
+		switch (level) {
+		case SAMPLED:
+			return Mono.defer(() -> {
+				sample(method);
+				return result;
+			});
+		case SLOW:
+		case FULL:
+			return Mono.defer(() -> {
+				long start = System.nanoTime();
+				return result.doFinally(signal -> complete(method, params, start));
+			});
+		default:
+			return result;
+		}
+	}
+
+	@Override
+	public <T> Flux<T> log(R2dbcMapperMethod method, Object params, Flux<T> result) {
+		switch (level) {
+		case SAMPLED:
+			return Flux.defer(() -> {
+				sample(method);
+				return result;
+			});
+		case SLOW:
+		case FULL:
+			return Flux.defer(() -> {
+				long start = System.nanoTime();
+				return result.doFinally(signal -> complete(method, params, start));
+			});
+		default:
+			return result;
+		}
+	}
+
+	private void sample(R2dbcMapperMethod method) {
+		if (log.isInfoEnabled() && ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+			log.info("Executing {} statement of {}: {}", method.getCommand().getName(), method.getMethod().getName(),
+					method.getCommand().getStatement());
+		}
+	}
+
+	private void complete(R2dbcMapperMethod method, Object params, long start) {
+		long elapsed = System.nanoTime() - start;
+		if (level == Level.SLOW) {
+			if (elapsed >= slowThresholdNanos && log.isWarnEnabled()) {
+				log.warn("Slow {} statement of {} took {} ms: {}", method.getCommand().getName(),
+						method.getMethod().getName(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+						method.getCommand().getStatement());
+			}
+		} else if (log.isInfoEnabled()) {
+			log.info("Executed {} statement of {} in {} ms: {} parameters {}", method.getCommand().getName(),
+					method.getMethod().getName(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+					method.getCommand().getStatement(), describe(method.getBindingPlan(), params));
+		}
+	}
+
+	private static String describe(BindingPlan bindingPlan, Object params) {
+		if (params == null || bindingPlan.isEmpty()) {
+			return "[]";
+		}
+		Object[] values = bindingPlan.resolve(params);
+		String[] names = bindingPlan.getNames();
+		StringBuilder description = new StringBuilder("[");
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				description.append(", ");
+			}
+			description.append(names[i]).append('=').append(values[i]);
+		}
+		return description.append(']').toString();
+	}
+}
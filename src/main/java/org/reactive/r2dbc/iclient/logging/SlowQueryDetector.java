@@ -0,0 +1,284 @@
+package org.reactive.r2dbc.iclient.logging;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
+import org.reactive.r2dbc.iclient.mapping.BindingPlan;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.reactive.r2dbc.iclient.type.SqlCommandType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.util.Assert;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Times mapper method executions and publishes a {@link SlowQueryEvent} for
+ * every execution taking at least the threshold. Optionally runs
+ * {@code EXPLAIN} of slow selects on a separate connection of the database the
+ * select ran on and adds the plan to the event, for databases supporting it.
+ * At most {@code maxConcurrentExplains} plans are requested at a time, events
+ * of further slow selects are published without plan.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class SlowQueryDetector {
+
+	private static final Logger log = LoggerFactory.getLogger(SlowQueryDetector.class);
+	private static final String REDACTED = "******";
+	private static final int DEFAULT_MAX_CONCURRENT_EXPLAINS = 2;
+
+	private final R2dbcConfiguration configuration;
+	private final long thresholdNanos;
+	private final SlowQueryListener listener;
+	private final AtomicInteger explaining = new AtomicInteger();
+	private Set<String> redactedProperties = Collections.emptySet();
+	private boolean explain;
+	private int maxConcurrentExplains = DEFAULT_MAX_CONCURRENT_EXPLAINS;
+
+	public SlowQueryDetector(R2dbcConfiguration configuration, Duration threshold, SlowQueryListener listener) {
+		Assert.notNull(configuration, "R2dbcConfiguration must not be null");
+		Assert.notNull(threshold, "Threshold must not be null");
+		Assert.notNull(listener, "SlowQueryListener must not be null");
+		this.configuration = configuration;
+		this.thresholdNanos = threshold.toNanos();
+		this.listener = listener;
+	}
+
+	/**
+	 * Sets property names whose values are replaced in events. A name matches a
+	 * property of the same name at any depth, e.g. {@code password} matches
+	 * {@code user.password}; matching ignores case.
+	 * 
+	 * @param redactedProperties property names to redact
+	 */
+	public void setRedactedProperties(Set<String> redactedProperties) {
+		Set<String> names = new HashSet<>();
+		for (String name : redactedProperties) {
+			names.add(name.toLowerCase(Locale.ROOT));
+		}
+		this.redactedProperties = names;
+	}
+
+	/**
+	 * Sets whether the execution plan of slow selects is added to events.
+	 * 
+	 * @param explain whether to explain slow selects
+	 */
+	public void setExplain(boolean explain) {
+		this.explain = explain;
+	}
+
+	public boolean isExplain() {
+		return explain;
+	}
+
+	/**
+	 * Sets the maximum number of execution plans requested at a time. Defaults to
+	 * {@value #DEFAULT_MAX_CONCURRENT_EXPLAINS}.
+	 * 
+	 * @param maxConcurrentExplains maximum number of concurrent explains
+	 */
+	public void setMaxConcurrentExplains(int maxConcurrentExplains) {
+		Assert.isTrue(maxConcurrentExplains > 0, "Max concurrent explains must be greater than 0");
+		this.maxConcurrentExplains = maxConcurrentExplains;
+	}
+
+	public <T> Mono<T> detect(R2dbcMapperMethod method, Object params, Mono<T> result) {
+		return Mono.defer(() -> {
+			Execution execution = new Execution(method, params);
+			Mono<T> timed = result.doOnNext(execution::onNext).doOnError(execution::onError)
+					.doFinally(signal -> execution.complete());
+			return execution.explained ? timed.contextWrite(Context.of(Execution.class, execution)) : timed;
+		});
+	}
+
+	public <T> Flux<T> detect(R2dbcMapperMethod method, Object params, Flux<T> result) {
+		return Flux.defer(() -> {
+			Execution execution = new Execution(method, params);
+			Flux<T> timed = result.doOnNext(execution::onNext).doOnError(execution::onError)
+					.doFinally(signal -> execution.complete());
+			return execution.explained ? timed.contextWrite(Context.of(Execution.class, execution)) : timed;
+		});
+	}
+
+	/**
+	 * Records the database a select of a detected execution runs on, e.g. a
+	 * replica or shard, so that its plan is explained by the same database.
+	 * 
+	 * @param client    the database of the select
+	 * @param statement the select
+	 * @return the select recording its database
+	 */
+	public <T> Mono<T> executedOn(DatabaseClient client, Mono<T> statement) {
+		if (!explain) {
+			return statement;
+		}
+		return Mono.deferContextual(context -> {
+			context.<Execution>getOrEmpty(Execution.class).ifPresent(execution -> execution.executedOn(client));
+			return statement;
+		});
+	}
+
+	/**
+	 * Like {@link #executedOn(DatabaseClient, Mono)} for selects of many rows.
+	 * 
+	 * @param client    the database of the select
+	 * @param statement the select
+	 * @return the select recording its database
+	 */
+	public <T> Flux<T> executedOn(DatabaseClient client, Flux<T> statement) {
+		if (!explain) {
+			return statement;
+		}
+		return Flux.deferContextual(context -> {
+			context.<Execution>getOrEmpty(Execution.class).ifPresent(execution -> execution.executedOn(client));
+			return statement;
+		});
+	}
+
+	private void publish(R2dbcMapperMethod method, Object params, long rows, long elapsed, Throwable error,
+			DatabaseClient client) {
+		String sql = configuration.getBindMarkersFactory() != null
+				? method.getCommand().getExpandedSql(configuration.getBindMarkersFactory()).getSql()
+				: method.getCommand().getStatement();
+		SlowQueryEvent event = new SlowQueryEvent(method.getMethod().getMapperInterface(),
+				method.getMethod().getName(), method.getCommand().getName(), sql, parameters(method, params), rows,
+				Duration.ofNanos(elapsed), error, null);
+		DatabaseClient explainClient = client != null ? client : configuration.getDatabaseClient();
+		String explainPrefix = explain && method.getCommand().getType() == SqlCommandType.SELECT
+				? explainPrefix(explainClient.getConnectionFactory().getMetadata().getName())
+				: null;
+		if (explainPrefix == null) {
+			listener.onSlowQuery(event);
+			return;
+		}
+		if (!acquireExplain()) {
+			log.debug("Not explaining statement of {}, {} plans are requested already", method.getMethod().getName(),
+					maxConcurrentExplains);
+			listener.onSlowQuery(event);
+			return;
+		}
+		GenericExecuteSpec spec = explainClient.sql(explainPrefix + method.getCommand().getStatement());
+		if (params != null && !method.getBindingPlan().isEmpty()) {
+			spec = method.getBindingPlan().bind(spec, params);
+		}
+		spec.fetch().all().collectList().doFinally(signal -> explaining.decrementAndGet())
+				.subscribe(plan -> listener.onSlowQuery(event.withPlan(plan)), e -> {
+					log.debug("Could not explain statement of {}: {}", method.getMethod().getName(), e.toString());
+					listener.onSlowQuery(event);
+				});
+	}
+
+	private boolean acquireExplain() {
+		int current;
+		do {
+			current = explaining.get();
+			if (current >= maxConcurrentExplains) {
+				return false;
+			}
+		} while (!explaining.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	private Map<String, Object> parameters(R2dbcMapperMethod method, Object params) {
+		BindingPlan bindingPlan = method.getBindingPlan();
+		if (params == null || bindingPlan.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Object[] values = bindingPlan.resolve(params);
+		String[] names = bindingPlan.getNames();
+		Map<String, Object> parameters = new LinkedHashMap<>();
+		for (int i = 0; i < names.length; i++) {
+			parameters.put(names[i], isRedacted(names[i]) ? REDACTED : values[i]);
+		}
+		return parameters;
+	}
+
+	private boolean isRedacted(String property) {
+		if (redactedProperties.isEmpty()) {
+			return false;
+		}
+		String name = property.toLowerCase(Locale.ROOT);
+		int dot = name.lastIndexOf('.');
+		return redactedProperties.contains(name) || redactedProperties.contains(name.substring(dot + 1));
+	}
+
+	/**
+	 * Returns the statement prefix requesting an execution plan, or {@code null}
+	 * if the database is not supported.
+	 */
+	private static String explainPrefix(String databaseName) {
+		String name = databaseName.toLowerCase(Locale.ROOT);
+		if (name.contains("mysql") || name.contains("mariadb") || name.contains("postgres")
+				|| name.contains("h2")) {
+			return "EXPLAIN ";
+		}
+		return null;
+	}
+
+	/**
+	 * Timing and row count of a single subscription.
+	 */
+	private class Execution {
+
+		private final R2dbcMapperMethod method;
+		private final Object params;
+		private final boolean countsRows;
+		private final boolean explained;
+		private final long start = System.nanoTime();
+		private final AtomicLong rows = new AtomicLong();
+		private volatile Throwable error;
+		private volatile DatabaseClient client;
+
+		Execution(R2dbcMapperMethod method, Object params) {
+			this.method = method;
+			this.params = params;
+			this.countsRows = method.getCommand().getType() != SqlCommandType.SELECT
+					&& !method.getCommand().isRetrieveId();
+			this.explained = explain && method.getCommand().getType() == SqlCommandType.SELECT;
+		}
+
+		void executedOn(DatabaseClient client) {
+			// selects of all shards are explained by the first shard
+			if (this.client == null) {
+				this.client = client;
+			}
+		}
+
+		void onNext(Object value) {
+			if (countsRows && value instanceof Integer) {
+				rows.addAndGet((Integer) value);
+			} else {
+				rows.incrementAndGet();
+			}
+		}
+
+		void onError(Throwable e) {
+			error = e;
+		}
+
+		void complete() {
+			long elapsed = System.nanoTime() - start;
+			if (elapsed >= thresholdNanos) {
+				try {
+					publish(method, params, rows.get(), elapsed, error, client);
+				} catch (RuntimeException e) {
+					log.warn("Could not publish slow query of {}: {}", method.getMethod().getName(), e.toString());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package org.reactive.r2dbc.iclient.logging;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A mapper method execution exceeding the slow query threshold.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class SlowQueryEvent {
+
+	private final Class<?> mapperInterface;
+	private final String methodName;
+	private final String commandType;
+	private final String sql;
+	private final Map<String, Object> parameters;
+	private final long rows;
+	private final Duration duration;
+	private final Throwable error;
+	private final List<Map<String, Object>> plan;
+
+	public SlowQueryEvent(Class<?> mapperInterface, String methodName, String commandType, String sql,
+			Map<String, Object> parameters, long rows, Duration duration, Throwable error,
+			List<Map<String, Object>> plan) {
+		this.mapperInterface = mapperInterface;
+		this.methodName = methodName;
+		this.commandType = commandType;
+		this.sql = sql;
+		this.parameters = parameters;
+		this.rows = rows;
+		this.duration = duration;
+		this.error = error;
+		this.plan = plan;
+	}
+
+	SlowQueryEvent withPlan(List<Map<String, Object>> plan) {
+		return new SlowQueryEvent(mapperInterface, methodName, commandType, sql, parameters, rows, duration, error,
+				plan);
+	}
+
+	public Class<?> getMapperInterface() {
+		return mapperInterface;
+	}
+
+	public String getMethodName() {
+		return methodName;
+	}
+
+	public String getCommandType() {
+		return commandType;
+	}
+
+	/**
+	 * Returns the statement as sent to the database, with dialect bind markers if
+	 * known.
+	 */
+	public String getSql() {
+		return sql;
+	}
+
+	/**
+	 * Returns bound values by property name, with values of redacted properties
+	 * replaced.
+	 */
+	public Map<String, Object> getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * Returns rows emitted by a select or records affected by a write.
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	public Duration getDuration() {
+		return duration;
+	}
+
+	/**
+	 * Returns the error the execution terminated with, or {@code null}.
+	 */
+	public Throwable getError() {
+		return error;
+	}
+
+	/**
+	 * Returns rows of the execution plan, or {@code null} if no plan was
+	 * requested or the database does not support it.
+	 */
+	public List<Map<String, Object>> getPlan() {
+		return plan;
+	}
+
+	@Override
+	public String toString() {
+		return "SlowQueryEvent [mapper=" + mapperInterface.getName() + ", method=" + methodName + ", type="
+				+ commandType + ", duration=" + duration.toMillis() + "ms, rows=" + rows + ", sql=" + sql
+				+ ", parameters=" + parameters + (error != null ? ", error=" + error : "")
+				+ (plan != null ? ", plan=" + plan : "") + "]";
+	}
+}
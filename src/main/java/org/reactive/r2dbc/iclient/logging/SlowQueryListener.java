@@ -0,0 +1,20 @@
+package org.reactive.r2dbc.iclient.logging;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receives {@link SlowQueryEvent}s of a {@link SlowQueryDetector}.
+ * 
+ * @author Bhautik Bhanani
+ */
+@FunctionalInterface
+public interface SlowQueryListener {
+
+	/**
+	 * Listener writing events at WARN to SLF4J logger
+	 * {@code org.reactive.r2dbc.iclient.logging.SlowQueryListener}.
+	 */
+	SlowQueryListener LOGGING = event -> LoggerFactory.getLogger(SlowQueryListener.class).warn("{}", event);
+
+	void onSlowQuery(SlowQueryEvent event);
+}
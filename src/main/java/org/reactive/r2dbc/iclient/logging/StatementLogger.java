@@ -0,0 +1,52 @@
+package org.reactive.r2dbc.iclient.logging;
+
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Logs statements executed by mapper methods. Implementations decorate the
+ * result of a method, so a logger returning results unchanged costs nothing.
+ * 
+ * @author Bhautik Bhanani
+ * @see DefaultStatementLogger
+ */
+public interface StatementLogger {
+
+	/**
+	 * Logger logging nothing, returning results unchanged.
+	 */
+	StatementLogger NONE = new StatementLogger() {
+
+		@Override
+		public <T> Mono<T> log(R2dbcMapperMethod method, Object params, Mono<T> result) {
+			return result;
+		}
+
+		@Override
+		public <T> Flux<T> log(R2dbcMapperMethod method, Object params, Flux<T> result) {
+			return result;
+		}
+	};
+
+	/**
+	 * Logs execution of a method returning a single value.
+	 * 
+	 * @param method mapper method
+	 * @param params named parameters of the call, may be {@code null}
+	 * @param result result of the method
+	 * @return logged result
+	 */
+	<T> Mono<T> log(R2dbcMapperMethod method, Object params, Mono<T> result);
+
+	/**
+	 * Logs execution of a method returning many values.
+	 * 
+	 * @param method mapper method
+	 * @param params named parameters of the call, may be {@code null}
+	 * @param result result of the method
+	 * @return logged result
+	 */
+	<T> Flux<T> log(R2dbcMapperMethod method, Object params, Flux<T> result);
+}
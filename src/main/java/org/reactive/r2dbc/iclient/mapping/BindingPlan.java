@@ -0,0 +1,247 @@
+package org.reactive.r2dbc.iclient.mapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.reactive.r2dbc.iclient.exception.R2dbcBindingException;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod.SqlCommand;
+import org.reactive.r2dbc.iclient.reflection.ParameterResolver;
+import org.reactive.r2dbc.iclient.reflection.PropertyAccessor;
+import org.reactive.r2dbc.iclient.reflection.PropertyTokenizer;
+import org.reactive.r2dbc.iclient.util.ExpandedSql;
+import org.springframework.core.ResolvableType;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.r2dbc.core.binding.BindMarker;
+import org.springframework.r2dbc.core.binding.BindTarget;
+
+/**
+ * Pre-compiled parameter binding of a mapper method. Property paths used in a
+ * query are resolved once into {@link PropertyAccessor}s so that binding a call
+ * does not tokenize properties or wrap arguments again, and reads a method
+ * argument by its parameter position.
+ *
+ * @author Bhautik Bhanani
+ */
+public class BindingPlan {
+
+	private final SqlCommand command;
+	private final Binding[] bindings;
+
+	public BindingPlan(SqlCommand command) {
+		this(command, null);
+	}
+
+	/**
+	 * Creates a binding plan reading from parameter objects of a mapper method.
+	 *
+	 * @param command    the statement
+	 * @param parameters parameters of the mapper method, or {@code null} to bind
+	 *                   from any parameter object
+	 */
+	public BindingPlan(SqlCommand command, ParameterResolver parameters) {
+		this.command = command;
+		List<Binding> list = new ArrayList<>();
+		for (PropertyTokenizer property : command.getPropertyMapper().values()) {
+			String name = property.getOriginalProperty();
+			Class<?> nullType = command.hasPropertyClass(name) ? command.getPropertyClass(name) : null;
+			list.add(new Binding(name, PropertyAccessor.compile(name, parameters), nullType,
+					elementType(property, parameters), command.isInListProperty(name),
+					command.isNotInListProperty(name)));
+		}
+		this.bindings = list.toArray(new Binding[0]);
+	}
+
+	/**
+	 * Returns the element type of a collection parameter bound as a whole, e.g.
+	 * {@code Integer} of {@code @Param("ids") List<Integer> ids}, otherwise
+	 * {@code Object}.
+	 */
+	private static Class<?> elementType(PropertyTokenizer property, ParameterResolver parameters) {
+		int index = parameters != null && !property.hasNext() && property.getIndex() == null
+				? parameters.getIndex(property.getName())
+				: -1;
+		if (index < 0) {
+			return Object.class;
+		}
+		Class<?> elementType = ResolvableType.forType(parameters.getGenericType(index)).asCollection()
+				.resolveGeneric(0);
+		return elementType != null ? elementType : Object.class;
+	}
+
+	public boolean isEmpty() {
+		return bindings.length == 0;
+	}
+
+	/**
+	 * Returns names of query properties, in the order of resolved values.
+	 */
+	public String[] getNames() {
+		String[] names = new String[bindings.length];
+		for (int i = 0; i < bindings.length; i++) {
+			names[i] = bindings[i].name;
+		}
+		return names;
+	}
+
+	/**
+	 * Resolves values of all query properties from given parameter object, in the
+	 * order of {@link SqlCommand#getPropertyMapper()}.
+	 *
+	 * @param param named parameters of the mapper method call
+	 * @return resolved values
+	 */
+	public Object[] resolve(Object param) {
+		Object[] values = new Object[bindings.length];
+		for (int i = 0; i < bindings.length; i++) {
+			Object value = param != null ? bindings[i].accessor.getValue(param) : null;
+			if (value == null) {
+				// fail on call if a null property has no class mapping
+				bindings[i].getNullType();
+			}
+			values[i] = value;
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the number of bind markers each collection value of an {@code IN}
+	 * list property expands into, in the order of resolved values. Collection
+	 * values of other properties are bound as a single value.
+	 *
+	 * @param values  values returned by {@link #resolve(Object)}
+	 * @param padding whether to pad collection sizes to the next power of two
+	 * @return bind markers per value, {@code -1} for single values, or
+	 *         {@code null} if no value is expanded
+	 * @throws R2dbcBindingException if the value of a {@code NOT IN} list is an
+	 *                               empty collection
+	 */
+	public int[] valueCounts(Object[] values, boolean padding) {
+		int[] counts = null;
+		for (int i = 0; i < values.length; i++) {
+			if (bindings[i].inList && values[i] instanceof Collection) {
+				if (counts == null) {
+					counts = new int[values.length];
+					Arrays.fill(counts, -1);
+				}
+				int size = ((Collection<?>) values[i]).size();
+				if (size == 0 && bindings[i].notInList) {
+					// NOT IN (NULL) is never true, so it would match no rows instead of all
+					throw new R2dbcBindingException("Empty collection for NOT IN property '" + bindings[i].name
+							+ "' would match no rows. Please skip the condition for an empty collection.");
+				}
+				size = Math.max(1, size);
+				counts[i] = padding && size > 1 ? Integer.highestOneBit(size - 1) << 1 : size;
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Binds resolved values to the bind markers of an expanded statement.
+	 *
+	 * @param target      the bind target
+	 * @param values      values returned by {@link #resolve(Object)}
+	 * @param expandedSql the expanded statement
+	 */
+	public void bindTo(BindTarget target, Object[] values, ExpandedSql expandedSql) {
+		bindRow(target, values, expandedSql, 0);
+	}
+
+	/**
+	 * Binds resolved values of every row to the bind markers of a multi-row
+	 * expanded statement.
+	 *
+	 * @param target      the bind target
+	 * @param rows        values returned by {@link #resolve(Object)} per row
+	 * @param expandedSql the statement expanded for {@code rows.size()} rows
+	 */
+	public void bindTo(BindTarget target, List<Object[]> rows, ExpandedSql expandedSql) {
+		for (int row = 0; row < rows.size(); row++) {
+			bindRow(target, rows.get(row), expandedSql, row);
+		}
+	}
+
+	private void bindRow(BindTarget target, Object[] values, ExpandedSql expandedSql, int row) {
+		for (int i = 0; i < bindings.length; i++) {
+			if (expandedSql.isExpanded(i) && values[i] instanceof Collection) {
+				bindElements(target, ((Collection<?>) values[i]).toArray(), expandedSql.getBindMarkers(row, i),
+						expandedSql.getValueCount(i), i);
+				continue;
+			}
+			for (BindMarker marker : expandedSql.getBindMarkers(row, i)) {
+				if (values[i] == null) {
+					marker.bindNull(target, bindings[i].getNullType());
+				} else {
+					marker.bind(target, values[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Binds collection elements to a list of bind markers. Markers beyond the
+	 * collection size are padding and repeat elements, an empty collection binds
+	 * {@code null} so that e.g. {@code IN (:ids)} matches no rows. Null elements
+	 * are bound with the property class, if mapped, or the element type.
+	 */
+	private void bindElements(BindTarget target, Object[] elements, BindMarker[] markers, int count, int index) {
+		for (int j = 0; j < markers.length; j++) {
+			// markers repeat per occurrence of the parameter
+			Object element = elements.length > 0 ? elements[Math.min(j % count, elements.length - 1)] : null;
+			if (element == null) {
+				markers[j].bindNull(target, bindings[index].getElementNullType());
+			} else {
+				markers[j].bind(target, element);
+			}
+		}
+	}
+
+	/**
+	 * Binds all query properties of given parameter object to the spec.
+	 *
+	 * @param spec  the execute spec to bind
+	 * @param param named parameters of the mapper method call
+	 * @return bound execute spec
+	 */
+	public GenericExecuteSpec bind(GenericExecuteSpec spec, Object param) {
+		for (Binding binding : bindings) {
+			Object value = param != null ? binding.accessor.getValue(param) : null;
+			if (value == null) {
+				spec = spec.bindNull(binding.name, binding.getNullType());
+			} else {
+				spec = spec.bind(binding.name, value);
+			}
+		}
+		return spec;
+	}
+
+	private class Binding {
+
+		private final String name;
+		private final PropertyAccessor accessor;
+		private final Class<?> nullType;
+		private final Class<?> elementType;
+		private final boolean inList;
+		private final boolean notInList;
+
+		Binding(String name, PropertyAccessor accessor, Class<?> nullType, Class<?> elementType, boolean inList,
+				boolean notInList) {
+			this.name = name;
+			this.accessor = accessor;
+			this.nullType = nullType;
+			this.elementType = elementType;
+			this.inList = inList;
+			this.notInList = notInList;
+		}
+
+		Class<?> getNullType() {
+			return nullType != null ? nullType : command.getPropertyClass(name);
+		}
+
+		Class<?> getElementNullType() {
+			return nullType != null ? nullType : elementType;
+		}
+	}
+}
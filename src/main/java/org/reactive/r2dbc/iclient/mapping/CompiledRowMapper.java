@@ -0,0 +1,342 @@
+package org.reactive.r2dbc.iclient.mapping;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
+import org.reactive.r2dbc.iclient.exception.R2dbcInvalidTypeException;
+import org.reactive.r2dbc.iclient.exception.R2dbcReflectionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+
+/**
+ * Row mapper compiled from {@link ResultMapping}s of a {@link ResultMap}.
+ *
+ * The constructor selected by {@link ConstructorResolver} and field setters are
+ * resolved once into {@link MethodHandle}s. Mappings of constructor parameters
+ * are folded into a single instantiating handle, so mapping a row is one
+ * constructor call fed by column reads, followed by direct writes of the
+ * remaining fields. Column names are resolved to indexes on the first
+ * {@link RowMetadata} of a result and reused for following rows and results of
+ * the same shape.
+ *
+ * @author Bhautik Bhanani
+ */
+final class CompiledRowMapper<T> implements BiFunction<Row, RowMetadata, T> {
+
+	private static final Logger log = LoggerFactory.getLogger(CompiledRowMapper.class);
+	private static final MethodType INSTANTIATOR_TYPE = MethodType.methodType(Object.class, CompiledRowMapper.class,
+			Row.class, RowMetadata.class, int[].class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	// every collected argument takes all instantiator parameters, within the
+	// limit of 255 parameter slots of a method handle
+	private static final int MAX_COLLECTED_ARGUMENTS = 63;
+	private static final MethodHandle READ;
+	private static final MethodHandle SPREAD;
+
+	static {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			READ = lookup.findVirtual(ValueReader.class, "read", MethodType.methodType(Object.class,
+					CompiledRowMapper.class, Row.class, RowMetadata.class, int[].class));
+			SPREAD = lookup.findStatic(CompiledRowMapper.class, "instantiate",
+					INSTANTIATOR_TYPE.insertParameterTypes(0, MethodHandle.class, ValueReader[].class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final R2dbcConfiguration configuration;
+	private final String id;
+	private final MethodHandle instantiator;
+	private final PropertyWriter[] writers;
+	private final String[] columns;
+	private final String[] nestedResultMaps;
+	private final BiFunction<Row, RowMetadata, ?>[] nestedMappers;
+	private volatile ColumnIndexes columnIndexes;
+
+	@SuppressWarnings("unchecked")
+	private CompiledRowMapper(R2dbcConfiguration configuration, String id, MethodHandle instantiator,
+			PropertyWriter[] writers, String[] columns, String[] nestedResultMaps) {
+		this.configuration = configuration;
+		this.id = id;
+		this.instantiator = instantiator;
+		this.writers = writers;
+		this.columns = columns;
+		this.nestedResultMaps = nestedResultMaps;
+		this.nestedMappers = new BiFunction[nestedResultMaps.length];
+	}
+
+	static <T> CompiledRowMapper<T> compile(R2dbcConfiguration configuration, String id, Class<T> type,
+			List<ResultMapping> resultMappings) {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			Constructor<?> constructor = ConstructorResolver.resolve(type);
+			if (constructor == null) {
+				throw new R2dbcReflectionException("No non argument constructor, @MappingConstructor or record found in '"
+						+ type.getName() + "'");
+			}
+			constructor.setAccessible(true);
+			String[] parameterNames = ConstructorResolver.parameterNames(constructor);
+			Class<?>[] parameterTypes = constructor.getParameterTypes();
+			ValueReader[] arguments = new ValueReader[parameterTypes.length];
+			List<String> columns = new ArrayList<>();
+			List<String> nestedResultMaps = new ArrayList<>();
+			List<PropertyWriter> writers = new ArrayList<>();
+			for (ResultMapping resultMapping : resultMappings) {
+				int slot = -1;
+				if (resultMapping.getTypeConverter() == null) {
+					if (StringUtils.isNotBlank(resultMapping.getResultMap())) {
+						slot = nestedResultMaps.size();
+						nestedResultMaps.add(resultMapping.getResultMap());
+					} else {
+						slot = columns.size();
+						columns.add(resultMapping.getColumn());
+					}
+				}
+				int parameter = Arrays.asList(parameterNames).indexOf(resultMapping.getProperty());
+				if (parameter >= 0) {
+					arguments[parameter] = new ValueReader(resultMapping, slot, defaultValue(parameterTypes[parameter]));
+				} else {
+					Field field = FieldUtils.getField(type, resultMapping.getProperty(), Boolean.TRUE);
+					field.setAccessible(true);
+					writers.add(new PropertyWriter(new ValueReader(resultMapping, slot, null),
+							lookup.unreflectSetter(field).asType(SETTER_TYPE), field.getType().isPrimitive()));
+				}
+			}
+			for (int i = 0; i < arguments.length; i++) {
+				if (arguments[i] == null) {
+					arguments[i] = new ValueReader(null, -1, defaultValue(parameterTypes[i]));
+				}
+			}
+			return new CompiledRowMapper<>(configuration, id,
+					instantiator(lookup.unreflectConstructor(constructor), arguments),
+					writers.toArray(new PropertyWriter[0]), columns.toArray(new String[0]),
+					nestedResultMaps.toArray(new String[0]));
+		} catch (IllegalAccessException | RuntimeException e) {
+			throw new R2dbcReflectionException("Error compiling ResultMap with id '" + id + "': " + e.toString(), e);
+		}
+	}
+
+	/**
+	 * Returns a handle of {@link #INSTANTIATOR_TYPE} creating the result object,
+	 * reading each constructor argument by its {@link ValueReader}.
+	 */
+	private static MethodHandle instantiator(MethodHandle constructor, ValueReader[] arguments) {
+		MethodHandle target = constructor.asType(constructor.type().changeReturnType(Object.class));
+		if (arguments.length > MAX_COLLECTED_ARGUMENTS) {
+			MethodHandle spread = target.asSpreader(Object[].class, arguments.length);
+			return MethodHandles.insertArguments(SPREAD, 0, spread, arguments);
+		}
+		int parameterCount = INSTANTIATOR_TYPE.parameterCount();
+		for (int i = arguments.length - 1; i >= 0; i--) {
+			MethodHandle read = READ.bindTo(arguments[i])
+					.asType(INSTANTIATOR_TYPE.changeReturnType(target.type().parameterType(i)));
+			target = MethodHandles.collectArguments(target, i, read);
+		}
+		// every reader, or the constructor without parameters, takes the same
+		// instantiator parameters
+		if (arguments.length == 0) {
+			return MethodHandles.dropArguments(target, 0, INSTANTIATOR_TYPE.parameterList());
+		}
+		int[] reorder = new int[arguments.length * parameterCount];
+		for (int i = 0; i < reorder.length; i++) {
+			reorder[i] = i % parameterCount;
+		}
+		return MethodHandles.permuteArguments(target, INSTANTIATOR_TYPE, reorder);
+	}
+
+	@SuppressWarnings("unused")
+	private static Object instantiate(MethodHandle spread, ValueReader[] arguments, CompiledRowMapper<?> mapper,
+			Row row, RowMetadata rowMetadata, int[] indexes) throws Throwable {
+		Object[] values = new Object[arguments.length];
+		for (int i = 0; i < arguments.length; i++) {
+			values[i] = arguments[i].read(mapper, row, rowMetadata, indexes);
+		}
+		return (Object) spread.invokeExact(values);
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+	}
+
+	/**
+	 * Returns a mapper sharing compiled handles of this mapper with its own column
+	 * index cache, to be used by a single statement.
+	 *
+	 * @return statement bound mapper
+	 */
+	CompiledRowMapper<T> forStatement() {
+		return new CompiledRowMapper<>(configuration, id, instantiator, writers, columns, nestedResultMaps);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T apply(Row row, RowMetadata rowMetadata) {
+		try {
+			int[] indexes = columnIndexes(rowMetadata);
+			Object instance = (Object) instantiator.invokeExact(this, row, rowMetadata, indexes);
+			for (PropertyWriter writer : writers) {
+				writer.write(this, instance, row, rowMetadata, indexes);
+			}
+			return (T) instance;
+		} catch (R2dbcInvalidTypeException e) {
+			log.error("Error creating ResultMap with id '{}': {}", id, e);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new R2dbcReflectionException("Error creating ResultMap with id '" + id + "': " + e.toString(), e);
+		}
+		return null;
+	}
+
+	private int[] columnIndexes(RowMetadata rowMetadata) {
+		ColumnIndexes current = columnIndexes;
+		if (current == null || current.rowMetadata != rowMetadata) {
+			current = ColumnIndexes.resolve(current, rowMetadata, columns);
+			columnIndexes = current;
+		}
+		return current.indexes;
+	}
+
+	private BiFunction<Row, RowMetadata, ?> nestedMapper(int slot) {
+		BiFunction<Row, RowMetadata, ?> mapper = nestedMappers[slot];
+		if (mapper == null) {
+			mapper = configuration.getResultMap(nestedResultMaps[slot]).newStatementMapper();
+			nestedMappers[slot] = mapper;
+		}
+		return mapper;
+	}
+
+	/**
+	 * Reads a single {@link ResultMapping} value, or the default value of an
+	 * unmapped or {@code null} constructor argument.
+	 */
+	static final class ValueReader {
+
+		private final ResultMapping resultMapping;
+		private final Class<?> columnType;
+		private final boolean nested;
+		private final int slot;
+		private final Object defaultValue;
+
+		ValueReader(ResultMapping resultMapping, int slot, Object defaultValue) {
+			this.resultMapping = resultMapping;
+			// drivers decode columns into wrapper types only
+			this.columnType = resultMapping != null
+					? ClassUtils.resolvePrimitiveIfNecessary(resultMapping.getJavaType())
+					: null;
+			this.nested = resultMapping != null && resultMapping.getTypeConverter() == null
+					&& StringUtils.isNotBlank(resultMapping.getResultMap());
+			this.slot = slot;
+			this.defaultValue = defaultValue;
+		}
+
+		Object read(CompiledRowMapper<?> mapper, Row row, RowMetadata rowMetadata, int[] indexes) {
+			Object value;
+			if (resultMapping == null) {
+				return defaultValue;
+			} else if (resultMapping.getTypeConverter() != null) {
+				value = resultMapping.getTypeConverter().execute(row, rowMetadata, resultMapping.getJavaType());
+			} else if (nested) {
+				value = mapper.nestedMapper(slot).apply(row, rowMetadata);
+			} else if (indexes[slot] >= 0) {
+				value = row.get(indexes[slot], columnType);
+			} else {
+				value = row.get(resultMapping.getColumn(), columnType);
+			}
+			return value != null ? value : defaultValue;
+		}
+	}
+
+	/**
+	 * Writes a single {@link ResultMapping} value into a field of the result
+	 * object.
+	 */
+	private static final class PropertyWriter {
+
+		private final ValueReader reader;
+		private final MethodHandle setter;
+		private final boolean primitive;
+
+		PropertyWriter(ValueReader reader, MethodHandle setter, boolean primitive) {
+			this.reader = reader;
+			this.setter = setter;
+			this.primitive = primitive;
+		}
+
+		void write(CompiledRowMapper<?> mapper, Object instance, Row row, RowMetadata rowMetadata, int[] indexes)
+				throws Throwable {
+			Object value = reader.read(mapper, row, rowMetadata, indexes);
+			if (value != null || !primitive) {
+				setter.invokeExact(instance, value);
+			}
+		}
+	}
+
+	/**
+	 * Column indexes resolved for a result shape. The shape is the ordered list of
+	 * column names, which is compared when a new {@link RowMetadata} instance is
+	 * seen so that repeated executions of a statement skip resolution.
+	 */
+	private static final class ColumnIndexes {
+
+		private final RowMetadata rowMetadata;
+		private final String[] shape;
+		private final int[] indexes;
+
+		private ColumnIndexes(RowMetadata rowMetadata, String[] shape, int[] indexes) {
+			this.rowMetadata = rowMetadata;
+			this.shape = shape;
+			this.indexes = indexes;
+		}
+
+		static ColumnIndexes resolve(ColumnIndexes previous, RowMetadata rowMetadata, String[] columns) {
+			if (previous != null && previous.matches(rowMetadata)) {
+				return new ColumnIndexes(rowMetadata, previous.shape, previous.indexes);
+			}
+			List<String> names = new ArrayList<>();
+			for (ColumnMetadata column : rowMetadata.getColumnMetadatas()) {
+				names.add(column.getName());
+			}
+			String[] shape = names.toArray(new String[0]);
+			int[] indexes = new int[columns.length];
+			Arrays.fill(indexes, -1);
+			for (int i = 0; i < columns.length; i++) {
+				for (int j = 0; j < shape.length; j++) {
+					if (shape[j].equalsIgnoreCase(columns[i])) {
+						indexes[i] = j;
+						break;
+					}
+				}
+			}
+			return new ColumnIndexes(rowMetadata, shape, indexes);
+		}
+
+		private boolean matches(RowMetadata other) {
+			int i = 0;
+			for (ColumnMetadata column : other.getColumnMetadatas()) {
+				if (i >= shape.length || !shape[i].equals(column.getName())) {
+					return false;
+				}
+				i++;
+			}
+			return i == shape.length;
+		}
+	}
+}
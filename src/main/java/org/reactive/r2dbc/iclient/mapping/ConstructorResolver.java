@@ -0,0 +1,137 @@
+package org.reactive.r2dbc.iclient.mapping;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+import org.reactive.r2dbc.iclient.annotation.MappingConstructor;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.exception.R2dbcReflectionException;
+
+/**
+ * Selects the constructor creating result objects of a type: a constructor
+ * annotated with {@link MappingConstructor}, the canonical constructor of a
+ * record, or the non-argument constructor. Records are detected reflectively so
+ * that record types are supported when running on Java 16 and later.
+ *
+ * @author Bhautik Bhanani
+ */
+public final class ConstructorResolver {
+
+	private static final Method IS_RECORD = method(Class.class, "isRecord");
+	private static final Method GET_RECORD_COMPONENTS = method(Class.class, "getRecordComponents");
+
+	private ConstructorResolver() {
+	}
+
+	/**
+	 * Returns the constructor creating result objects of given type.
+	 *
+	 * @param type result type
+	 * @return mapping constructor, or {@code null} if the type has none
+	 * @throws R2dbcReflectionException if more than one constructor is annotated
+	 */
+	public static Constructor<?> resolve(Class<?> type) {
+		Constructor<?> annotated = null;
+		Constructor<?> noArgs = null;
+		for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+			if (constructor.isAnnotationPresent(MappingConstructor.class)) {
+				if (annotated != null) {
+					throw new R2dbcReflectionException(
+							"Only one @MappingConstructor is allowed in class '" + type.getName() + "'.");
+				}
+				annotated = constructor;
+			} else if (constructor.getParameterCount() == 0) {
+				noArgs = constructor;
+			}
+		}
+		if (annotated != null) {
+			return annotated;
+		} else if (isRecord(type)) {
+			return canonicalConstructor(type);
+		}
+		return noArgs;
+	}
+
+	/**
+	 * Returns names of constructor parameters, the record component names for a
+	 * record, otherwise {@link Param} values or names compiled with
+	 * {@code -parameters}.
+	 *
+	 * @param constructor mapping constructor
+	 * @return parameter names in parameter order
+	 * @throws R2dbcReflectionException if a parameter name is not available
+	 */
+	public static String[] parameterNames(Constructor<?> constructor) {
+		Class<?> type = constructor.getDeclaringClass();
+		if (isRecord(type) && !constructor.isAnnotationPresent(MappingConstructor.class)) {
+			Object[] components = recordComponents(type);
+			String[] names = new String[components.length];
+			for (int i = 0; i < components.length; i++) {
+				names[i] = (String) invoke(components[i], "getName");
+			}
+			return names;
+		}
+		Parameter[] parameters = constructor.getParameters();
+		String[] names = new String[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			Param param = parameters[i].getAnnotation(Param.class);
+			if (param != null) {
+				names[i] = param.value();
+			} else if (parameters[i].isNamePresent()) {
+				names[i] = parameters[i].getName();
+			} else {
+				throw new R2dbcReflectionException("Name of parameter " + i + " of mapping constructor in class '"
+						+ type.getName() + "' is not available. Compile with -parameters or annotate it with @Param.");
+			}
+		}
+		return names;
+	}
+
+	static boolean isRecord(Class<?> type) {
+		return IS_RECORD != null && Boolean.TRUE.equals(invoke(IS_RECORD, type));
+	}
+
+	private static Constructor<?> canonicalConstructor(Class<?> type) {
+		Object[] components = recordComponents(type);
+		Class<?>[] parameterTypes = new Class<?>[components.length];
+		for (int i = 0; i < components.length; i++) {
+			parameterTypes[i] = (Class<?>) invoke(components[i], "getType");
+		}
+		try {
+			return type.getDeclaredConstructor(parameterTypes);
+		} catch (NoSuchMethodException e) {
+			throw new R2dbcReflectionException("No canonical constructor found in record '" + type.getName() + "'.",
+					e);
+		}
+	}
+
+	private static Object[] recordComponents(Class<?> type) {
+		return (Object[]) invoke(GET_RECORD_COMPONENTS, type);
+	}
+
+	private static Object invoke(Object target, String methodName) {
+		Method method = method(target.getClass(), methodName);
+		if (method == null) {
+			throw new R2dbcReflectionException("Could not read '" + methodName + "' of " + target.getClass());
+		}
+		return invoke(method, target);
+	}
+
+	private static Object invoke(Method method, Object target) {
+		try {
+			return method.invoke(target);
+		} catch (ReflectiveOperationException e) {
+			throw new R2dbcReflectionException("Could not invoke '" + method.getName() + "' of " + target + ". Cause: "
+					+ e.toString(), e);
+		}
+	}
+
+	private static Method method(Class<?> type, String name) {
+		try {
+			return type.getMethod(name);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+}
@@ -1,24 +1,63 @@
 package org.reactive.r2dbc.iclient.mapping;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
 import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
-import org.reactive.r2dbc.iclient.reflection.ParamObject;
-import org.reactive.r2dbc.iclient.reflection.PropertyTokenizer;
+import org.reactive.r2dbc.iclient.util.ExpandedSql;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.r2dbc.core.PreparedOperation;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import org.springframework.r2dbc.core.binding.BindTarget;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Statement;
 
 /**
  * PreparedStatement to generate SQL statement binding parameters.
  * 
+ * If dialect bind markers are known, the statement is expanded once per
+ * dialect and passed to {@link DatabaseClient} as a {@link PreparedOperation},
+ * so it is not parsed again on execution. Collection values of {@code IN}
+ * lists are expanded into lists of bind markers.
+ * 
  * @author Bhautik Bhanani
  */
 public class R2dbcPreparedStatement {
 
-	private GenericExecuteSpec spec;
+	private final DatabaseClient databaseClient;
+	private final BindMarkersFactory bindMarkersFactory;
 	private final R2dbcMapperMethod method;
+	private final boolean inListPadding;
+	private GenericExecuteSpec spec;
 
 	public R2dbcPreparedStatement(DatabaseClient databaseClient, R2dbcMapperMethod method) {
-		this.spec = databaseClient.sql(method.getCommand().getStatement());
+		this(databaseClient, null, method);
+	}
+
+	public R2dbcPreparedStatement(DatabaseClient databaseClient, BindMarkersFactory bindMarkersFactory,
+			R2dbcMapperMethod method) {
+		this(databaseClient, bindMarkersFactory, method, false);
+	}
+
+	public R2dbcPreparedStatement(R2dbcConfiguration configuration, R2dbcMapperMethod method) {
+		this(configuration, configuration.getDatabaseClient(), method);
+	}
+
+	public R2dbcPreparedStatement(R2dbcConfiguration configuration, DatabaseClient databaseClient,
+			R2dbcMapperMethod method) {
+		this(databaseClient, configuration.getBindMarkersFactory(), method, configuration.isInListPadding());
+	}
+
+	private R2dbcPreparedStatement(DatabaseClient databaseClient, BindMarkersFactory bindMarkersFactory,
+			R2dbcMapperMethod method, boolean inListPadding) {
+		this.databaseClient = databaseClient;
+		this.bindMarkersFactory = bindMarkersFactory;
 		this.method = method;
+		this.inListPadding = inListPadding || method.getCommand().isInListPadding();
 	}
 
 	public GenericExecuteSpec getExecuteSpec() {
@@ -26,23 +65,183 @@ public class R2dbcPreparedStatement {
 	}
 
 	public GenericExecuteSpec parameterize(Object param) {
-		if (!method.getCommand().getPropertyMapper().isEmpty()) {
-			for (PropertyTokenizer property : method.getCommand().getPropertyMapper().values()) {
-				if (param == null) {
-					spec = spec.bindNull(property.getOriginalProperty(),
-							method.getCommand().getPropertyClass(property.getOriginalProperty()));
-				} else {
-					ParamObject paramObject = ParamObject.forObject(param);
-					Object value = paramObject.getValue(property);
-					if (value == null) {
-						spec = spec.bindNull(property.getOriginalProperty(),
-								method.getCommand().getPropertyClass(property.getOriginalProperty()));
-					} else {
-						spec = spec.bind(property.getOriginalProperty(), value);
-					}
-				}
+		if (bindMarkersFactory != null) {
+			Object[] values = method.getBindingPlan().resolve(param);
+			int[] valueCounts = method.getBindingPlan().valueCounts(values, inListPadding);
+			ExpandedSql expandedSql = valueCounts == null ? method.getCommand().getExpandedSql(bindMarkersFactory)
+					: method.getCommand().getExpandedSql(bindMarkersFactory, valueCounts);
+			spec = databaseClient.sql(new BoundOperation(method.getBindingPlan(), expandedSql, values));
+		} else {
+			spec = databaseClient.sql(method.getCommand().getStatement());
+			if (!method.getBindingPlan().isEmpty()) {
+				spec = method.getBindingPlan().bind(spec, param);
 			}
 		}
 		return spec;
 	}
+
+	/**
+	 * Resolves values of every batch element and returns a function creating a
+	 * statement bound with all elements, separated by {@link Statement#add()} or
+	 * as rows of a multi-row statement. Requires dialect bind markers.
+	 * 
+	 * @param params named parameters per batch element
+	 * @return function creating a bound statement on a connection
+	 */
+	public Function<Connection, Statement> parameterizeBatch(List<?> params) {
+		return parameterizeBatch(params, method.getMethod().isMultiRow());
+	}
+
+	/**
+	 * Like {@link #parameterizeBatch(List)}, binding all elements as rows of a
+	 * multi-row statement only if {@code multiRow} is set.
+	 * 
+	 * @param params   named parameters per batch element
+	 * @param multiRow whether to bind elements as rows of a multi-row statement
+	 * @return function creating a bound statement on a connection
+	 */
+	public Function<Connection, Statement> parameterizeBatch(List<?> params, boolean multiRow) {
+		BatchOperation operation = batchOperation(params, multiRow);
+		return connection -> operation.bind(connection.createStatement(operation.toQuery()));
+	}
+
+	/**
+	 * Like {@link #parameterizeBatch(List, boolean)}, but returns the bound
+	 * statement as an execute spec of {@link DatabaseClient}, so it can be
+	 * decorated by filters. Elements are bound by the first filter of the spec.
+	 * 
+	 * @param params   named parameters per batch element
+	 * @param multiRow whether to bind elements as rows of a multi-row statement
+	 * @return execute spec of the bound statement
+	 */
+	public GenericExecuteSpec parameterizeBatchSpec(List<?> params, boolean multiRow) {
+		BatchOperation operation = batchOperation(params, multiRow);
+		spec = databaseClient.sql(operation).filter(operation::bind);
+		return spec;
+	}
+
+	private BatchOperation batchOperation(List<?> params, boolean multiRow) {
+		List<Object[]> values = new ArrayList<>(params.size());
+		for (Object param : params) {
+			values.add(method.getBindingPlan().resolve(param));
+		}
+		ExpandedSql expandedSql = multiRow ? method.getCommand().getExpandedSql(bindMarkersFactory, values.size())
+				: method.getCommand().getExpandedSql(bindMarkersFactory);
+		return new BatchOperation(method.getBindingPlan(), expandedSql, values, multiRow);
+	}
+
+	/**
+	 * {@link BindTarget} binding directly to an R2DBC {@link Statement}.
+	 */
+	private static class StatementBindTarget implements BindTarget {
+
+		private final Statement statement;
+
+		StatementBindTarget(Statement statement) {
+			this.statement = statement;
+		}
+
+		@Override
+		public void bind(String identifier, Object value) {
+			statement.bind(identifier, value);
+		}
+
+		@Override
+		public void bind(int index, Object value) {
+			statement.bind(index, value);
+		}
+
+		@Override
+		public void bindNull(String identifier, Class<?> type) {
+			statement.bindNull(identifier, type);
+		}
+
+		@Override
+		public void bindNull(int index, Class<?> type) {
+			statement.bindNull(index, type);
+		}
+	}
+
+	/**
+	 * Expanded statement with resolved values, bound by {@link DatabaseClient} to
+	 * every created {@link io.r2dbc.spi.Statement}.
+	 */
+	private static class BoundOperation implements PreparedOperation<ExpandedSql> {
+
+		private final BindingPlan bindingPlan;
+		private final ExpandedSql expandedSql;
+		private final Object[] values;
+
+		BoundOperation(BindingPlan bindingPlan, ExpandedSql expandedSql, Object[] values) {
+			this.bindingPlan = bindingPlan;
+			this.expandedSql = expandedSql;
+			this.values = values;
+		}
+
+		@Override
+		public ExpandedSql getSource() {
+			return expandedSql;
+		}
+
+		@Override
+		public void bindTo(BindTarget target) {
+			bindingPlan.bindTo(target, values, expandedSql);
+		}
+
+		@Override
+		public String toQuery() {
+			return expandedSql.getSql();
+		}
+	}
+
+	/**
+	 * Expanded statement of a batch. {@link BindTarget} can't separate elements
+	 * by {@link Statement#add()}, so elements are bound to the
+	 * {@link Statement} by {@link #bind(Statement)} instead of
+	 * {@link #bindTo(BindTarget)}.
+	 */
+	private static class BatchOperation implements PreparedOperation<ExpandedSql> {
+
+		private final BindingPlan bindingPlan;
+		private final ExpandedSql expandedSql;
+		private final List<Object[]> values;
+		private final boolean multiRow;
+
+		BatchOperation(BindingPlan bindingPlan, ExpandedSql expandedSql, List<Object[]> values, boolean multiRow) {
+			this.bindingPlan = bindingPlan;
+			this.expandedSql = expandedSql;
+			this.values = values;
+			this.multiRow = multiRow;
+		}
+
+		Statement bind(Statement statement) {
+			StatementBindTarget target = new StatementBindTarget(statement);
+			if (multiRow) {
+				bindingPlan.bindTo(target, values, expandedSql);
+				return statement;
+			}
+			for (int i = 0; i < values.size(); i++) {
+				if (i > 0) {
+					statement.add();
+				}
+				bindingPlan.bindTo(target, values.get(i), expandedSql);
+			}
+			return statement;
+		}
+
+		@Override
+		public ExpandedSql getSource() {
+			return expandedSql;
+		}
+
+		@Override
+		public void bindTo(BindTarget target) {
+			// bound by bind(Statement)
+		}
+
+		@Override
+		public String toQuery() {
+			return expandedSql.getSql();
+		}
+	}
 }
@@ -3,12 +3,7 @@ package org.reactive.r2dbc.iclient.mapping;
 import java.util.List;
 import java.util.function.BiFunction;
 
-import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.reflect.FieldUtils;
 import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
-import org.reactive.r2dbc.iclient.exception.R2dbcInvalidTypeException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
@@ -63,6 +58,20 @@ public class ResultMap<T> {
 		this.mapper = mapper;
 	}
 
+	/**
+	 * Returns a mapper to be used by a single statement. Compiled mappers are
+	 * forked so that column indexes resolved for the statement's result are cached
+	 * separately from other statements using this result map.
+	 * 
+	 * @return mapper for a single statement
+	 */
+	public BiFunction<Row, RowMetadata, T> newStatementMapper() {
+		if (mapper instanceof CompiledRowMapper) {
+			return ((CompiledRowMapper<T>) mapper).forStatement();
+		}
+		return mapper;
+	}
+
 	/**
 	 * Generates {@link ResultMap} from provided configurations.
 	 * 
@@ -70,7 +79,6 @@ public class ResultMap<T> {
 	 */
 	public static class Builder<T> {
 
-		private final static Logger log = LoggerFactory.getLogger(Builder.class);
 		private ResultMap<T> resultMap;
 		private List<ResultMapping> resultMappings;
 
@@ -82,35 +90,8 @@ public class ResultMap<T> {
 		}
 
 		public ResultMap<T> build() {
-
-			resultMap.mapper = new BiFunction<Row, RowMetadata, T>() {
-
-				@SuppressWarnings("deprecation")
-				@Override
-				public T apply(Row row, RowMetadata rowMetadata) {
-					try {
-						T instance = resultMap.type.newInstance();
-						for (ResultMapping resultMapping : resultMappings) {
-							Object value;
-							if (resultMapping.getTypeConverter() != null) {
-								value = resultMapping.getTypeConverter().execute(row, rowMetadata,
-										resultMapping.getJavaType());
-							} else if (StringUtils.isNotBlank(resultMapping.getResultMap())) {
-								value = resultMap.configuration.getResultMap(resultMapping.getResultMap()).mapper
-										.apply(row, rowMetadata);
-							} else {
-								value = row.get(resultMapping.getColumn(), resultMapping.getJavaType());
-							}
-							FieldUtils.writeField(instance, resultMapping.getProperty(), value, Boolean.TRUE);
-						}
-						return instance;
-					} catch (InstantiationException | IllegalAccessException | R2dbcInvalidTypeException e) {
-						log.error("Error creating ResultMap with id '{}': {}", resultMap.id, e);
-					}
-					return null;
-				}
-			};
-
+			resultMap.mapper = CompiledRowMapper.compile(resultMap.configuration, resultMap.id, resultMap.type,
+					resultMappings);
 			return resultMap;
 		}
 	}
@@ -0,0 +1,74 @@
+package org.reactive.r2dbc.iclient.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * Publishes gauges of r2dbc-pool {@link ConnectionPool}s, tagged by pool
+ * {@code name}:
+ * <ul>
+ * <li>{@code r2dbc.iclient.pool.acquired} connections in use</li>
+ * <li>{@code r2dbc.iclient.pool.allocated} connections open</li>
+ * <li>{@code r2dbc.iclient.pool.idle} connections open and not in use</li>
+ * <li>{@code r2dbc.iclient.pool.pending} callers waiting for a connection</li>
+ * <li>{@code r2dbc.iclient.pool.max.allocated} / {@code max.pending} configured
+ * limits</li>
+ * </ul>
+ * Binds nothing for connection factories that aren't pools with metrics.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class ConnectionPoolMetrics implements MeterBinder {
+
+	private final Map<String, ConnectionFactory> connectionFactories;
+
+	public ConnectionPoolMetrics(ConnectionFactory connectionFactory, String name) {
+		this(Collections.singletonMap(name, connectionFactory));
+	}
+
+	/**
+	 * @param connectionFactories connection factories by pool name
+	 */
+	public ConnectionPoolMetrics(Map<String, ConnectionFactory> connectionFactories) {
+		this.connectionFactories = new LinkedHashMap<>(connectionFactories);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		connectionFactories.forEach((name, connectionFactory) -> bindTo(registry, name, connectionFactory));
+	}
+
+	private static void bindTo(MeterRegistry registry, String name, ConnectionFactory connectionFactory) {
+		if (!(connectionFactory instanceof ConnectionPool)) {
+			return;
+		}
+		((ConnectionPool) connectionFactory).getMetrics().ifPresent(metrics -> {
+			Tags tags = Tags.of("name", name);
+			gauge(registry, "acquired", "Connections in use", metrics, PoolMetrics::acquiredSize, tags);
+			gauge(registry, "allocated", "Connections open", metrics, PoolMetrics::allocatedSize, tags);
+			gauge(registry, "idle", "Connections open and not in use", metrics, PoolMetrics::idleSize, tags);
+			gauge(registry, "pending", "Callers waiting for a connection", metrics,
+					PoolMetrics::pendingAcquireSize, tags);
+			gauge(registry, "max.allocated", "Maximum connections", metrics, PoolMetrics::getMaxAllocatedSize,
+					tags);
+			gauge(registry, "max.pending", "Maximum callers waiting for a connection", metrics,
+					PoolMetrics::getMaxPendingAcquireSize, tags);
+		});
+	}
+
+	private static void gauge(MeterRegistry registry, String name, String description, PoolMetrics metrics,
+			ToDoubleFunction<PoolMetrics> value, Tags tags) {
+		Gauge.builder("r2dbc.iclient.pool." + name, metrics, value).description(description).tags(tags)
+				.register(registry);
+	}
+}
@@ -0,0 +1,50 @@
+package org.reactive.r2dbc.iclient.metrics;
+
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records executions of mapper methods. Implementations decorate the result of
+ * a method and measure it per subscription.
+ * 
+ * @author Bhautik Bhanani
+ */
+public interface MapperMetrics {
+
+	/**
+	 * Metrics recording nothing, returning results unchanged.
+	 */
+	MapperMetrics NONE = new MapperMetrics() {
+
+		@Override
+		public <T> Mono<T> record(R2dbcMapperMethod method, Mono<T> result) {
+			return result;
+		}
+
+		@Override
+		public <T> Flux<T> record(R2dbcMapperMethod method, Flux<T> result) {
+			return result;
+		}
+	};
+
+	/**
+	 * Records execution of a method returning a single value: a row, a retrieved
+	 * id or the number of records affected.
+	 * 
+	 * @param method mapper method
+	 * @param result result of the method
+	 * @return recorded result
+	 */
+	<T> Mono<T> record(R2dbcMapperMethod method, Mono<T> result);
+
+	/**
+	 * Records execution of a method returning rows, or counts of a batch.
+	 * 
+	 * @param method mapper method
+	 * @param result result of the method
+	 * @return recorded result
+	 */
+	<T> Flux<T> record(R2dbcMapperMethod method, Flux<T> result);
+}
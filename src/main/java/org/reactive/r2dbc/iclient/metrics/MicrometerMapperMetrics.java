@@ -0,0 +1,152 @@
+package org.reactive.r2dbc.iclient.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.reactive.r2dbc.iclient.type.SqlCommandType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * {@link MapperMetrics} publishing to a Micrometer {@link MeterRegistry}.
+ * Meters are tagged by mapper interface and method name:
+ * <ul>
+ * <li>{@code r2dbc.iclient.method} timer from subscribe to termination, with
+ * {@code type} and {@code outcome} tags</li>
+ * <li>{@code r2dbc.iclient.method.first.row} timer until the first row of a
+ * select</li>
+ * <li>{@code r2dbc.iclient.method.rows} summary of rows emitted by a
+ * select</li>
+ * <li>{@code r2dbc.iclient.method.rows.updated} summary of records affected by
+ * an insert, update or delete</li>
+ * <li>{@code r2dbc.iclient.method.errors} counter with {@code exception}
+ * tag</li>
+ * </ul>
+ * 
+ * @author Bhautik Bhanani
+ */
+public class MicrometerMapperMetrics implements MapperMetrics {
+
+	private final MeterRegistry registry;
+	private final Map<R2dbcMapperMethod, MethodMeters> meters = new ConcurrentHashMap<>();
+
+	public MicrometerMapperMetrics(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public <T> Mono<T> record(R2dbcMapperMethod method, Mono<T> result) {
+		MethodMeters methodMeters = meters(method);
+		return Mono.defer(() -> {
+			Execution execution = new Execution(methodMeters);
+			return result.doOnNext(execution::onNext).doOnError(execution::onError)
+					.doFinally(execution::onFinally);
+		});
+	}
+
+	@Override
+	public <T> Flux<T> record(R2dbcMapperMethod method, Flux<T> result) {
+		MethodMeters methodMeters = meters(method);
+		return Flux.defer(() -> {
+			Execution execution = new Execution(methodMeters);
+			return result.doOnNext(execution::onNext).doOnError(execution::onError)
+					.doFinally(execution::onFinally);
+		});
+	}
+
+	private MethodMeters meters(R2dbcMapperMethod method) {
+		MethodMeters methodMeters = meters.get(method);
+		if (methodMeters == null) {
+			methodMeters = meters.computeIfAbsent(method, MethodMeters::new);
+		}
+		return methodMeters;
+	}
+
+	/**
+	 * Meters of a mapper method, registered once.
+	 */
+	private class MethodMeters {
+
+		private final Tags tags;
+		private final boolean select;
+		private final boolean countsRows;
+		private final Timer success;
+		private final Timer error;
+		private final Timer cancelled;
+		private final Timer firstRow;
+		private final DistributionSummary rows;
+
+		MethodMeters(R2dbcMapperMethod method) {
+			this.tags = Tags.of("mapper", method.getMethod().getMapperInterface().getName(), "method",
+					method.getMethod().getName());
+			this.select = method.getCommand().getType() == SqlCommandType.SELECT;
+			this.countsRows = !select && !method.getCommand().isRetrieveId();
+			this.success = timer(method, "success");
+			this.error = timer(method, "error");
+			this.cancelled = timer(method, "cancelled");
+			this.firstRow = select ? Timer.builder("r2dbc.iclient.method.first.row").tags(tags).register(registry)
+					: null;
+			this.rows = DistributionSummary
+					.builder(select ? "r2dbc.iclient.method.rows" : "r2dbc.iclient.method.rows.updated").tags(tags)
+					.register(registry);
+		}
+
+		private Timer timer(R2dbcMapperMethod method, String outcome) {
+			return Timer.builder("r2dbc.iclient.method").tags(tags).tag("type", method.getCommand().getType().name())
+					.tag("outcome", outcome).publishPercentileHistogram().register(registry);
+		}
+
+		void error(Throwable e) {
+			Counter.builder("r2dbc.iclient.method.errors").tags(tags).tag("exception", e.getClass().getSimpleName())
+					.register(registry).increment();
+		}
+	}
+
+	/**
+	 * Measures a single subscription of a mapper method result.
+	 */
+	private static class Execution {
+
+		private final MethodMeters meters;
+		private final long start = System.nanoTime();
+		private final AtomicLong rows = new AtomicLong();
+		private volatile boolean failed;
+
+		Execution(MethodMeters meters) {
+			this.meters = meters;
+		}
+
+		void onNext(Object value) {
+			if (meters.select) {
+				if (rows.getAndIncrement() == 0) {
+					meters.firstRow.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				}
+			} else if (meters.countsRows && value instanceof Integer) {
+				rows.addAndGet((Integer) value);
+			} else {
+				rows.incrementAndGet();
+			}
+		}
+
+		void onError(Throwable e) {
+			failed = true;
+			meters.error(e);
+		}
+
+		void onFinally(SignalType signal) {
+			Timer timer = failed ? meters.error : signal == SignalType.CANCEL ? meters.cancelled : meters.success;
+			timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			meters.rows.record(rows.get());
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package org.reactive.r2dbc.iclient.plugin;
+
+import java.util.function.BiFunction;
+
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Intercepts execution of mapper methods by {@code R2dbcSqlSession}. Every hook
+ * defaults to passing its argument through, so implementations override only
+ * the stages they need:
+ * <ol>
+ * <li>{@link #bind(R2dbcMapperMethod, Object)} - replace named parameters
+ * before they are bound. Parameters are a read-only {@code Map} by parameter
+ * name; a returned {@code Map} is bound by the same names. Parameters are bound
+ * once per call, before they are used as keys of cached or shared selects, and
+ * once per element of a batch</li>
+ * <li>{@link #prepare(R2dbcMapperMethod, GenericExecuteSpec)} - decorate the
+ * bound statement, e.g. with {@code filter}. A batch is prepared once, as one
+ * statement of all its elements</li>
+ * <li>{@link #mapRow(R2dbcMapperMethod, BiFunction)} - decorate the row mapper
+ * of a select or of the generated ids of an insert</li>
+ * <li>{@code execute} - decorate the result, e.g. with context or timing</li>
+ * </ol>
+ * 
+ * @author Bhautik Bhanani
+ * @see InterceptorChain
+ */
+public interface Interceptor {
+
+	default Object bind(R2dbcMapperMethod method, Object params) {
+		return params;
+	}
+
+	default GenericExecuteSpec prepare(R2dbcMapperMethod method, GenericExecuteSpec spec) {
+		return spec;
+	}
+
+	default BiFunction<Row, RowMetadata, ?> mapRow(R2dbcMapperMethod method, BiFunction<Row, RowMetadata, ?> mapper) {
+		return mapper;
+	}
+
+	default <T> Mono<T> execute(R2dbcMapperMethod method, Object params, Mono<T> result) {
+		return result;
+	}
+
+	default <T> Flux<T> execute(R2dbcMapperMethod method, Object params, Flux<T> result) {
+		return result;
+	}
+}
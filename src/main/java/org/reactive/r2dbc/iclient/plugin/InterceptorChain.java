@@ -0,0 +1,80 @@
+package org.reactive.r2dbc.iclient.plugin;
+
+import java.util.Arrays;
+import java.util.function.BiFunction;
+
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.util.Assert;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ordered chain of {@link Interceptor}s. The first interceptor is the
+ * outermost: it binds parameters first and wraps the statement, row mapper and
+ * result of all following interceptors.
+ * 
+ * The chain is immutable; adding an interceptor returns a new chain. Callers
+ * check {@link #isEmpty()} to skip the chain without allocation.
+ * 
+ * @author Bhautik Bhanani
+ */
+public final class InterceptorChain {
+
+	public static final InterceptorChain EMPTY = new InterceptorChain(new Interceptor[0]);
+
+	private final Interceptor[] interceptors;
+
+	private InterceptorChain(Interceptor[] interceptors) {
+		this.interceptors = interceptors;
+	}
+
+	public InterceptorChain with(Interceptor interceptor) {
+		Assert.notNull(interceptor, "Interceptor must not be null");
+		Interceptor[] chain = Arrays.copyOf(interceptors, interceptors.length + 1);
+		chain[interceptors.length] = interceptor;
+		return new InterceptorChain(chain);
+	}
+
+	public boolean isEmpty() {
+		return interceptors.length == 0;
+	}
+
+	public Object bind(R2dbcMapperMethod method, Object params) {
+		for (Interceptor interceptor : interceptors) {
+			params = interceptor.bind(method, params);
+		}
+		return params;
+	}
+
+	public GenericExecuteSpec prepare(R2dbcMapperMethod method, GenericExecuteSpec spec) {
+		for (int i = interceptors.length - 1; i >= 0; i--) {
+			spec = interceptors[i].prepare(method, spec);
+		}
+		return spec;
+	}
+
+	public BiFunction<Row, RowMetadata, ?> mapRow(R2dbcMapperMethod method, BiFunction<Row, RowMetadata, ?> mapper) {
+		for (int i = interceptors.length - 1; i >= 0; i--) {
+			mapper = interceptors[i].mapRow(method, mapper);
+		}
+		return mapper;
+	}
+
+	public <T> Mono<T> execute(R2dbcMapperMethod method, Object params, Mono<T> result) {
+		for (int i = interceptors.length - 1; i >= 0; i--) {
+			result = interceptors[i].execute(method, params, result);
+		}
+		return result;
+	}
+
+	public <T> Flux<T> execute(R2dbcMapperMethod method, Object params, Flux<T> result) {
+		for (int i = interceptors.length - 1; i >= 0; i--) {
+			result = interceptors[i].execute(method, params, result);
+		}
+		return result;
+	}
+}
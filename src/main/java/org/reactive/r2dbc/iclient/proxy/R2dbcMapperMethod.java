@@ -1,30 +1,56 @@
 package org.reactive.r2dbc.iclient.proxy;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
+import org.reactive.r2dbc.iclient.annotation.Batch;
+import org.reactive.r2dbc.iclient.annotation.BatchSelect;
+import org.reactive.r2dbc.iclient.annotation.Cache;
 import org.reactive.r2dbc.iclient.annotation.Delete;
 import org.reactive.r2dbc.iclient.annotation.Insert;
 import org.reactive.r2dbc.iclient.annotation.PropertyMapper;
+import org.reactive.r2dbc.iclient.annotation.ReadPrimary;
 import org.reactive.r2dbc.iclient.annotation.ResultMap;
 import org.reactive.r2dbc.iclient.annotation.Results;
 import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.annotation.ShardKey;
 import org.reactive.r2dbc.iclient.annotation.Update;
+import org.reactive.r2dbc.iclient.cache.CacheNamespace;
+import org.reactive.r2dbc.iclient.cache.ResultCache;
+import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
 import org.reactive.r2dbc.iclient.core.R2dbcSqlSession;
 import org.reactive.r2dbc.iclient.exception.R2dbcBindingException;
 import org.reactive.r2dbc.iclient.exception.R2dbcQueryException;
+import org.reactive.r2dbc.iclient.mapping.BindingPlan;
 import org.reactive.r2dbc.iclient.reflection.ParameterResolver;
+import org.reactive.r2dbc.iclient.reflection.PropertyAccessor;
 import org.reactive.r2dbc.iclient.reflection.PropertyTokenizer;
 import org.reactive.r2dbc.iclient.type.SqlCommandType;
+import org.reactive.r2dbc.iclient.util.ExpandedSql;
 import org.reactive.r2dbc.iclient.util.NamedParameterUtils;
 import org.reactive.r2dbc.iclient.util.ParsedSql;
+import org.reactivestreams.Publisher;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import org.springframework.util.ClassUtils;
 
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -41,24 +67,140 @@ public class R2dbcMapperMethod {
 
 	private final SqlCommand command;
 	private final MethodSignature method;
+	private final BindingPlan bindingPlan;
+	private volatile BiFunction<Row, RowMetadata, ?> rowMapper;
+	private volatile ResultCache resultCache;
+	private final R2dbcMapperMethod batchSelectMethod;
 
 	public R2dbcMapperMethod(Class<?> mapperInterface, Method method) {
 		this.method = new MethodSignature(mapperInterface, method);
 		this.command = new SqlCommand(method);
+		this.bindingPlan = new BindingPlan(command, this.method.getParamNameResolver());
+		if (method.isAnnotationPresent(BatchSelect.class)) {
+			if (command.getType() != SqlCommandType.SELECT || this.method.isReturnsMany()
+					|| method.getParameterCount() != 1) {
+				throw new R2dbcQueryException("@BatchSelect requires a select method '" + method.getName()
+						+ "' with a single key parameter returning Mono.");
+			}
+			this.batchSelectMethod = new R2dbcMapperMethod(this.method,
+					new SqlCommand(method.getAnnotation(BatchSelect.class).value()));
+		} else {
+			this.batchSelectMethod = null;
+		}
+		if (method.isAnnotationPresent(Cache.class) && command.getType() != SqlCommandType.SELECT) {
+			throw new R2dbcQueryException("@Cache is only supported for select method '" + method.getName() + "'.");
+		}
+		if (this.method.isBatch()) {
+			if (command.getType() == SqlCommandType.SELECT) {
+				throw new R2dbcQueryException("@Batch is not supported for select method '" + method.getName() + "'.");
+			}
+			if (this.method.isMultiRow() && (command.getType() != SqlCommandType.INSERT
+					|| NamedParameterUtils.findValuesTuple(command.getParsedSql()) == null)) {
+				throw new R2dbcQueryException("Multi-row batch method '" + method.getName()
+						+ "' requires an insert statement with VALUES tuple.");
+			}
+			if (command.isRetrieveId() && !this.method.isReturnsMany()) {
+				throw new R2dbcQueryException(
+						"Batch method '" + method.getName() + "' retrieving '" + command.getIdColumn()
+								+ "' must return Flux.");
+			}
+		}
+	}
+
+	private R2dbcMapperMethod(MethodSignature method, SqlCommand command) {
+		this.method = method;
+		this.command = command;
+		this.bindingPlan = new BindingPlan(command, method.getParamNameResolver());
+		this.batchSelectMethod = null;
 	}
 
 	public SqlCommand getCommand() {
 		return command;
 	}
 
+	/**
+	 * Returns the method executing the {@link BatchSelect} statement of this
+	 * method, sharing its signature and result mapping, or {@code null} if calls
+	 * are not batched.
+	 */
+	public R2dbcMapperMethod getBatchSelectMethod() {
+		return batchSelectMethod;
+	}
+
 	public MethodSignature getMethod() {
 		return method;
 	}
 
+	public BindingPlan getBindingPlan() {
+		return bindingPlan;
+	}
+
+	/**
+	 * Returns the row mapper of this method's result map, or {@code null} if
+	 * results are not mapped. The mapper is created once per method so that its
+	 * column index cache follows this statement's result shape.
+	 * 
+	 * @param configuration configuration holding result maps
+	 * @return row mapper or {@code null}
+	 */
+	public BiFunction<Row, RowMetadata, ?> getRowMapper(R2dbcConfiguration configuration) {
+		BiFunction<Row, RowMetadata, ?> mapper = rowMapper;
+		if (mapper == null && StringUtils.isNotBlank(method.getResultMap())) {
+			if (configuration.getResultMap(method.getResultMap()) != null) {
+				mapper = configuration.getResultMap(method.getResultMap()).newStatementMapper();
+				rowMapper = mapper;
+			}
+		}
+		return mapper;
+	}
+
+	/**
+	 * Returns the result cache of this method, or {@code null} if results are not
+	 * cached. The cache belongs to the mapper's {@link CacheNamespace} of given
+	 * configuration.
+	 * 
+	 * @param configuration configuration holding cache namespaces
+	 * @return result cache or {@code null}
+	 */
+	public ResultCache getResultCache(R2dbcConfiguration configuration) {
+		ResultCache cache = resultCache;
+		if (cache == null && method.getCache() != null && command.getType() == SqlCommandType.SELECT) {
+			Cache settings = method.getCache();
+			cache = new ResultCache(configuration.getCacheNamespace(method.getMapperInterface()),
+					settings.timeUnit().toNanos(settings.ttl()), settings.size());
+			resultCache = cache;
+		}
+		return cache;
+	}
+
+	/**
+	 * Prepares everything a call needs ahead of the first call: expands the
+	 * statement for the database dialect and creates row mapper and result cache.
+	 * 
+	 * @param configuration configuration of the session
+	 */
+	public void prepare(R2dbcConfiguration configuration) {
+		if (configuration.getBindMarkersFactory() != null) {
+			command.getExpandedSql(configuration.getBindMarkersFactory());
+		}
+		getRowMapper(configuration);
+		getResultCache(configuration);
+		if (batchSelectMethod != null) {
+			batchSelectMethod.prepare(configuration);
+		}
+	}
+
 	public Object execute(R2dbcSqlSession session, Object[] args) {
+		if (method.isBatch()) {
+			return executeBatch(session, args);
+		}
 		Object result = null;
 		switch (command.getType()) {
 		case SELECT: {
+			if (batchSelectMethod != null) {
+				result = session.selectBatched(this, args[0]);
+				break;
+			}
 			Object param = this.method.getNamedParameter(args);
 			if (method.isReturnsVoid()) {
 				session.select(this, param);
@@ -95,6 +237,14 @@ public class R2dbcMapperMethod {
 		return result;
 	}
 
+	private Object executeBatch(R2dbcSqlSession session, Object[] args) {
+		Flux<Object> result = session.batch(this, method.getBatchParameters(args));
+		if (method.isReturnsMany()) {
+			return result;
+		}
+		return result.cast(Integer.class).reduce(0, Integer::sum);
+	}
+
 	/**
 	 * Holds mapper's method information about arguments names, values, return type
 	 * and result map.
@@ -103,15 +253,34 @@ public class R2dbcMapperMethod {
 	 */
 	public static class MethodSignature {
 		private final String name;
+		private final Class<?> mapperInterface;
+		private final Cache cache;
+		private final BatchSelect batchSelect;
+		private final boolean readPrimary;
+		private final PropertyAccessor shardKey;
+		private final Class<?> keyType;
 		private final boolean returnsMany;
 		private final boolean returnsVoid;
 		private final Class<?> returnType;
 		private final Class<?> returnInferredType;
 		private final ParameterResolver paramNameResolver;
+		private final int batchParamIndex;
+		private final int batchSize;
+		private final boolean multiRow;
+		private final int maxParameters;
 		private String resultMap;
 
 		public MethodSignature(Class<?> mapperInterface, Method method) {
 			name = method.getName();
+			this.mapperInterface = mapperInterface;
+			this.cache = method.isAnnotationPresent(Cache.class) ? method.getAnnotation(Cache.class)
+					: mapperInterface.getAnnotation(Cache.class);
+			this.batchSelect = method.getAnnotation(BatchSelect.class);
+			this.readPrimary = method.isAnnotationPresent(ReadPrimary.class)
+					|| mapperInterface.isAnnotationPresent(ReadPrimary.class);
+			this.keyType = method.getParameterCount() == 1
+					? ClassUtils.resolvePrimitiveIfNecessary(method.getParameterTypes()[0])
+					: null;
 			if (method.getReturnType().equals(Flux.class)) {
 				returnType = Flux.class;
 				returnsMany = true;
@@ -122,6 +291,24 @@ public class R2dbcMapperMethod {
 			this.returnInferredType = parseInferredClass(method.getGenericReturnType());
 			this.returnsVoid = this.returnInferredType.equals(Void.TYPE);
 			this.paramNameResolver = new ParameterResolver(method);
+			this.shardKey = parseShardKey(method);
+			if (method.isAnnotationPresent(Batch.class)) {
+				Batch batch = method.getAnnotation(Batch.class);
+				batchSize = batch.size();
+				multiRow = batch.multiRow();
+				maxParameters = batch.maxParameters();
+				batchParamIndex = StringUtils.isNotBlank(batch.value()) ? paramNameResolver.getIndex(batch.value())
+						: parseBatchParamIndex(method.getParameterTypes());
+				if (batchParamIndex < 0) {
+					throw new R2dbcBindingException("Batch parameter " + batch.value() + " not found for method "
+							+ name + ". Please specify a single Flux, collection or array parameter.");
+				}
+			} else {
+				batchSize = 0;
+				multiRow = false;
+				maxParameters = 0;
+				batchParamIndex = -1;
+			}
 			if (method.isAnnotationPresent(Select.class)
 					&& StringUtils.isNotBlank(method.getAnnotation(Select.class).resultMap())) {
 				resultMap = method.getAnnotation(Select.class).resultMap();
@@ -170,6 +357,118 @@ public class R2dbcMapperMethod {
 			return this.paramNameResolver.getNamedParameter(args);
 		}
 
+		public Class<?> getMapperInterface() {
+			return mapperInterface;
+		}
+
+		public Cache getCache() {
+			return cache;
+		}
+
+		public BatchSelect getBatchSelect() {
+			return batchSelect;
+		}
+
+		public boolean isReadPrimary() {
+			return readPrimary;
+		}
+
+		public boolean hasShardKey() {
+			return shardKey != null;
+		}
+
+		/**
+		 * Returns the shard key value of a call.
+		 *
+		 * @param param named parameters of the call
+		 * @return the shard key, or {@code null} if the method has no shard key or
+		 *         its value is {@code null}
+		 */
+		public Object getShardKey(Object param) {
+			return shardKey != null && param != null ? shardKey.getValue(param) : null;
+		}
+
+		private PropertyAccessor parseShardKey(Method method) {
+			Annotation[][] paramAnnotations = method.getParameterAnnotations();
+			String[] names = paramNameResolver.getNames();
+			PropertyAccessor accessor = null;
+			for (int i = 0; i < paramAnnotations.length; i++) {
+				for (Annotation annotation : paramAnnotations[i]) {
+					if (annotation instanceof ShardKey) {
+						if (accessor != null) {
+							throw new R2dbcBindingException(
+									"Only one @ShardKey parameter is allowed for method " + method.getName());
+						}
+						String property = ((ShardKey) annotation).value();
+						accessor = PropertyAccessor
+								.compile(StringUtils.isNotBlank(property) ? names[i] + "." + property : names[i],
+										paramNameResolver);
+					}
+				}
+			}
+			return accessor;
+		}
+
+		public Class<?> getKeyType() {
+			return keyType;
+		}
+
+		public boolean isBatch() {
+			return batchParamIndex >= 0;
+		}
+
+		public int getBatchSize() {
+			return batchSize;
+		}
+
+		public boolean isMultiRow() {
+			return multiRow;
+		}
+
+		public int getMaxParameters() {
+			return maxParameters;
+		}
+
+		/**
+		 * Returns named parameters for every element of the batch parameter. Other
+		 * arguments are passed unchanged with each element.
+		 * 
+		 * @param args mapper method arguments
+		 * @return named parameters per batch element
+		 */
+		public Flux<Object> getBatchParameters(Object[] args) {
+			Object source = args[batchParamIndex];
+			Flux<?> elements;
+			if (source == null) {
+				elements = Flux.empty();
+			} else if (source instanceof Publisher) {
+				elements = Flux.from((Publisher<?>) source);
+			} else if (source instanceof Iterable) {
+				elements = Flux.fromIterable((Iterable<?>) source);
+			} else {
+				elements = Flux.range(0, Array.getLength(source)).map(i -> Array.get(source, i));
+			}
+			return elements.map(element -> {
+				Object[] elementArgs = args.clone();
+				elementArgs[batchParamIndex] = element;
+				return getNamedParameter(elementArgs);
+			});
+		}
+
+		private static int parseBatchParamIndex(Class<?>[] parameterTypes) {
+			int index = -1;
+			for (int i = 0; i < parameterTypes.length; i++) {
+				if (Publisher.class.isAssignableFrom(parameterTypes[i])
+						|| Iterable.class.isAssignableFrom(parameterTypes[i]) || parameterTypes[i].isArray()) {
+					if (index >= 0) {
+						return -1;
+					}
+					index = i;
+				}
+			}
+			return index;
+		}
+
 		public static Class<?> parseInferredClass(Type genericType) {
 			Class<?> inferredClass = null;
 			if (genericType instanceof ParameterizedType) {
@@ -212,14 +511,38 @@ public class R2dbcMapperMethod {
 	 */
 	public static class SqlCommand {
 
+		private static final int MAX_IN_LIST_SHAPES = 64;
+		private static final int MAX_MULTI_ROW_SHAPES = 64;
+
 		private final String name;
 		private final String statement;
 		private final SqlCommandType type;
 		private boolean retrieveId;
 		private String idColumn;
 		private Class<?> idType;
-		private Map<String, PropertyTokenizer> propertyMapper = new HashMap<>();
+		private Map<String, PropertyTokenizer> propertyMapper = new LinkedHashMap<>();
 		private Map<String, Class<?>> propertyClass = new HashMap<>();
+		private ParsedSql parsedSql;
+		private final Map<BindMarkersFactory, ExpandedSql> expandedSql = new ConcurrentHashMap<>();
+		private final Map<ShapeKey, ExpandedSql> multiRowSql = new ConcurrentHashMap<>();
+		private final Map<ShapeKey, ExpandedSql> inListSql = new ConcurrentHashMap<>();
+		private final Set<String> inListProperties = new HashSet<>();
+		private final Set<String> notInListProperties = new HashSet<>();
+		private boolean inListPadding;
+		private int fetchSize = -1;
+
+		/**
+		 * Creates a select command of given statement, not declared by a mapper
+		 * method annotation.
+		 * 
+		 * @param statement select statement
+		 */
+		public SqlCommand(String statement) {
+			this.type = SqlCommandType.SELECT;
+			this.name = type.name();
+			this.statement = statement;
+			parseSql();
+		}
 
 		public SqlCommand(Method method) {
 			type = SqlCommandType.getType(method);
@@ -229,6 +552,8 @@ public class R2dbcMapperMethod {
 			case SELECT:
 				statement = ((Select) method.getAnnotation(type.getAnnotation())).value();
 				propertyList = ((Select) method.getAnnotation(type.getAnnotation())).propertyMapper();
+				inListPadding = ((Select) method.getAnnotation(type.getAnnotation())).inListPadding();
+				fetchSize = ((Select) method.getAnnotation(type.getAnnotation())).fetchSize();
 				break;
 			case INSERT:
 				statement = ((Insert) method.getAnnotation(type.getAnnotation())).value();
@@ -298,18 +623,131 @@ public class R2dbcMapperMethod {
 			return type;
 		}
 
+		public boolean hasPropertyClass(String propertyName) {
+			return propertyClass.containsKey(propertyName);
+		}
+
 		public Class<?> getPropertyClass(String propertyName) {
 			return Optional.ofNullable(propertyClass.get(propertyName))
 					.orElseThrow(() -> new R2dbcBindingException("Class defination require for null property '"
 							+ propertyName + "'. Please specify property and class mapping."));
 		}
 
+		public boolean isInListPadding() {
+			return inListPadding;
+		}
+
+		public int getFetchSize() {
+			return fetchSize;
+		}
+
+		/**
+		 * Returns whether every occurrence of a property is the only element of an
+		 * {@code IN} list, so that a collection value is expanded into a list of bind
+		 * markers.
+		 * 
+		 * @param propertyName property of {@link #getPropertyMapper()}
+		 * @return whether the property is an {@code IN} list
+		 */
+		public boolean isInListProperty(String propertyName) {
+			return inListProperties.contains(propertyName);
+		}
+
+		/**
+		 * Returns whether an occurrence of an {@code IN} list property is negated,
+		 * e.g. {@code id not in (:ids)}.
+		 * 
+		 * @param propertyName property of {@link #getPropertyMapper()}
+		 * @return whether the property is a {@code NOT IN} list
+		 */
+		public boolean isNotInListProperty(String propertyName) {
+			return notInListProperties.contains(propertyName);
+		}
+
+		public ParsedSql getParsedSql() {
+			return parsedSql;
+		}
+
+		/**
+		 * Returns the statement expanded into bind markers of given dialect. Bind
+		 * markers are ordered as properties of {@link #getPropertyMapper()}.
+		 * 
+		 * @param bindMarkersFactory dialect bind markers
+		 * @return expanded statement
+		 */
+		public ExpandedSql getExpandedSql(BindMarkersFactory bindMarkersFactory) {
+			ExpandedSql sql = expandedSql.get(bindMarkersFactory);
+			if (sql == null) {
+				sql = expandedSql.computeIfAbsent(bindMarkersFactory, factory -> NamedParameterUtils
+						.expandSql(parsedSql, factory, new ArrayList<>(propertyMapper.keySet())));
+			}
+			return sql;
+		}
+
+		/**
+		 * Returns the statement expanded into bind markers of given dialect with its
+		 * value tuple repeated for given number of rows. Statements are cached per
+		 * dialect and number of rows up to {@value #MAX_MULTI_ROW_SHAPES} per
+		 * command, further shapes are expanded per call.
+		 * 
+		 * @param bindMarkersFactory dialect bind markers of the configuration
+		 * @param rows               number of rows
+		 * @return expanded statement
+		 */
+		public ExpandedSql getExpandedSql(BindMarkersFactory bindMarkersFactory, int rows) {
+			ShapeKey shape = new ShapeKey(bindMarkersFactory, rows, null);
+			ExpandedSql sql = multiRowSql.get(shape);
+			if (sql == null) {
+				sql = NamedParameterUtils.expandMultiRowSql(parsedSql, bindMarkersFactory,
+						new ArrayList<>(propertyMapper.keySet()), rows);
+				if (multiRowSql.size() < MAX_MULTI_ROW_SHAPES) {
+					multiRowSql.putIfAbsent(shape, sql);
+				}
+			}
+			return sql;
+		}
+
+		/**
+		 * Returns the statement expanded into bind markers of given dialect with
+		 * collection parameters expanded into lists of bind markers. Statement shapes
+		 * are cached per dialect and value counts up to {@value #MAX_IN_LIST_SHAPES}
+		 * per command, further shapes are expanded per call.
+		 * 
+		 * @param bindMarkersFactory dialect bind markers of the configuration
+		 * @param valueCounts        bind markers per parameter, {@code -1} for single
+		 *                           values
+		 * @return expanded statement
+		 */
+		public ExpandedSql getExpandedSql(BindMarkersFactory bindMarkersFactory, int[] valueCounts) {
+			ShapeKey shape = new ShapeKey(bindMarkersFactory, 1, valueCounts);
+			ExpandedSql sql = inListSql.get(shape);
+			if (sql == null) {
+				sql = NamedParameterUtils.expandSql(parsedSql, bindMarkersFactory,
+						new ArrayList<>(propertyMapper.keySet()), valueCounts);
+				if (inListSql.size() < MAX_IN_LIST_SHAPES) {
+					inListSql.putIfAbsent(shape, sql);
+				}
+			}
+			return sql;
+		}
+
 		private void parseSql() {
-			ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(statement);
-			for (String param : parsedSql.getParameterNames()) {
-				PropertyTokenizer property = new PropertyTokenizer(param);
+			parsedSql = NamedParameterUtils.parseSqlStatement(statement);
+			Set<String> singleValues = new HashSet<>();
+			List<String> params = parsedSql.getParameterNames();
+			for (int i = 0; i < params.size(); i++) {
+				PropertyTokenizer property = PropertyTokenizer.forPath(params.get(i));
 				propertyMapper.put(property.getOriginalProperty(), property);
+				if (!NamedParameterUtils.isInListParameter(parsedSql, i)) {
+					singleValues.add(params.get(i));
+				} else if (NamedParameterUtils.isNotInListParameter(parsedSql, i)) {
+					notInListProperties.add(params.get(i));
+				}
+				inListProperties.add(params.get(i));
 			}
+			// all occurrences of a parameter expand alike, so only lists everywhere
+			inListProperties.removeAll(singleValues);
+			notInListProperties.retainAll(inListProperties);
 		}
 
 		private void parsePropertyClass(PropertyMapper[] propertyList) {
@@ -319,5 +757,42 @@ public class R2dbcMapperMethod {
 				}
 			}
 		}
+
+		/**
+		 * Key of an expanded statement shape: the dialect, the number of rows and
+		 * the number of bind markers per collection parameter.
+		 */
+		private static final class ShapeKey {
+
+			private final BindMarkersFactory factory;
+			private final int rows;
+			private final int[] valueCounts;
+			private final int hash;
+
+			ShapeKey(BindMarkersFactory factory, int rows, int[] valueCounts) {
+				this.factory = factory;
+				this.rows = rows;
+				this.valueCounts = valueCounts;
+				this.hash = 31 * (31 * factory.hashCode() + rows) + Arrays.hashCode(valueCounts);
+			}
+
+			@Override
+			public boolean equals(Object o) {
+				if (this == o) {
+					return true;
+				}
+				if (!(o instanceof ShapeKey)) {
+					return false;
+				}
+				ShapeKey that = (ShapeKey) o;
+				return this.hash == that.hash && this.rows == that.rows && this.factory.equals(that.factory)
+						&& Arrays.equals(this.valueCounts, that.valueCounts);
+			}
+
+			@Override
+			public int hashCode() {
+				return hash;
+			}
+		}
 	}
 }
@@ -118,7 +118,7 @@ public class R2dbcMapperProxy<T> implements InvocationHandler, Serializable {
 		Object invoke(Object proxy, Method method, Object[] args, R2dbcSqlSession sqlSession) throws Throwable;
 	}
 
-	private static class PlainMethodInvoker implements MapperMethodInvoker {
+	static class PlainMethodInvoker implements MapperMethodInvoker {
 		private final R2dbcMapperMethod mapperMethod;
 
 		public PlainMethodInvoker(R2dbcMapperMethod mapperMethod) {
@@ -126,6 +126,10 @@ public class R2dbcMapperProxy<T> implements InvocationHandler, Serializable {
 			this.mapperMethod = mapperMethod;
 		}
 
+		R2dbcMapperMethod getMapperMethod() {
+			return mapperMethod;
+		}
+
 		@Override
 		public Object invoke(Object proxy, Method method, Object[] args, R2dbcSqlSession sqlSession) throws Throwable {
 			return mapperMethod.execute(sqlSession, args);
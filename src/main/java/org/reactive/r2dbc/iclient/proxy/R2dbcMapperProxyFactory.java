@@ -1,10 +1,12 @@
 package org.reactive.r2dbc.iclient.proxy;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
 import org.reactive.r2dbc.iclient.core.R2dbcSqlSession;
 
 /**
@@ -30,6 +32,30 @@ public class R2dbcMapperProxyFactory<T> {
 		return methodCache;
 	}
 
+	/**
+	 * Creates and prepares mapper methods of all abstract methods of the mapper
+	 * interface, so that first calls don't parse and expand statements.
+	 * 
+	 * @param configuration configuration of the session
+	 * @return number of prepared methods
+	 */
+	public int prepare(R2dbcConfiguration configuration) {
+		int prepared = 0;
+		for (Method method : mapperInterface.getMethods()) {
+			if (method.isDefault() || Modifier.isStatic(method.getModifiers())
+					|| Object.class.equals(method.getDeclaringClass())) {
+				continue;
+			}
+			R2dbcMapperProxy.MapperMethodInvoker invoker = methodCache.computeIfAbsent(method,
+					m -> new R2dbcMapperProxy.PlainMethodInvoker(new R2dbcMapperMethod(mapperInterface, m)));
+			if (invoker instanceof R2dbcMapperProxy.PlainMethodInvoker) {
+				((R2dbcMapperProxy.PlainMethodInvoker) invoker).getMapperMethod().prepare(configuration);
+				prepared++;
+			}
+		}
+		return prepared;
+	}
+
 	@SuppressWarnings("unchecked")
 	protected T newInstance(R2dbcMapperProxy<T> mapperProxy) {
 		return (T) Proxy.newProxyInstance(mapperInterface.getClassLoader(), new Class[] { mapperInterface },
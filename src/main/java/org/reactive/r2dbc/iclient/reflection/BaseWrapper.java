@@ -9,7 +9,10 @@ import org.reactive.r2dbc.iclient.exception.R2dbcReflectionException;
  * Base wrapper to retrieve a value from method arguments.
  * 
  * @author Bhautik Bhanani
+ * @deprecated mapper methods bind through compiled {@link PropertyAccessor}s,
+ *             use {@link PropertyAccessor#forPath(String)} to read a path
  */
+@Deprecated
 public abstract class BaseWrapper implements ObjectWrapper{
 
 	private static final String EMPTY_STRING = "";
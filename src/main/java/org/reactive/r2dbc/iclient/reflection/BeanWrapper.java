@@ -1,15 +1,14 @@
 package org.reactive.r2dbc.iclient.reflection;
 
-import java.lang.reflect.InvocationTargetException;
-
-import org.apache.commons.beanutils.PropertyUtils;
-import org.reactive.r2dbc.iclient.exception.R2dbcReflectionException;
-
 /**
- * Wrapper to retrieve a value from Bean.
+ * Wrapper to retrieve a value from Bean, using the {@link PropertyGetter}
+ * shared by all mappers.
  * 
  * @author Bhautik Bhanani
+ * @deprecated mapper methods bind through compiled {@link PropertyAccessor}s,
+ *             use {@link PropertyAccessor#forPath(String)} to read a path
  */
+@Deprecated
 public class BeanWrapper extends BaseWrapper {
 
 	private final Object object;
@@ -24,15 +23,8 @@ public class BeanWrapper extends BaseWrapper {
 		if (property.getIndex() != null) {
 			Object collection = resolveCollection(property, object);
 			return getCollectionValue(property, collection);
-		} else {
-			try {
-				// return FieldUtils.readField(object, property.getName(), Boolean.TRUE);
-				return PropertyUtils.getProperty(object, property.getName());
-			} catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-				throw new R2dbcReflectionException("Could not get property '" + property.getName() + "' from "
-						+ (object != null ? object.getClass() : "null object") + ". Cause: " + e.toString(), e);
-			}
 		}
+		return PropertyGetter.forProperty(object.getClass(), property.getName()).getValue(object);
 	}
 
 }
@@ -6,7 +6,10 @@ import java.util.Map;
  * Wrapper to retrieve value from Map, collection or array.
  * 
  * @author Bhautik Bhanani
+ * @deprecated mapper methods bind through compiled {@link PropertyAccessor}s,
+ *             use {@link PropertyAccessor#forPath(String)} to read a path
  */
+@Deprecated
 public class MapWrapper extends BaseWrapper {
 
 	private final Map<String, Object> map;
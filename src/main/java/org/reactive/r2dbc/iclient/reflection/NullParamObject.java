@@ -6,7 +6,10 @@ package org.reactive.r2dbc.iclient.reflection;
  * Note: Internal use only.
  * 
  * @author Bhautik Bhanani
+ * @deprecated mapper methods bind through compiled {@link PropertyAccessor}s,
+ *             use {@link PropertyAccessor#forPath(String)} to read a path
  */
+@Deprecated
 public class NullParamObject {
 	public static final ParamObject NULL_PARAM_OBJECT = ParamObject.forObject(NullObject.class);
 
@@ -4,7 +4,10 @@ package org.reactive.r2dbc.iclient.reflection;
  * Object wrapper to retrieve value from method arguments.
  * 
  * @author Bhautik Bhanani
+ * @deprecated mapper methods bind through compiled {@link PropertyAccessor}s,
+ *             use {@link PropertyAccessor#forPath(String)} to read a path
  */
+@Deprecated
 public interface ObjectWrapper {
 
 	public Object get(PropertyTokenizer property);
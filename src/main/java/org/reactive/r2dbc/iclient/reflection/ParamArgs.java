@@ -0,0 +1,90 @@
+package org.reactive.r2dbc.iclient.reflection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.reactive.r2dbc.iclient.exception.R2dbcBindingException;
+
+/**
+ * Read-only view of the arguments of a mapper method call by parameter name.
+ * Positions of parameters are resolved once per method by
+ * {@link ParameterResolver}, so accessors compiled for the method read an
+ * argument by index instead of hashing its name.
+ * 
+ * @author Bhautik Bhanani
+ */
+public final class ParamArgs extends AbstractMap<String, Object> {
+
+	private final ParameterResolver resolver;
+	private final Object[] args;
+
+	ParamArgs(ParameterResolver resolver, Object[] args) {
+		this.resolver = resolver;
+		this.args = args;
+	}
+
+	public ParameterResolver getResolver() {
+		return resolver;
+	}
+
+	public Object get(int index) {
+		return args[index];
+	}
+
+	@Override
+	public Object get(Object key) {
+		int index = key instanceof String ? resolver.getIndex((String) key) : -1;
+		if (index < 0) {
+			throw new R2dbcBindingException("Parameter '" + key + "' not found. Available parameters are "
+					+ Arrays.toString(resolver.getNames()));
+		}
+		return args[index];
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof String && resolver.getIndex((String) key) >= 0;
+	}
+
+	@Override
+	public int size() {
+		return resolver.getParameterCount();
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return new AbstractSet<Entry<String, Object>>() {
+
+			@Override
+			public Iterator<Entry<String, Object>> iterator() {
+				return new Iterator<Entry<String, Object>>() {
+
+					private int index;
+
+					@Override
+					public boolean hasNext() {
+						return index < size();
+					}
+
+					@Override
+					public Entry<String, Object> next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						int i = index++;
+						return new SimpleImmutableEntry<>(resolver.getName(i), args[i]);
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return resolver.getParameterCount();
+			}
+		};
+	}
+}
@@ -5,14 +5,22 @@ import static org.reactive.r2dbc.iclient.reflection.NullParamObject.NULL_PARAM_O
 import java.util.Map;
 
 /**
+ * Reads property paths from an object. Nested paths are read by the shared
+ * {@link PropertyAccessor} of the path.
+ * 
  * @author Bhautik Bhanani
+ * @deprecated mapper methods bind through compiled {@link PropertyAccessor}s,
+ *             use {@link PropertyAccessor#forPath(String)} to read a path
  */
+@Deprecated
 public class ParamObject {
 
-	private ObjectWrapper objectWrapper;
+	private final Object object;
+	private final ObjectWrapper objectWrapper;
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private ParamObject(Object object) {
+		this.object = object;
 		if (object instanceof Map) {
 			objectWrapper = new MapWrapper(this, (Map) object);
 		} else {
@@ -29,23 +37,14 @@ public class ParamObject {
 
 	public Object getValue(PropertyTokenizer prop) {
 		if (prop.hasNext()) {
-			ParamObject paramObject = paramObjectForProperty(prop.getIndexedName());
-			if (paramObject == NULL_PARAM_OBJECT) {
-				return null;
-			}
-			return paramObject.getValue(prop.getChildren());
+			return this == NULL_PARAM_OBJECT ? null
+					: PropertyAccessor.forPath(prop.getOriginalProperty()).getValue(object);
 		}
 		return objectWrapper.get(prop);
 	}
 
 	public Object getValue(String property) {
-		PropertyTokenizer prop = new PropertyTokenizer(property);
-		return getValue(prop);
-	}
-
-	private ParamObject paramObjectForProperty(String property) {
-		Object value = getValue(property);
-		return ParamObject.forObject(value);
+		return getValue(PropertyTokenizer.forPath(property));
 	}
 
 }
@@ -2,14 +2,9 @@ package org.reactive.r2dbc.iclient.reflection;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.lang.reflect.Type;
 
 import org.reactive.r2dbc.iclient.annotation.Param;
-import org.reactive.r2dbc.iclient.exception.R2dbcBindingException;
 import org.reactive.r2dbc.iclient.exception.R2dbcReflectionException;
 
 /**
@@ -19,12 +14,14 @@ import org.reactive.r2dbc.iclient.exception.R2dbcReflectionException;
  */
 public class ParameterResolver {
 
-	private final SortedMap<Integer, String> names;
+	private final String[] names;
+	private final Type[] types;
 
 	public ParameterResolver(Method method) {
 		final Annotation[][] paramAnnotations = method.getParameterAnnotations();
-		final SortedMap<Integer, String> map = new TreeMap<>();
+		types = method.getGenericParameterTypes();
 		int paramCount = paramAnnotations.length;
+		names = new String[paramCount];
 		for (int paramIndex = 0; paramIndex < paramCount; paramIndex++) {
 			String name = null;
 			for (Annotation annotation : paramAnnotations[paramIndex]) {
@@ -37,38 +34,55 @@ public class ParameterResolver {
 				throw new R2dbcReflectionException(
 						"Parameter name is required at index " + paramIndex + " for method " + method.getName());
 			}
-			map.put(paramIndex, name);
+			names[paramIndex] = name;
 		}
-		names = Collections.unmodifiableSortedMap(map);
 	}
 
 	public String[] getNames() {
-		return names.values().toArray(new String[0]);
+		return names.clone();
 	}
 
-	public Object getNamedParameter(Object[] args) {
-		final int paramCount = names.size();
-		if (args == null || paramCount == 0) {
-			return null;
-		} else {
-			final Map<String, Object> param = new ParamMap<>();
-			names.forEach((index, value) -> param.put(value, args[index]));
-			return param;
-		}
+	public int getParameterCount() {
+		return names.length;
 	}
 
-	public static class ParamMap<V> extends HashMap<String, V> {
+	public String getName(int index) {
+		return names[index];
+	}
 
-		private static final long serialVersionUID = -2212268410512043556L;
+	/**
+	 * Returns the generic type of a parameter.
+	 * 
+	 * @param index parameter position
+	 * @return declared parameter type
+	 */
+	public Type getGenericType(int index) {
+		return types[index];
+	}
 
-		@Override
-		public V get(Object key) {
-			if (!super.containsKey(key)) {
-				throw new R2dbcBindingException(
-						"Parameter '" + key + "' not found. Available parameters are " + keySet());
+	public int getIndex(String name) {
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(name)) {
+				return i;
 			}
-			return super.get(key);
 		}
+		return -1;
+	}
 
+	/**
+	 * Returns the parameter object of a call: {@code null} without parameters,
+	 * otherwise a {@link ParamArgs} map view over the arguments by parameter
+	 * name, also for a single parameter. Property paths compiled by
+	 * {@link PropertyAccessor#compile(String, ParameterResolver)} read its
+	 * arguments by position.
+	 * 
+	 * @param args method arguments
+	 * @return parameter object
+	 */
+	public Object getNamedParameter(Object[] args) {
+		if (args == null || names.length == 0) {
+			return null;
+		}
+		return new ParamArgs(this, args);
 	}
 }
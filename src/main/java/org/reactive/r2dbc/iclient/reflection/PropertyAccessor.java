@@ -0,0 +1,169 @@
+package org.reactive.r2dbc.iclient.reflection;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.reactive.r2dbc.iclient.exception.R2dbcReflectionException;
+
+/**
+ * Compiled accessor of a property path such as {@code user.address[0].city}.
+ *
+ * The path is tokenized once by {@link PropertyTokenizer} and each segment
+ * keeps the {@link PropertyGetter} of the last seen class, so repeated reads
+ * perform no tokenizing, no introspection and no wrapper allocation. Paths
+ * compiled for a mapper method resolve their first segment to a parameter
+ * position.
+ *
+ * @author Bhautik Bhanani
+ */
+public final class PropertyAccessor {
+
+	private static final int MAX_SHARED_PATHS = 4096;
+	private static final ConcurrentMap<String, PropertyAccessor> ACCESSORS = new ConcurrentHashMap<>();
+
+	private final String path;
+	private final Segment[] segments;
+
+	private PropertyAccessor(String path, Segment[] segments) {
+		this.path = path;
+		this.segments = segments;
+	}
+
+	public static PropertyAccessor compile(String path) {
+		return compile(path, null);
+	}
+
+	/**
+	 * Returns the shared accessor of a path reading from any object. Once
+	 * {@value #MAX_SHARED_PATHS} paths are shared, further paths are compiled per
+	 * call.
+	 *
+	 * @param path property path
+	 * @return shared compiled accessor
+	 */
+	public static PropertyAccessor forPath(String path) {
+		PropertyAccessor accessor = ACCESSORS.get(path);
+		if (accessor == null) {
+			accessor = compile(path);
+			if (ACCESSORS.size() < MAX_SHARED_PATHS) {
+				PropertyAccessor shared = ACCESSORS.putIfAbsent(path, accessor);
+				accessor = shared != null ? shared : accessor;
+			}
+		}
+		return accessor;
+	}
+
+	/**
+	 * Compiles a path reading from the parameter object of a mapper method, as
+	 * returned by {@link ParameterResolver#getNamedParameter(Object[])}. The first
+	 * segment names a parameter: it reads a {@link ParamArgs} argument by
+	 * position, and any other {@code Map}, e.g. one returned by an interceptor, by
+	 * name.
+	 *
+	 * @param path       property path
+	 * @param parameters parameters of the method, or {@code null} to read any
+	 *                   object
+	 * @return compiled accessor
+	 */
+	public static PropertyAccessor compile(String path, ParameterResolver parameters) {
+		List<Segment> segments = new ArrayList<>();
+		PropertyTokenizer property = PropertyTokenizer.forPath(path);
+		segments.add(new Segment(property, parameters));
+		while (property.hasNext()) {
+			property = property.next();
+			segments.add(new Segment(property, null));
+		}
+		return new PropertyAccessor(path, segments.toArray(new Segment[0]));
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * Reads the value of this path from given object. Returns {@code null} as soon
+	 * as any intermediate value is {@code null}.
+	 *
+	 * @param object root object
+	 * @return resolved value
+	 */
+	public Object getValue(Object object) {
+		Object current = object;
+		for (int i = 0; i < segments.length && current != null; i++) {
+			current = segments[i].get(current);
+		}
+		return current;
+	}
+
+	private static final class Segment {
+
+		private final String name;
+		private final String index;
+		private final int position;
+		private final ParameterResolver parameters;
+		private final int argIndex;
+		private volatile PropertyGetter getter;
+
+		Segment(PropertyTokenizer property, ParameterResolver parameters) {
+			this.name = property.getName();
+			this.index = property.getIndex();
+			this.position = parseIndex(property.getIndex());
+			this.parameters = parameters;
+			this.argIndex = parameters != null ? parameters.getIndex(name) : -1;
+		}
+
+		Object get(Object object) {
+			Object value = name.isEmpty() ? object : read(object);
+			if (index == null || value == null) {
+				return value;
+			}
+			return element(value);
+		}
+
+		@SuppressWarnings("rawtypes")
+		private Object read(Object object) {
+			if (argIndex >= 0 && object instanceof ParamArgs && ((ParamArgs) object).getResolver() == parameters) {
+				return ((ParamArgs) object).get(argIndex);
+			}
+			if (object instanceof Map) {
+				return ((Map) object).get(name);
+			}
+			PropertyGetter g = getter;
+			if (g == null || g.getType() != object.getClass()) {
+				g = PropertyGetter.forProperty(object.getClass(), name);
+				getter = g;
+			}
+			return g.getValue(object);
+		}
+
+		@SuppressWarnings("rawtypes")
+		private Object element(Object collection) {
+			if (collection instanceof Map) {
+				return ((Map) collection).get(index);
+			} else if (position < 0) {
+				throw new R2dbcReflectionException("Invalid index '" + index + "' for property '" + name + "'.");
+			} else if (collection instanceof List) {
+				return ((List) collection).get(position);
+			} else if (collection.getClass().isArray()) {
+				return Array.get(collection, position);
+			}
+			throw new R2dbcReflectionException(
+					"The '" + name + "' property of " + collection + " is not a List or Array.");
+		}
+
+		private static int parseIndex(String index) {
+			if (index == null) {
+				return -1;
+			}
+			try {
+				return Integer.parseInt(index);
+			} catch (NumberFormatException e) {
+				return -1;
+			}
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package org.reactive.r2dbc.iclient.reflection;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.reactive.r2dbc.iclient.exception.R2dbcReflectionException;
+
+/**
+ * Compiled getter of a bean property. Getters are introspected once per class
+ * and property and shared by all mappers, so reading a property is a
+ * {@link MethodHandle} call instead of a reflective lookup and invoke.
+ *
+ * @author Bhautik Bhanani
+ */
+public final class PropertyGetter {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	// per class, so getters do not keep classes of other class loaders reachable
+	private static final ClassValue<ConcurrentMap<String, PropertyGetter>> GETTERS = new ClassValue<ConcurrentMap<String, PropertyGetter>>() {
+		@Override
+		protected ConcurrentMap<String, PropertyGetter> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private final Class<?> type;
+	private final String name;
+	private final MethodHandle handle;
+
+	private PropertyGetter(Class<?> type, String name, MethodHandle handle) {
+		this.type = type;
+		this.name = name;
+		this.handle = handle;
+	}
+
+	/**
+	 * Returns the getter of a property of given class.
+	 *
+	 * @param type class declaring the property
+	 * @param name property name
+	 * @return shared getter
+	 * @throws R2dbcReflectionException if the property is not readable
+	 */
+	public static PropertyGetter forProperty(Class<?> type, String name) {
+		PropertyGetter getter = GETTERS.get(type).get(name);
+		if (getter == null) {
+			getter = GETTERS.get(type).computeIfAbsent(name, property -> resolve(type, property));
+		}
+		return getter;
+	}
+
+	public Class<?> getType() {
+		return type;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Object getValue(Object object) {
+		try {
+			return (Object) handle.invokeExact(object);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new R2dbcReflectionException(
+					"Could not get property '" + name + "' from " + type + ". Cause: " + e.toString(), e);
+		}
+	}
+
+	private static PropertyGetter resolve(Class<?> type, String name) {
+		PropertyDescriptor descriptor = null;
+		for (PropertyDescriptor pd : PropertyUtils.getPropertyDescriptors(type)) {
+			if (pd.getName().equals(name)) {
+				descriptor = pd;
+				break;
+			}
+		}
+		Method readMethod = descriptor != null ? MethodUtils.getAccessibleMethod(type, descriptor.getReadMethod())
+				: null;
+		if (readMethod == null) {
+			throw new R2dbcReflectionException(
+					"Could not get property '" + name + "' from " + type + ". Cause: no readable property found.");
+		}
+		try {
+			return new PropertyGetter(type, name,
+					MethodHandles.publicLookup().unreflect(readMethod).asType(GETTER_TYPE));
+		} catch (IllegalAccessException e) {
+			throw new R2dbcReflectionException(
+					"Could not get property '" + name + "' from " + type + ". Cause: " + e.toString(), e);
+		}
+	}
+}
@@ -1,36 +1,66 @@
 package org.reactive.r2dbc.iclient.reflection;
 
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * Parse property in a query.
+ * Parse property in a query. Tokenizers are immutable, so parsed paths and
+ * their children are shared through {@link #forPath(String)}, up to
+ * {@value #MAX_SHARED_PATHS} paths.
  * 
  * @author Bhautik Bhanani
  */
 public class PropertyTokenizer implements Iterator<PropertyTokenizer> {
 
-	private String originalProperty;
-	private String name;
+	private static final int MAX_SHARED_PATHS = 4096;
+	private static final ConcurrentMap<String, PropertyTokenizer> TOKENIZERS = new ConcurrentHashMap<>();
+
+	private final String originalProperty;
+	private final String name;
 	private final String indexedName;
-	private String index;
+	private final String index;
 	private final String children;
+	private volatile PropertyTokenizer next;
 
 	public PropertyTokenizer(String property) {
 		originalProperty = property;
 		int delim = property.indexOf('.');
 		if (delim > -1) {
-			name = property.substring(0, delim);
+			indexedName = property.substring(0, delim);
 			children = property.substring(delim + 1);
 		} else {
-			name = property;
+			indexedName = property;
 			children = null;
 		}
-		indexedName = name;
-		delim = name.indexOf('[');
+		delim = indexedName.indexOf('[');
 		if (delim > -1) {
-			index = name.substring(delim + 1, name.length() - 1);
-			name = name.substring(0, delim);
+			index = indexedName.substring(delim + 1, indexedName.length() - 1);
+			name = indexedName.substring(0, delim);
+		} else {
+			index = null;
+			name = indexedName;
+		}
+	}
+
+	/**
+	 * Returns the shared tokenizer of a property path. Once
+	 * {@value #MAX_SHARED_PATHS} paths are shared, further paths are parsed per
+	 * call.
+	 * 
+	 * @param property property path
+	 * @return parsed property
+	 */
+	public static PropertyTokenizer forPath(String property) {
+		PropertyTokenizer tokenizer = TOKENIZERS.get(property);
+		if (tokenizer == null) {
+			tokenizer = new PropertyTokenizer(property);
+			if (TOKENIZERS.size() < MAX_SHARED_PATHS) {
+				PropertyTokenizer shared = TOKENIZERS.putIfAbsent(property, tokenizer);
+				tokenizer = shared != null ? shared : tokenizer;
+			}
 		}
+		return tokenizer;
 	}
 
 	public String getOriginalProperty() {
@@ -60,7 +90,12 @@ public class PropertyTokenizer implements Iterator<PropertyTokenizer> {
 
 	@Override
 	public PropertyTokenizer next() {
-		return new PropertyTokenizer(children);
+		PropertyTokenizer tokenizer = next;
+		if (tokenizer == null) {
+			tokenizer = new PropertyTokenizer(children);
+			next = tokenizer;
+		}
+		return tokenizer;
 	}
 
 	@Override
@@ -0,0 +1,93 @@
+package org.reactive.r2dbc.iclient.routing;
+
+import static org.springframework.util.Assert.notEmpty;
+import static org.springframework.util.Assert.notNull;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Routes select statements to replica databases. A replica is chosen on
+ * subscription, either in turn or by the least number of outstanding
+ * statements.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class ReplicaRouter {
+
+	public enum Strategy {
+		ROUND_ROBIN, LEAST_OUTSTANDING
+	}
+
+	private final DatabaseClient[] replicas;
+	private final AtomicInteger[] outstanding;
+	private final AtomicInteger next = new AtomicInteger();
+	private final Strategy strategy;
+
+	public ReplicaRouter(List<DatabaseClient> replicas, Strategy strategy) {
+		notEmpty(replicas, "At least one replica DatabaseClient is required");
+		notNull(strategy, "Routing strategy must not be null");
+		this.replicas = replicas.toArray(new DatabaseClient[0]);
+		this.outstanding = new AtomicInteger[this.replicas.length];
+		for (int i = 0; i < outstanding.length; i++) {
+			outstanding[i] = new AtomicInteger();
+		}
+		this.strategy = strategy;
+	}
+
+	public Strategy getStrategy() {
+		return strategy;
+	}
+
+	public int getReplicaCount() {
+		return replicas.length;
+	}
+
+	/**
+	 * Returns the number of statements currently executing on given replica.
+	 */
+	public int getOutstanding(int replica) {
+		return outstanding[replica].get();
+	}
+
+	public <T> Mono<T> route(Function<DatabaseClient, Mono<T>> query) {
+		return Mono.defer(() -> {
+			int replica = choose();
+			outstanding[replica].incrementAndGet();
+			return query.apply(replicas[replica]).doFinally(signal -> outstanding[replica].decrementAndGet());
+		});
+	}
+
+	public <T> Flux<T> routeMany(Function<DatabaseClient, Flux<T>> query) {
+		return Flux.defer(() -> {
+			int replica = choose();
+			outstanding[replica].incrementAndGet();
+			return query.apply(replicas[replica]).doFinally(signal -> outstanding[replica].decrementAndGet());
+		});
+	}
+
+	private int choose() {
+		int start = (next.getAndIncrement() & Integer.MAX_VALUE) % replicas.length;
+		if (strategy == Strategy.ROUND_ROBIN) {
+			return start;
+		}
+		// scan from the round robin position so ties are spread evenly
+		int chosen = start;
+		int least = outstanding[start].get();
+		for (int i = 1; i < replicas.length && least > 0; i++) {
+			int replica = (start + i) % replicas.length;
+			int count = outstanding[replica].get();
+			if (count < least) {
+				chosen = replica;
+				least = count;
+			}
+		}
+		return chosen;
+	}
+}
@@ -0,0 +1,97 @@
+package org.reactive.r2dbc.iclient.routing;
+
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notEmpty;
+import static org.springframework.util.Assert.notNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Routes statements to one of several shard databases by a shard key.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class ShardRouter {
+
+	/**
+	 * Maps a shard key to the index of a shard.
+	 */
+	@FunctionalInterface
+	public interface Strategy {
+
+		/**
+		 * Chooses the shard by CRC32 of the key's canonical form, so a key maps to
+		 * the same shard in every JVM. Keys must be a {@link CharSequence},
+		 * {@link Number}, {@link UUID}, {@link Character} or {@link Enum}; numbers
+		 * of equal value map to the same shard, enums by name.
+		 */
+		Strategy HASH = (key, shards) -> (int) (stableHash(key) % shards);
+
+		int shard(Object key, int shards);
+	}
+
+	private final DatabaseClient[] shards;
+	private final Strategy strategy;
+
+	public ShardRouter(List<DatabaseClient> shards, Strategy strategy) {
+		notEmpty(shards, "At least one shard DatabaseClient is required");
+		notNull(strategy, "Sharding strategy must not be null");
+		this.shards = shards.toArray(new DatabaseClient[0]);
+		this.strategy = strategy;
+	}
+
+	public List<DatabaseClient> getShards() {
+		return Collections.unmodifiableList(Arrays.asList(shards));
+	}
+
+	/**
+	 * Returns the shard of given key.
+	 * 
+	 * @param key the shard key, not {@code null}
+	 * @return the shard's DatabaseClient
+	 */
+	public DatabaseClient route(Object key) {
+		int shard = strategy.shard(key, shards.length);
+		isTrue(shard >= 0 && shard < shards.length,
+				"Sharding strategy returned shard " + shard + " out of " + shards.length + " for key " + key);
+		return shards[shard];
+	}
+
+	private static long stableHash(Object key) {
+		CRC32 crc = new CRC32();
+		crc.update(canonicalForm(key).getBytes(StandardCharsets.UTF_8));
+		return crc.getValue();
+	}
+
+	private static String canonicalForm(Object key) {
+		if (key instanceof CharSequence || key instanceof UUID || key instanceof Character
+				|| key instanceof BigInteger) {
+			return key.toString();
+		}
+		if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+			return Long.toString(((Number) key).longValue());
+		}
+		if (key instanceof BigDecimal) {
+			BigDecimal decimal = ((BigDecimal) key).stripTrailingZeros();
+			return decimal.scale() <= 0 ? decimal.toBigInteger().toString() : decimal.toPlainString();
+		}
+		if (key instanceof Double || key instanceof Float) {
+			return Double.isFinite(((Number) key).doubleValue()) ? canonicalForm(new BigDecimal(key.toString()))
+					: key.toString();
+		}
+		if (key instanceof Enum) {
+			return ((Enum<?>) key).name();
+		}
+		throw new IllegalArgumentException("Shard key of type " + key.getClass().getName()
+				+ " has no stable hash, use a String, Number, UUID or Enum key or a custom Strategy");
+	}
+}
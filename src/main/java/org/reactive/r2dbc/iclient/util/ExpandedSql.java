@@ -0,0 +1,137 @@
+package org.reactive.r2dbc.iclient.util;
+
+import org.springframework.r2dbc.core.binding.BindMarker;
+
+/**
+ * Holds a {@link ParsedSql} statement expanded into native bind markers of a
+ * database dialect.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class ExpandedSql {
+
+	private final String sql;
+
+	private final BindMarker[][][] bindMarkers;
+
+	private final int[] valueCounts;
+
+	/**
+	 * Create a new instance of the {@link ExpandedSql} class.
+	 * 
+	 * @param sql         the SQL statement with native bind markers
+	 * @param bindMarkers the bind markers per parameter
+	 */
+	public ExpandedSql(String sql, BindMarker[][] bindMarkers) {
+		this(sql, new BindMarker[][][] { bindMarkers });
+	}
+
+	/**
+	 * Create a new instance of the {@link ExpandedSql} class for a statement with
+	 * collection parameters expanded into lists of bind markers.
+	 * 
+	 * @param sql         the SQL statement with native bind markers
+	 * @param bindMarkers the bind markers per parameter
+	 * @param valueCounts the number of bind markers per occurrence of a
+	 *                    parameter, or {@code -1} for a single value parameter
+	 */
+	public ExpandedSql(String sql, BindMarker[][] bindMarkers, int[] valueCounts) {
+		this.sql = sql;
+		this.bindMarkers = new BindMarker[][][] { bindMarkers };
+		this.valueCounts = valueCounts;
+	}
+
+	/**
+	 * Create a new instance of the {@link ExpandedSql} class for a statement
+	 * binding more than one row of values.
+	 * 
+	 * @param sql         the SQL statement with native bind markers
+	 * @param bindMarkers the bind markers per row and parameter
+	 */
+	public ExpandedSql(String sql, BindMarker[][][] bindMarkers) {
+		this.sql = sql;
+		this.bindMarkers = bindMarkers;
+		this.valueCounts = null;
+	}
+
+	/**
+	 * Return the SQL statement with native bind markers.
+	 */
+	public String getSql() {
+		return this.sql;
+	}
+
+	/**
+	 * Return the bind markers of a parameter. A parameter has more than one marker
+	 * if it occurs more than once and the dialect does not support identifiable
+	 * placeholders.
+	 * 
+	 * @param parameterPosition the position of the parameter in the parameter
+	 *                          order used to expand this statement
+	 * @return bind markers of the parameter
+	 */
+	public BindMarker[] getBindMarkers(int parameterPosition) {
+		return this.bindMarkers[0][parameterPosition];
+	}
+
+	/**
+	 * Return the bind markers of a parameter for a row of values.
+	 * 
+	 * @param row               the row of values
+	 * @param parameterPosition the position of the parameter in the parameter
+	 *                          order used to expand this statement
+	 * @return bind markers of the parameter
+	 */
+	public BindMarker[] getBindMarkers(int row, int parameterPosition) {
+		return this.bindMarkers[row][parameterPosition];
+	}
+
+	/**
+	 * Return the number of rows of values bound to this statement.
+	 */
+	public int getRows() {
+		return this.bindMarkers.length;
+	}
+
+	/**
+	 * Return whether a parameter was expanded into a list of bind markers, one per
+	 * element of a collection value.
+	 * 
+	 * @param parameterPosition the position of the parameter in the parameter
+	 *                          order used to expand this statement
+	 */
+	public boolean isExpanded(int parameterPosition) {
+		return this.valueCounts != null && this.valueCounts[parameterPosition] >= 0;
+	}
+
+	/**
+	 * Return the number of bind markers per occurrence of an expanded parameter.
+	 * 
+	 * @param parameterPosition the position of the parameter in the parameter
+	 *                          order used to expand this statement
+	 */
+	public int getValueCount(int parameterPosition) {
+		return this.valueCounts != null ? this.valueCounts[parameterPosition] : -1;
+	}
+
+	/**
+	 * Return the total number of bind markers of this statement.
+	 */
+	public int getBindMarkerCount() {
+		int count = 0;
+		for (BindMarker[][] row : this.bindMarkers) {
+			for (BindMarker[] markers : row) {
+				count += markers.length;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Exposes the expanded SQL String.
+	 */
+	@Override
+	public String toString() {
+		return this.sql;
+	}
+}
@@ -43,6 +43,12 @@ public class NamedParameterUtils {
 	 */
 	private static final String PARAMETER_SEPARATORS = "\"':&,;()|=+-*%/\\<>^";
 
+	private static final String VALUES_KEYWORD = "values";
+
+	private static final String IN_KEYWORD = "in";
+
+	private static final String NOT_KEYWORD = "not";
+
 	/**
 	 * An index with separator flags per character code. Technically only needed
 	 * between 34 and 124 at this point.
@@ -148,6 +154,285 @@ public class NamedParameterUtils {
 		return parsedSql;
 	}
 
+	/**
+	 * Expand a parsed SQL statement into native bind markers created by given
+	 * {@link BindMarkersFactory}.
+	 * 
+	 * @param parsedSql      the parsed SQL statement
+	 * @param factory        the dialect's bind markers factory
+	 * @param parameterOrder parameter names in the order their bind markers are
+	 *                       returned by {@link ExpandedSql#getBindMarkers(int)}
+	 * @return the expanded SQL statement
+	 */
+	public static ExpandedSql expandSql(ParsedSql parsedSql, BindMarkersFactory factory, List<String> parameterOrder) {
+		return expandSql(parsedSql, factory, parameterOrder, null);
+	}
+
+	/**
+	 * Expand a parsed SQL statement into native bind markers created by given
+	 * {@link BindMarkersFactory}, expanding every occurrence of a collection
+	 * parameter into a comma separated list of bind markers.
+	 * 
+	 * @param parsedSql      the parsed SQL statement
+	 * @param factory        the dialect's bind markers factory
+	 * @param parameterOrder parameter names in the order their bind markers are
+	 *                       returned by {@link ExpandedSql#getBindMarkers(int)}
+	 * @param valueCounts    the number of bind markers per occurrence of a
+	 *                       parameter in parameter order, {@code -1} for single
+	 *                       value parameters; may be {@code null}
+	 * @return the expanded SQL statement
+	 */
+	public static ExpandedSql expandSql(ParsedSql parsedSql, BindMarkersFactory factory, List<String> parameterOrder,
+			@Nullable int[] valueCounts) {
+		Assert.notNull(parsedSql, "ParsedSql must not be null");
+		Assert.notNull(factory, "BindMarkersFactory must not be null");
+
+		NamedParameters markerHolder = new NamedParameters(factory);
+		String originalSql = parsedSql.getOriginalSql();
+		List<String> paramNames = parsedSql.getParameterNames();
+		StringBuilder actualSql = new StringBuilder(originalSql.length());
+		int lastIndex = 0;
+		for (int i = 0; i < paramNames.size(); i++) {
+			int[] indexes = parsedSql.getParameterIndexes(i);
+			actualSql.append(originalSql, lastIndex, indexes[0]);
+			NamedParameters.NamedParameter parameter = markerHolder.getOrCreate(paramNames.get(i));
+			int count = valueCounts != null ? valueCounts[parameterOrder.indexOf(paramNames.get(i))] : -1;
+			if (count < 0) {
+				actualSql.append(parameter.getPlaceholder());
+			} else {
+				for (int k = 0; k < count; k++) {
+					if (k > 0) {
+						actualSql.append(", ");
+					}
+					actualSql.append(parameter.getPlaceholder(k));
+				}
+			}
+			lastIndex = indexes[1];
+		}
+		actualSql.append(originalSql, lastIndex, originalSql.length());
+
+		BindMarker[][] bindMarkers = new BindMarker[parameterOrder.size()][];
+		for (int i = 0; i < bindMarkers.length; i++) {
+			List<BindMarker> markers = new ArrayList<>();
+			addBindMarkers(markers, markerHolder, parameterOrder.get(i));
+			bindMarkers[i] = markers.toArray(new BindMarker[0]);
+		}
+		return valueCounts != null ? new ExpandedSql(actualSql.toString(), bindMarkers, valueCounts)
+				: new ExpandedSql(actualSql.toString(), bindMarkers);
+	}
+
+	/**
+	 * Find the first value tuple following the {@code VALUES} keyword of a parsed
+	 * SQL statement.
+	 * 
+	 * @param parsedSql the parsed SQL statement
+	 * @return start index of the opening and end index after the closing
+	 *         parenthesis, or {@code null} if the statement has no value tuple
+	 */
+	@Nullable
+	public static int[] findValuesTuple(ParsedSql parsedSql) {
+		String sql = parsedSql.getOriginalSql();
+		char[] statement = sql.toCharArray();
+		int i = 0;
+		while (i < statement.length) {
+			int skipToPosition = skipCommentsAndQuotes(statement, i);
+			if (skipToPosition != i) {
+				i = skipToPosition;
+				continue;
+			}
+			if (sql.regionMatches(true, i, VALUES_KEYWORD, 0, VALUES_KEYWORD.length())
+					&& (i == 0 || !Character.isJavaIdentifierPart(statement[i - 1]))) {
+				int j = i + VALUES_KEYWORD.length();
+				while (j < statement.length && Character.isWhitespace(statement[j])) {
+					j++;
+				}
+				if (j < statement.length && statement[j] == '(') {
+					int end = findClosingParenthesis(statement, j);
+					return end < 0 ? null : new int[] { j, end + 1 };
+				}
+			}
+			i++;
+		}
+		return null;
+	}
+
+	/**
+	 * Return whether an occurrence of a parameter is the only element of an
+	 * {@code IN} list, e.g. {@code id in (:ids)} or {@code id not in (:ids)}.
+	 * 
+	 * @param parsedSql         the parsed SQL statement
+	 * @param parameterPosition position of the occurrence in
+	 *                          {@link ParsedSql#getParameterNames()}
+	 * @return whether the occurrence is an {@code IN} list
+	 */
+	public static boolean isInListParameter(ParsedSql parsedSql, int parameterPosition) {
+		return findInKeyword(parsedSql, parameterPosition) >= 0;
+	}
+
+	/**
+	 * Return whether an occurrence of a parameter is the only element of a
+	 * {@code NOT IN} list, e.g. {@code id not in (:ids)}.
+	 * 
+	 * @param parsedSql         the parsed SQL statement
+	 * @param parameterPosition position of the occurrence in
+	 *                          {@link ParsedSql#getParameterNames()}
+	 * @return whether the occurrence is a {@code NOT IN} list
+	 */
+	public static boolean isNotInListParameter(ParsedSql parsedSql, int parameterPosition) {
+		int in = findInKeyword(parsedSql, parameterPosition);
+		if (in < 0) {
+			return false;
+		}
+		String sql = parsedSql.getOriginalSql();
+		int i = skipWhitespaceBackward(sql, in - 1);
+		return isKeywordBefore(sql, i + 1, NOT_KEYWORD);
+	}
+
+	/**
+	 * Returns the start index of the {@code IN} keyword of a parameter enclosed by
+	 * {@code IN (} and {@code )}, or {@code -1}.
+	 */
+	private static int findInKeyword(ParsedSql parsedSql, int parameterPosition) {
+		String sql = parsedSql.getOriginalSql();
+		int[] indexes = parsedSql.getParameterIndexes(parameterPosition);
+		int after = indexes[1];
+		while (after < sql.length() && Character.isWhitespace(sql.charAt(after))) {
+			after++;
+		}
+		if (after >= sql.length() || sql.charAt(after) != ')') {
+			return -1;
+		}
+		int before = skipWhitespaceBackward(sql, indexes[0] - 1);
+		if (before < 0 || sql.charAt(before) != '(') {
+			return -1;
+		}
+		before = skipWhitespaceBackward(sql, before - 1);
+		return isKeywordBefore(sql, before + 1, IN_KEYWORD) ? before + 1 - IN_KEYWORD.length() : -1;
+	}
+
+	private static int skipWhitespaceBackward(String sql, int position) {
+		while (position >= 0 && Character.isWhitespace(sql.charAt(position))) {
+			position--;
+		}
+		return position;
+	}
+
+	/**
+	 * Returns whether given keyword ends right before {@code end} and is not part
+	 * of a longer identifier.
+	 */
+	private static boolean isKeywordBefore(String sql, int end, String keyword) {
+		int start = end - keyword.length();
+		return start >= 0 && sql.regionMatches(true, start, keyword, 0, keyword.length())
+				&& (start == 0 || !Character.isJavaIdentifierPart(sql.charAt(start - 1)));
+	}
+
+	/**
+	 * Expand a parsed SQL statement into native bind markers, repeating its value
+	 * tuple once per row. Parameters outside the value tuple are bound once, with
+	 * the first row.
+	 * 
+	 * @param parsedSql      the parsed SQL statement
+	 * @param factory        the dialect's bind markers factory
+	 * @param parameterOrder parameter names in the order their bind markers are
+	 *                       returned by {@link ExpandedSql#getBindMarkers(int, int)}
+	 * @param rows           the number of rows
+	 * @return the expanded SQL statement
+	 */
+	public static ExpandedSql expandMultiRowSql(ParsedSql parsedSql, BindMarkersFactory factory,
+			List<String> parameterOrder, int rows) {
+		Assert.notNull(parsedSql, "ParsedSql must not be null");
+		Assert.notNull(factory, "BindMarkersFactory must not be null");
+		Assert.isTrue(rows > 0, "Rows must be greater than 0");
+		int[] tuple = findValuesTuple(parsedSql);
+		if (tuple == null) {
+			throw new InvalidDataAccessApiUsageException(
+					"No VALUES tuple found in statement: " + parsedSql.getOriginalSql());
+		}
+
+		BindMarkers bindMarkers = factory.create();
+		NamedParameters outside = new NamedParameters(bindMarkers, factory.identifiablePlaceholders());
+		NamedParameters[] rowParameters = new NamedParameters[rows];
+		String originalSql = parsedSql.getOriginalSql();
+		List<String> paramNames = parsedSql.getParameterNames();
+		StringBuilder actualSql = new StringBuilder(originalSql.length() + (tuple[1] - tuple[0] + 2) * (rows - 1));
+		int lastIndex = 0;
+		int i = 0;
+		for (; i < paramNames.size() && parsedSql.getParameterIndexes(i)[0] < tuple[0]; i++) {
+			int[] indexes = parsedSql.getParameterIndexes(i);
+			actualSql.append(originalSql, lastIndex, indexes[0]);
+			actualSql.append(outside.getOrCreate(paramNames.get(i)).getPlaceholder());
+			lastIndex = indexes[1];
+		}
+		actualSql.append(originalSql, lastIndex, tuple[0]);
+		int firstTupleParameter = i;
+		for (int row = 0; row < rows; row++) {
+			if (row > 0) {
+				actualSql.append(", ");
+			}
+			rowParameters[row] = new NamedParameters(bindMarkers, factory.identifiablePlaceholders());
+			lastIndex = tuple[0];
+			for (i = firstTupleParameter; i < paramNames.size()
+					&& parsedSql.getParameterIndexes(i)[0] < tuple[1]; i++) {
+				int[] indexes = parsedSql.getParameterIndexes(i);
+				actualSql.append(originalSql, lastIndex, indexes[0]);
+				actualSql.append(rowParameters[row].getOrCreate(paramNames.get(i)).getPlaceholder());
+				lastIndex = indexes[1];
+			}
+			actualSql.append(originalSql, lastIndex, tuple[1]);
+		}
+		lastIndex = tuple[1];
+		for (; i < paramNames.size(); i++) {
+			int[] indexes = parsedSql.getParameterIndexes(i);
+			actualSql.append(originalSql, lastIndex, indexes[0]);
+			actualSql.append(outside.getOrCreate(paramNames.get(i)).getPlaceholder());
+			lastIndex = indexes[1];
+		}
+		actualSql.append(originalSql, lastIndex, originalSql.length());
+
+		BindMarker[][][] markers = new BindMarker[rows][][];
+		for (int row = 0; row < rows; row++) {
+			markers[row] = new BindMarker[parameterOrder.size()][];
+			for (int p = 0; p < parameterOrder.size(); p++) {
+				List<BindMarker> rowMarkers = new ArrayList<>();
+				if (row == 0) {
+					addBindMarkers(rowMarkers, outside, parameterOrder.get(p));
+				}
+				addBindMarkers(rowMarkers, rowParameters[row], parameterOrder.get(p));
+				markers[row][p] = rowMarkers.toArray(new BindMarker[0]);
+			}
+		}
+		return new ExpandedSql(actualSql.toString(), markers);
+	}
+
+	private static void addBindMarkers(List<BindMarker> markers, NamedParameters parameters, String name) {
+		List<NamedParameters.NamedParameter> references = parameters.getMarker(name);
+		if (references != null) {
+			for (NamedParameters.NamedParameter reference : references) {
+				markers.addAll(reference.getBindMarkers());
+			}
+		}
+	}
+
+	private static int findClosingParenthesis(char[] statement, int position) {
+		int depth = 0;
+		int i = position;
+		while (i < statement.length) {
+			int skipToPosition = skipCommentsAndQuotes(statement, i);
+			if (skipToPosition != i) {
+				i = skipToPosition;
+				continue;
+			}
+			if (statement[i] == '(') {
+				depth++;
+			} else if (statement[i] == ')' && --depth == 0) {
+				return i;
+			}
+			i++;
+		}
+		return -1;
+	}
+
 	private static int skipCommentsAndQuotes(char[] statement, int position) {
 		for (int i = 0; i < START_SKIP.length; i++) {
 			if (statement[position] == START_SKIP[i].charAt(0)) {
@@ -266,8 +551,12 @@ public class NamedParameterUtils {
 		private final Map<String, List<NamedParameter>> references = new TreeMap<>();
 
 		NamedParameters(BindMarkersFactory factory) {
-			this.bindMarkers = factory.create();
-			this.identifiable = factory.identifiablePlaceholders();
+			this(factory.create(), factory.identifiablePlaceholders());
+		}
+
+		NamedParameters(BindMarkers bindMarkers, boolean identifiable) {
+			this.bindMarkers = bindMarkers;
+			this.identifiable = identifiable;
 		}
 
 		/**
@@ -330,6 +619,10 @@ public class NamedParameterUtils {
 				}
 				return this.placeholders.get(counter).getPlaceholder();
 			}
+
+			List<BindMarker> getBindMarkers() {
+				return this.placeholders;
+			}
 		}
 	}
 }
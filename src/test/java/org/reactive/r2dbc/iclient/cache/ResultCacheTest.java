@@ -0,0 +1,74 @@
+package org.reactive.r2dbc.iclient.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Tests caching results by generation of their {@link CacheNamespace}.
+ *
+ * @author Bhautik Bhanani
+ */
+class ResultCacheTest {
+
+	private final CacheNamespace namespace = new CacheNamespace(ResultCacheTest.class);
+	private final ResultCache cache = new ResultCache(namespace, TimeUnit.MINUTES.toNanos(1), 10);
+	private final AtomicInteger queries = new AtomicInteger();
+
+	@Test
+	void cachesResultUntilNamespaceIsInvalidated() {
+		assertThat(cache.getOne("a", () -> query("first")).block()).isEqualTo("first");
+		assertThat(cache.getOne("a", () -> query("second")).block()).isEqualTo("first");
+
+		namespace.invalidate();
+
+		assertThat(cache.getOne("a", () -> query("third")).block()).isEqualTo("third");
+		assertThat(queries).hasValue(2);
+	}
+
+	@Test
+	void cachesEmptyResult() {
+		assertThat(cache.getOne("a", Mono::empty).block()).isNull();
+		assertThat(cache.getOne("a", () -> query("value")).block()).isNull();
+		assertThat(queries).hasValue(0);
+	}
+
+	@Test
+	void discardsResultOfReadCompletingAfterWrite() {
+		Sinks.One<String> row = Sinks.one();
+		Mono<String> read = cache.getOne("a", row::asMono).cache();
+		read.subscribe();
+
+		// a write completes while the read is in flight
+		namespace.invalidate();
+		row.tryEmitValue("before write");
+
+		assertThat(read.block()).isEqualTo("before write");
+		assertThat(cache.getOne("a", () -> query("after write")).block()).isEqualTo("after write");
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedResult() {
+		ResultCache small = new ResultCache(namespace, TimeUnit.MINUTES.toNanos(1), 2);
+		small.getOne("a", () -> query("a")).block();
+		small.getOne("b", () -> query("b")).block();
+		small.getOne("a", () -> query("a2")).block();
+		small.getOne("c", () -> query("c")).block();
+
+		assertThat(small.getOne("a", () -> query("a3")).block()).isEqualTo("a");
+		assertThat(small.getOne("b", () -> query("b2")).block()).isEqualTo("b2");
+	}
+
+	private Mono<String> query(String value) {
+		return Mono.fromSupplier(() -> {
+			queries.incrementAndGet();
+			return value;
+		});
+	}
+}
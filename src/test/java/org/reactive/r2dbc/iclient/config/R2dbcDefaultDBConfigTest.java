@@ -0,0 +1,62 @@
+package org.reactive.r2dbc.iclient.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * Tests the default beans of {@link R2dbcDefaultDBConfig}.
+ *
+ * @author Bhautik Bhanani
+ */
+class R2dbcDefaultDBConfigTest {
+
+	private final ApplicationContextRunner runner = new ApplicationContextRunner()
+			.withUserConfiguration(R2dbcDefaultDBConfig.class)
+			.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+			.withPropertyValues("spring.r2dbc.host=primary", "spring.r2dbc.port=3306", "spring.r2dbc.username=user",
+					"spring.r2dbc.password=secret", "spring.r2dbc.database=db", "spring.r2dbc.dbtype=mysql",
+					"spring.r2dbc.warm-up.enabled=false");
+
+	@Test
+	void parsesPoolTimes() {
+		assertThat(R2dbcDefaultDBConfig.poolTime("10m")).isEqualTo(Duration.ofMinutes(10));
+		assertThat(R2dbcDefaultDBConfig.poolTime("PT1H")).isEqualTo(Duration.ofHours(1));
+		assertThat(R2dbcDefaultDBConfig.poolTime("90000")).isEqualTo(Duration.ofSeconds(90));
+		assertThat(R2dbcDefaultDBConfig.poolTime("-1")).isNegative();
+	}
+
+	@Test
+	void createsPoolOfDurationProperties() {
+		runner.withPropertyValues("spring.r2dbc.pool.max-idle-time=10m", "spring.r2dbc.pool.max-life-time=90000")
+				.run(context -> assertThat(context).getBean(ConnectionFactory.class).isInstanceOf(ConnectionPool.class));
+	}
+
+	@Test
+	void publishesMetricsOfReplicaPools() {
+		runner.withPropertyValues("spring.r2dbc.replica.hosts=replica1,replica2:3307").run(context -> {
+			MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+			assertThat(registry.find("r2dbc.iclient.pool.max.allocated").gauges())
+					.extracting(gauge -> gauge.getId().getTag("name"))
+					.containsExactlyInAnyOrder("r2dbc-iclient", "r2dbc-iclient-replica1", "r2dbc-iclient-replica2:3307");
+		});
+	}
+
+	@Test
+	void keepsWarmUpBeanOfApplication() {
+		SmartInitializingSingleton warmUp = () -> {
+		};
+		runner.withBean("r2dbcSqlSessionWarmUp", SmartInitializingSingleton.class, () -> warmUp)
+				.run(context -> assertThat(context).getBean("r2dbcSqlSessionWarmUp").isSameAs(warmUp));
+	}
+}
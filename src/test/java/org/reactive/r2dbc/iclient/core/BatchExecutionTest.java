@@ -0,0 +1,127 @@
+package org.reactive.r2dbc.iclient.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.Batch;
+import org.reactive.r2dbc.iclient.annotation.Insert;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.Update;
+import org.reactive.r2dbc.iclient.fixture.User;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Tests executing {@link Batch} methods over a Flux, collection or array
+ * parameter on an embedded database.
+ *
+ * @author Bhautik Bhanani
+ */
+class BatchExecutionTest {
+
+	interface UserMapper {
+
+		@Batch(size = 2)
+		@Insert("INSERT INTO users (id, name, age) VALUES (:user.id, :user.name, :user.age)")
+		Flux<Integer> insertAll(@Param("user") Flux<User> users);
+
+		@Batch(size = 2)
+		@Insert("INSERT INTO users (id, name, age) VALUES (:user.id, :user.name, :user.age)")
+		Mono<Integer> insertList(@Param("user") List<User> users);
+
+		@Batch
+		@Insert(value = "INSERT INTO users (name, age) VALUES (:user.name, :user.age)", retrieveId = "id",
+				idType = Integer.class)
+		Flux<Integer> insertWithIds(@Param("user") List<User> users);
+
+		@Batch(size = 10, multiRow = true, maxParameters = 6)
+		@Insert("INSERT INTO users (id, name, age) VALUES (:user.id, :user.name, :user.age)")
+		Flux<Integer> insertRows(@Param("user") List<User> users);
+
+		@Batch
+		@Update("UPDATE users SET age = :age WHERE id = :id")
+		Flux<Integer> updateAge(@Param("id") Integer[] ids, @Param("age") Integer age);
+	}
+
+	private TestDatabase database;
+
+	@BeforeEach
+	void setUp() {
+		database = new TestDatabase();
+	}
+
+	@Test
+	void executesOncePerElementOfFlux() {
+		UserMapper mapper = database.sessionFactory().openSession().getMapper(UserMapper.class);
+
+		StepVerifier.create(mapper.insertAll(Flux.just(new User(1, "Alice", 30), new User(2, "Bob", 40),
+				new User(3, "Carol", 50)))).expectNext(1, 1, 1).verifyComplete();
+
+		assertThat(database.count()).isEqualTo(3);
+	}
+
+	@Test
+	void sumsRecordsAffectedOfCollectionForMono() {
+		UserMapper mapper = database.sessionFactory().openSession().getMapper(UserMapper.class);
+
+		StepVerifier.create(mapper.insertList(Arrays.asList(new User(1, "Alice", 30), new User(2, "Bob", 40),
+				new User(3, "Carol", 50)))).expectNext(3).verifyComplete();
+
+		assertThat(database.count()).isEqualTo(3);
+	}
+
+	@Test
+	void bindsOtherParametersToEveryElementOfArray() {
+		database.insert(1, "Alice", 30);
+		database.insert(2, "Bob", 40);
+		database.insert(3, "Carol", 50);
+		UserMapper mapper = database.sessionFactory().openSession().getMapper(UserMapper.class);
+
+		StepVerifier.create(mapper.updateAge(new Integer[] { 1, 3, 4 }, 60)).expectNext(1, 1, 0).verifyComplete();
+
+		assertThat(ages()).containsExactly(60, 40, 60);
+	}
+
+	@Test
+	void retrievesIdPerElement() {
+		UserMapper mapper = database.sessionFactory().openSession().getMapper(UserMapper.class);
+
+		StepVerifier.create(mapper.insertWithIds(Arrays.asList(new User(null, "Alice", 30), new User(null, "Bob", 40))))
+				.expectNext(1, 2).verifyComplete();
+	}
+
+	@Test
+	void insertsMultiRowStatementsLimitedByMaxParameters() {
+		UserMapper mapper = database.sessionFactory().openSession().getMapper(UserMapper.class);
+
+		StepVerifier.create(mapper.insertRows(Arrays.asList(new User(1, "Alice", 30), new User(2, "Bob", 40),
+				new User(3, "Carol", 50), new User(4, "Dave", 20), new User(5, "Eve", 25)))).expectNext(2, 2, 1)
+				.verifyComplete();
+
+		assertThat(ages()).containsExactly(30, 40, 50, 20, 25);
+	}
+
+	@Test
+	void executesPerElementWithoutBindMarkers() {
+		UserMapper mapper = database.namedParameterSessionFactory().openSession().getMapper(UserMapper.class);
+
+		StepVerifier.create(mapper.insertAll(Flux.just(new User(1, "Alice", 30), new User(2, "Bob", 40),
+				new User(3, "Carol", 50)))).expectNext(1, 1, 1).verifyComplete();
+		StepVerifier.create(mapper.updateAge(new Integer[] { 1, 2 }, 70)).expectNext(1, 1).verifyComplete();
+		StepVerifier.create(mapper.insertWithIds(Arrays.asList(new User(null, "Dave", 20)))).expectNext(4)
+				.verifyComplete();
+
+		assertThat(ages()).containsExactly(70, 70, 50, 20);
+	}
+
+	private List<Integer> ages() {
+		return database.getDatabaseClient().sql("SELECT age FROM users ORDER BY id")
+				.map(row -> row.get("age", Integer.class)).all().collectList().block();
+	}
+}
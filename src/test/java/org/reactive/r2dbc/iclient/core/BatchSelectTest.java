@@ -0,0 +1,99 @@
+package org.reactive.r2dbc.iclient.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.BatchSelect;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.Result;
+import org.reactive.r2dbc.iclient.annotation.Results;
+import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.fixture.User;
+import org.reactive.r2dbc.iclient.plugin.Interceptor;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Tests batching concurrent single key selects by {@link BatchSelect} on an
+ * embedded database.
+ *
+ * @author Bhautik Bhanani
+ */
+class BatchSelectTest {
+
+	interface UserMapper {
+
+		@Results(id = "batchedUser", type = User.class, value = {
+				@Result(property = "id", column = "id", javaType = Integer.class),
+				@Result(property = "name", column = "name", javaType = String.class),
+				@Result(property = "age", column = "age", javaType = int.class) })
+		@BatchSelect(value = "SELECT * FROM users WHERE id IN (:id)", keyColumn = "id", window = 50)
+		@Select("SELECT * FROM users WHERE id = :id")
+		Mono<User> findById(@Param("id") Integer id);
+	}
+
+	/**
+	 * Tenant of the context of every executed statement.
+	 */
+	private final Queue<String> tenants = new ConcurrentLinkedQueue<>();
+	private R2dbcSqlSession session;
+	private UserMapper mapper;
+
+	@BeforeEach
+	void setUp() {
+		TestDatabase database = new TestDatabase();
+		database.insert(1, "Alice", 30);
+		database.insert(2, "Bob", 40);
+		R2dbcSqlSessionFactory sessionFactory = database.sessionFactory();
+		sessionFactory.getConfiguration().addInterceptor(new Interceptor() {
+			@Override
+			public GenericExecuteSpec prepare(R2dbcMapperMethod method, GenericExecuteSpec spec) {
+				return spec.filter((statement, next) -> Flux.deferContextual(context -> {
+					tenants.add(context.getOrDefault("tenant", "none"));
+					return next.execute(statement);
+				}));
+			}
+		});
+		session = sessionFactory.openSession();
+		mapper = session.getMapper(UserMapper.class);
+	}
+
+	@Test
+	void batchesConcurrentCallsIntoOneQuery() {
+		List<User> users = Flux.merge(mapper.findById(1), mapper.findById(2), mapper.findById(9), mapper.findById(1))
+				.collectList().block();
+
+		assertThat(users).extracting(User::getName).containsExactlyInAnyOrder("Alice", "Alice", "Bob");
+		assertThat(tenants).hasSize(1);
+	}
+
+	@Test
+	void batchesOnlyCallsOfEqualContext() {
+		List<User> users = Flux
+				.merge(mapper.findById(1).contextWrite(Context.of("tenant", "a")),
+						mapper.findById(2).contextWrite(Context.of("tenant", "a")),
+						mapper.findById(2).contextWrite(Context.of("tenant", "b")))
+				.collectList().block();
+
+		assertThat(users).extracting(User::getName).containsExactlyInAnyOrder("Alice", "Bob", "Bob");
+		assertThat(tenants).containsExactlyInAnyOrder("a", "b");
+	}
+
+	@Test
+	void executesSelectStatementWithinTransaction() {
+		User user = session.inTransaction(s -> mapper.findById(2).contextWrite(Context.of("tenant", "tx")))
+				.blockLast();
+
+		assertThat(user.getName()).isEqualTo("Bob");
+		assertThat(tenants).containsExactly("tx");
+	}
+}
@@ -0,0 +1,166 @@
+package org.reactive.r2dbc.iclient.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.Batch;
+import org.reactive.r2dbc.iclient.annotation.Cache;
+import org.reactive.r2dbc.iclient.annotation.Insert;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.Result;
+import org.reactive.r2dbc.iclient.annotation.Results;
+import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.fixture.User;
+import org.reactive.r2dbc.iclient.plugin.Interceptor;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Tests {@link Interceptor} hooks of selects and batches on an embedded
+ * database.
+ *
+ * @author Bhautik Bhanani
+ */
+class InterceptorTest {
+
+	@Cache
+	interface CachedUserMapper {
+
+		@Results(id = "interceptedUser", type = User.class, value = {
+				@Result(property = "id", column = "id", javaType = Integer.class),
+				@Result(property = "name", column = "name", javaType = String.class),
+				@Result(property = "age", column = "age", javaType = int.class) })
+		@Select("SELECT * FROM users WHERE id = :id")
+		Mono<User> findById(@Param("id") Integer id);
+	}
+
+	interface UserMapper {
+
+		@Batch(size = 2)
+		@Insert("INSERT INTO users (id, name, age) VALUES (:user.id, :user.name, :user.age)")
+		Flux<Integer> insertAll(@Param("user") Flux<User> users);
+
+		@Batch
+		@Insert(value = "INSERT INTO users (name, age) VALUES (:user.name, :user.age)", retrieveId = "id",
+				idType = Integer.class)
+		Flux<Integer> insertWithIds(@Param("user") List<User> users);
+	}
+
+	private final AtomicInteger prepared = new AtomicInteger();
+	private final AtomicInteger executed = new AtomicInteger();
+	/**
+	 * Id bound instead of the id parameter of a call, if set.
+	 */
+	private volatile Integer boundId;
+	private TestDatabase database;
+
+	@BeforeEach
+	void setUp() {
+		database = new TestDatabase();
+		database.insert(1, "Alice", 30);
+		database.insert(2, "Bob", 40);
+	}
+
+	@Test
+	void keysCachedSelectByBoundParameters() {
+		CachedUserMapper mapper = openSession(database.sessionFactory()).getMapper(CachedUserMapper.class);
+
+		assertThat(mapper.findById(1).block().getName()).isEqualTo("Alice");
+		boundId = 2;
+		assertThat(mapper.findById(1).block().getName()).isEqualTo("Bob");
+		assertThat(mapper.findById(3).block().getName()).isEqualTo("Bob");
+		assertThat(executed).hasValue(2);
+	}
+
+	@Test
+	void preparesBatchOnceAndCountsEveryElement() {
+		UserMapper mapper = openSession(database.sessionFactory()).getMapper(UserMapper.class);
+
+		StepVerifier.create(mapper.insertAll(
+				Flux.just(new User(3, "Carol", 50), new User(4, "Dave", 20), new User(5, "Eve", 25))))
+				.expectNext(1, 1, 1).verifyComplete();
+
+		assertThat(prepared).hasValue(2);
+		assertThat(executed).hasValue(2);
+		assertThat(names()).containsExactly("Alice", "Bob", "CAROL", "DAVE", "EVE");
+	}
+
+	@Test
+	void mapsGeneratedIdsOfBatch() {
+		UserMapper mapper = openSession(database.sessionFactory()).getMapper(UserMapper.class);
+
+		StepVerifier.create(mapper.insertWithIds(Arrays.asList(new User(null, "Carol", 50), new User(null, "Dave", 20))))
+				.expectNext(-3, -4).verifyComplete();
+
+		assertThat(prepared).hasValue(1);
+		assertThat(names()).containsExactly("Alice", "Bob", "CAROL", "DAVE");
+	}
+
+	@Test
+	void preparesEveryElementWithoutBindMarkers() {
+		UserMapper mapper = openSession(database.namedParameterSessionFactory()).getMapper(UserMapper.class);
+
+		StepVerifier.create(mapper.insertAll(Flux.just(new User(3, "Carol", 50), new User(4, "Dave", 20))))
+				.expectNext(1, 1).verifyComplete();
+		StepVerifier.create(mapper.insertWithIds(Arrays.asList(new User(null, "Eve", 25)))).expectNext(-5)
+				.verifyComplete();
+
+		assertThat(prepared).hasValue(3);
+		assertThat(names()).containsExactly("Alice", "Bob", "CAROL", "DAVE", "EVE");
+	}
+
+	private R2dbcSqlSession openSession(R2dbcSqlSessionFactory sessionFactory) {
+		sessionFactory.getConfiguration().addInterceptor(new Interceptor() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public Object bind(R2dbcMapperMethod method, Object params) {
+				Map<String, Object> bound = new HashMap<>((Map<String, Object>) params);
+				if (bound.get("user") instanceof User) {
+					User user = (User) bound.get("user");
+					bound.put("user", new User(user.getId(), user.getName().toUpperCase(), user.getAge()));
+				} else if (boundId != null) {
+					bound.put("id", boundId);
+				}
+				return bound;
+			}
+
+			@Override
+			public GenericExecuteSpec prepare(R2dbcMapperMethod method, GenericExecuteSpec spec) {
+				prepared.incrementAndGet();
+				return spec.filter((statement, next) -> {
+					executed.incrementAndGet();
+					return next.execute(statement);
+				});
+			}
+
+			@Override
+			public BiFunction<Row, RowMetadata, ?> mapRow(R2dbcMapperMethod method,
+					BiFunction<Row, RowMetadata, ?> mapper) {
+				if (!method.getCommand().isRetrieveId()) {
+					return mapper;
+				}
+				return (row, rowMetadata) -> -((Number) mapper.apply(row, rowMetadata)).intValue();
+			}
+		});
+		return sessionFactory.openSession();
+	}
+
+	private List<String> names() {
+		return database.getDatabaseClient().sql("SELECT name FROM users ORDER BY id")
+				.map(row -> row.get("name", String.class)).all().collectList().block();
+	}
+}
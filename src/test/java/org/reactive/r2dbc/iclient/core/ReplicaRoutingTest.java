@@ -0,0 +1,93 @@
+package org.reactive.r2dbc.iclient.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.ReadPrimary;
+import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.annotation.Update;
+import org.reactive.r2dbc.iclient.routing.ReplicaRouter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests routing selects to replicas and writes, {@link ReadPrimary} selects and
+ * transactions to the primary on embedded databases.
+ *
+ * @author Bhautik Bhanani
+ */
+class ReplicaRoutingTest {
+
+	interface UserMapper {
+
+		@Select("SELECT name FROM users WHERE id = :id")
+		Mono<Map<String, Object>> findName(@Param("id") Integer id);
+
+		@Select("SELECT name FROM users ORDER BY id")
+		Flux<Map<String, Object>> findNames();
+
+		@ReadPrimary
+		@Select("SELECT name FROM users WHERE id = :id")
+		Mono<Map<String, Object>> findNameOnPrimary(@Param("id") Integer id);
+
+		@Update("UPDATE users SET name = :name WHERE id = :id")
+		Mono<Integer> rename(@Param("id") Integer id, @Param("name") String name);
+	}
+
+	private TestDatabase primary;
+	private TestDatabase replica;
+	private R2dbcSqlSession session;
+	private UserMapper mapper;
+
+	@BeforeEach
+	void setUp() {
+		primary = new TestDatabase();
+		primary.insert(1, "Primary", 30);
+		replica = new TestDatabase();
+		replica.insert(1, "Replica", 30);
+		session = R2dbcSqlSessionFactoryBuilder.build(primary.getConnectionFactory(),
+				Arrays.asList(replica.getConnectionFactory()), ReplicaRouter.Strategy.ROUND_ROBIN).openSession();
+		mapper = session.getMapper(UserMapper.class);
+	}
+
+	@Test
+	void executesSelectsOnReplica() {
+		assertThat(mapper.findName(1).block()).containsEntry("name", "Replica");
+		assertThat(mapper.findNames().collectList().block()).extracting(row -> row.get("name"))
+				.containsExactly("Replica");
+	}
+
+	@Test
+	void executesReadPrimarySelectOnPrimary() {
+		assertThat(mapper.findNameOnPrimary(1).block()).containsEntry("name", "Primary");
+	}
+
+	@Test
+	void executesWritesOnPrimary() {
+		assertThat(mapper.rename(1, "Renamed").block()).isEqualTo(1);
+
+		assertThat(name(primary)).isEqualTo("Renamed");
+		assertThat(name(replica)).isEqualTo("Replica");
+	}
+
+	@Test
+	void executesSelectsWithinTransactionOnPrimary() {
+		Map<String, Object> row = session.inTransaction(s -> mapper.rename(1, "Renamed").then(mapper.findName(1)))
+				.blockLast();
+
+		assertThat(row).containsEntry("name", "Renamed");
+		assertThat(session.inTransaction(s -> mapper.findNames()).collectList().block())
+				.extracting(names -> names.get("name")).containsExactly("Renamed");
+	}
+
+	private static String name(TestDatabase database) {
+		return database.getDatabaseClient().sql("SELECT name FROM users WHERE id = 1")
+				.map(row -> row.get("name", String.class)).one().block();
+	}
+}
@@ -0,0 +1,94 @@
+package org.reactive.r2dbc.iclient.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.Cache;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.Result;
+import org.reactive.r2dbc.iclient.annotation.Results;
+import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.annotation.Update;
+import org.reactive.r2dbc.iclient.fixture.User;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Tests {@link Cache} results of select methods with writes and transactions on
+ * an embedded database.
+ *
+ * @author Bhautik Bhanani
+ */
+class SelectCacheTest {
+
+	@Cache
+	interface UserMapper {
+
+		@Results(id = "cachedUser", type = User.class, value = {
+				@Result(property = "id", column = "id", javaType = Integer.class),
+				@Result(property = "name", column = "name", javaType = String.class),
+				@Result(property = "age", column = "age", javaType = int.class) })
+		@Select("SELECT * FROM users WHERE id = :id")
+		Mono<User> findById(@Param("id") Integer id);
+
+		@Select(value = "SELECT * FROM users ORDER BY id", resultMap = "cachedUser")
+		Flux<User> findAll();
+
+		@Update("UPDATE users SET age = :age WHERE id = :id")
+		Mono<Integer> updateAge(@Param("id") Integer id, @Param("age") Integer age);
+	}
+
+	private TestDatabase database;
+	private R2dbcSqlSession session;
+	private UserMapper mapper;
+
+	@BeforeEach
+	void setUp() {
+		database = new TestDatabase();
+		database.insert(1, "Alice", 30);
+		session = database.sessionFactory().openSession();
+		mapper = session.getMapper(UserMapper.class);
+	}
+
+	@Test
+	void cachesResultsUntilWriteOfMapper() {
+		assertThat(mapper.findById(1).block().getAge()).isEqualTo(30);
+		assertThat(mapper.findAll().collectList().block()).hasSize(1);
+
+		database.execute("UPDATE users SET age = 31 WHERE id = 1");
+		database.insert(2, "Bob", 40);
+		assertThat(mapper.findById(1).block().getAge()).isEqualTo(30);
+		assertThat(mapper.findAll().collectList().block()).hasSize(1);
+
+		mapper.updateAge(2, 41).block();
+		assertThat(mapper.findById(1).block().getAge()).isEqualTo(31);
+		assertThat(mapper.findAll().collectList().block()).hasSize(2);
+	}
+
+	@Test
+	void doesNotCacheRowsOfRolledBackTransaction() {
+		Mono<User> rolledBack = session
+				.inTransaction(s -> mapper.updateAge(1, 99).then(mapper.findById(1))
+						.doOnNext(user -> assertThat(user.getAge()).isEqualTo(99))
+						.then(Mono.error(new IllegalStateException("rollback"))))
+				.then(Mono.empty());
+
+		assertThat(rolledBack.onErrorResume(IllegalStateException.class, e -> Mono.empty()).block()).isNull();
+		assertThat(mapper.findById(1).block().getAge()).isEqualTo(30);
+	}
+
+	@Test
+	void invalidatesCacheAfterCommitOfTransaction() {
+		assertThat(mapper.findById(1).block().getAge()).isEqualTo(30);
+
+		// a read outside of the transaction, between its write and commit
+		Mono<User> concurrentRead = Mono.defer(() -> mapper.findById(1)).contextWrite(context -> Context.empty());
+		User duringWrite = session.inTransaction(s -> mapper.updateAge(1, 99).then(concurrentRead)).blockLast();
+
+		assertThat(duringWrite.getAge()).isEqualTo(30);
+		assertThat(mapper.findById(1).block().getAge()).isEqualTo(99);
+	}
+}
@@ -0,0 +1,88 @@
+package org.reactive.r2dbc.iclient.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.Result;
+import org.reactive.r2dbc.iclient.annotation.Results;
+import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.fixture.User;
+import org.reactive.r2dbc.iclient.plugin.Interceptor;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Tests sharing in-flight single row selects among concurrent calls on an
+ * embedded database.
+ *
+ * @author Bhautik Bhanani
+ */
+class SelectCoalescingTest {
+
+	interface UserMapper {
+
+		@Results(id = "coalescedUser", type = User.class, value = {
+				@Result(property = "id", column = "id", javaType = Integer.class),
+				@Result(property = "name", column = "name", javaType = String.class),
+				@Result(property = "age", column = "age", javaType = int.class) })
+		@Select("SELECT * FROM users WHERE id = :id")
+		Mono<User> findById(@Param("id") Integer id);
+	}
+
+	private final AtomicInteger queries = new AtomicInteger();
+	private R2dbcSqlSession session;
+	private UserMapper mapper;
+
+	@BeforeEach
+	void setUp() {
+		TestDatabase database = new TestDatabase();
+		database.insert(1, "Alice", 30);
+		database.insert(2, "Bob", 40);
+		R2dbcSqlSessionFactory sessionFactory = database.sessionFactory();
+		sessionFactory.getConfiguration().setCoalesceSelectOne(true);
+		// keeps every query in flight long enough for concurrent calls to join
+		sessionFactory.getConfiguration().addInterceptor(new Interceptor() {
+			@Override
+			public GenericExecuteSpec prepare(R2dbcMapperMethod method, GenericExecuteSpec spec) {
+				queries.incrementAndGet();
+				return spec.filter(
+						(statement, next) -> Mono.delay(Duration.ofMillis(100)).thenMany(next.execute(statement)));
+			}
+		});
+		session = sessionFactory.openSession();
+		mapper = session.getMapper(UserMapper.class);
+	}
+
+	@Test
+	void sharesSelectOfEqualParameters() {
+		Mono.zip(mapper.findById(1), mapper.findById(1), mapper.findById(2)).block();
+
+		assertThat(queries).hasValue(2);
+	}
+
+	@Test
+	void sharesSelectOnlyAmongEqualContexts() {
+		Mono.zip(mapper.findById(1).contextWrite(Context.of("tenant", "a")),
+				mapper.findById(1).contextWrite(Context.of("tenant", "a")),
+				mapper.findById(1).contextWrite(Context.of("tenant", "b"))).block();
+
+		assertThat(queries).hasValue(2);
+	}
+
+	@Test
+	void doesNotShareSelectWithinTransaction() {
+		User user = Mono.zip(mapper.findById(1), session.inTransaction(s -> mapper.findById(1)).next())
+				.map(users -> users.getT2()).block();
+
+		assertThat(user.getName()).isEqualTo("Alice");
+		assertThat(queries).hasValue(2);
+	}
+}
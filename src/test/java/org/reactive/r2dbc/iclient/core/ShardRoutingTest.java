@@ -0,0 +1,107 @@
+package org.reactive.r2dbc.iclient.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.Insert;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.annotation.ShardKey;
+import org.reactive.r2dbc.iclient.exception.R2dbcQueryException;
+import org.reactive.r2dbc.iclient.fixture.User;
+import org.reactive.r2dbc.iclient.routing.ShardRouter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Tests routing statements by {@link ShardKey} on embedded databases.
+ *
+ * @author Bhautik Bhanani
+ */
+class ShardRoutingTest {
+
+	interface UserMapper {
+
+		@Select("SELECT * FROM users WHERE id = :id")
+		Mono<Map<String, Object>> findById(@ShardKey @Param("id") Integer id);
+
+		@Select("SELECT * FROM users ORDER BY id")
+		Flux<Map<String, Object>> findAll(@ShardKey @Param("id") Integer id);
+
+		@Insert("INSERT INTO users (id, name, age) VALUES (:user.id, :user.name, :user.age)")
+		Mono<Integer> insert(@ShardKey("id") @Param("user") User user);
+	}
+
+	/**
+	 * Routes even ids to the first shard, odd ids to the second.
+	 */
+	private static final ShardRouter.Strategy BY_PARITY = (key, shards) -> (Integer) key % 2;
+
+	private TestDatabase even;
+	private TestDatabase odd;
+
+	@BeforeEach
+	void setUp() {
+		even = new TestDatabase();
+		odd = new TestDatabase();
+	}
+
+	@Test
+	void executesStatementsOnShardOfKey() {
+		UserMapper mapper = mapper(BY_PARITY);
+
+		assertThat(mapper.insert(new User(1, "Alice", 30)).block()).isEqualTo(1);
+		assertThat(mapper.insert(new User(2, "Bob", 40)).block()).isEqualTo(1);
+
+		assertThat(even.count()).isEqualTo(1);
+		assertThat(odd.count()).isEqualTo(1);
+		assertThat(mapper.findById(1).block()).containsEntry("name", "Alice");
+		assertThat(mapper.findById(2).block()).containsEntry("name", "Bob");
+		assertThat(mapper.findAll(null).collectList().block()).hasSize(2);
+	}
+
+	@Test
+	void signalsErrorOfNullShardKeyOnSubscription() {
+		UserMapper mapper = mapper(BY_PARITY);
+		Mono<Map<String, Object>> select = mapper.findById(null);
+		Mono<Integer> insert = mapper.insert(new User(null, "Alice", 30));
+
+		StepVerifier.create(select).verifyError(R2dbcQueryException.class);
+		StepVerifier.create(insert).verifyError(R2dbcQueryException.class);
+	}
+
+	@Test
+	void signalsErrorOfUnknownShardOnSubscription() {
+		UserMapper mapper = mapper((key, shards) -> shards);
+		Mono<Map<String, Object>> select = mapper.findById(1);
+		Flux<Map<String, Object>> selectAll = mapper.findAll(1);
+		Mono<Integer> insert = mapper.insert(new User(1, "Alice", 30));
+
+		StepVerifier.create(select).verifyError(IllegalArgumentException.class);
+		StepVerifier.create(selectAll).verifyError(IllegalArgumentException.class);
+		StepVerifier.create(insert).verifyError(IllegalArgumentException.class);
+	}
+
+	@Test
+	void routesByStableHash() {
+		UserMapper mapper = mapper(ShardRouter.Strategy.HASH);
+		mapper.insert(new User(7, "Alice", 30)).block();
+
+		TestDatabase shard = ShardRouter.Strategy.HASH.shard(7, 2) == 0 ? even : odd;
+		assertThat(shard.count()).isEqualTo(1);
+		assertThat(mapper.findById(7).block()).containsEntry("name", "Alice");
+	}
+
+	private UserMapper mapper(ShardRouter.Strategy strategy) {
+		return R2dbcSqlSessionFactoryBuilder
+				.buildSharded(even.getConnectionFactory(),
+						Arrays.asList(even.getConnectionFactory(), odd.getConnectionFactory()), strategy)
+				.openSession().getMapper(UserMapper.class);
+	}
+}
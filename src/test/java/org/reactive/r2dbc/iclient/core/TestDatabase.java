@@ -0,0 +1,68 @@
+package org.reactive.r2dbc.iclient.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * Embedded H2 database of session tests, with an empty {@code users} table.
+ * Every database is created under a new name, so tests don't share rows.
+ *
+ * @author Bhautik Bhanani
+ */
+final class TestDatabase {
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	private final ConnectionFactory connectionFactory;
+	private final DatabaseClient databaseClient;
+
+	TestDatabase() {
+		this.connectionFactory = H2ConnectionFactory.inMemory("iclient-test-" + COUNTER.incrementAndGet());
+		this.databaseClient = DatabaseClient.builder().connectionFactory(connectionFactory).namedParameters(true)
+				.build();
+		execute("CREATE TABLE users (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100), age INT)");
+	}
+
+	ConnectionFactory getConnectionFactory() {
+		return connectionFactory;
+	}
+
+	DatabaseClient getDatabaseClient() {
+		return databaseClient;
+	}
+
+	/**
+	 * Returns a session factory of this database built like applications do,
+	 * binding statements by H2's native bind markers.
+	 */
+	R2dbcSqlSessionFactory sessionFactory() {
+		return R2dbcSqlSessionFactoryBuilder.build(connectionFactory);
+	}
+
+	/**
+	 * Returns a session factory of this database without bind markers, binding
+	 * statements by named parameters of {@link DatabaseClient}.
+	 */
+	R2dbcSqlSessionFactory namedParameterSessionFactory() {
+		return new DefaultR2dbcSqlSessionFactory(connectionFactory, new R2dbcConfiguration(databaseClient, null));
+	}
+
+	void execute(String sql) {
+		databaseClient.sql(sql).then().block();
+	}
+
+	void insert(int id, String name, int age) {
+		databaseClient.sql("INSERT INTO users (id, name, age) VALUES (:id, :name, :age)").bind("id", id)
+				.bind("name", name).bind("age", age).then().block();
+	}
+
+	long count() {
+		return databaseClient.sql("SELECT COUNT(*) AS c FROM users").map(row -> row.get("c", Long.class)).one()
+				.block();
+	}
+}
@@ -0,0 +1,97 @@
+package org.reactive.r2dbc.iclient.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.ShardKey;
+import org.reactive.r2dbc.iclient.annotation.Update;
+import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
+import org.reactive.r2dbc.iclient.exception.R2dbcQueryException;
+import org.reactive.r2dbc.iclient.routing.ShardRouter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+/**
+ * Tests executing mapper methods within
+ * {@link R2dbcSqlSession#inTransaction(java.util.function.Function)} on an
+ * embedded database.
+ *
+ * @author Bhautik Bhanani
+ */
+class TransactionTest {
+
+	interface UserMapper {
+
+		@Update("UPDATE users SET age = :age WHERE id = :id")
+		Mono<Integer> updateAge(@Param("id") Integer id, @Param("age") Integer age);
+
+		@Update("UPDATE users SET age = :age WHERE id = :id")
+		Mono<Integer> updateShardedAge(@ShardKey @Param("id") Integer id, @Param("age") Integer age);
+	}
+
+	private TestDatabase database;
+	private R2dbcSqlSession session;
+	private UserMapper mapper;
+
+	@BeforeEach
+	void setUp() {
+		database = new TestDatabase();
+		database.insert(1, "Alice", 30);
+		database.insert(2, "Bob", 40);
+		session = database.sessionFactory().openSession();
+		mapper = session.getMapper(UserMapper.class);
+	}
+
+	@Test
+	void commitsStatementsOfAction() {
+		StepVerifier.create(session.inTransaction(s -> mapper.updateAge(1, 31).then(mapper.updateAge(2, 41))))
+				.expectNext(1).verifyComplete();
+
+		assertThat(age(1)).isEqualTo(31);
+		assertThat(age(2)).isEqualTo(41);
+	}
+
+	@Test
+	void rollsBackStatementsOfFailedAction() {
+		StepVerifier.create(session.inTransaction(
+				s -> mapper.updateAge(1, 31).then(mapper.updateAge(2, 41)).then(Mono.error(new IllegalStateException()))))
+				.verifyError(IllegalStateException.class);
+
+		assertThat(age(1)).isEqualTo(30);
+		assertThat(age(2)).isEqualTo(40);
+	}
+
+	@Test
+	void rejectsShardedStatementWithinTransaction() {
+		R2dbcSqlSession sharded = R2dbcSqlSessionFactoryBuilder.buildSharded(database.getConnectionFactory(),
+				Arrays.asList(database.getConnectionFactory()), ShardRouter.Strategy.HASH).openSession();
+		UserMapper shardedMapper = sharded.getMapper(UserMapper.class);
+
+		StepVerifier.create(sharded.inTransaction(s -> shardedMapper.updateAge(1, 31)
+				.then(shardedMapper.updateShardedAge(2, 41)))).verifyError(R2dbcQueryException.class);
+
+		assertThat(age(1)).isEqualTo(30);
+		assertThat(shardedMapper.updateShardedAge(2, 41).block()).isEqualTo(1);
+	}
+
+	@Test
+	void createsTransactionManagerOnce() {
+		R2dbcConfiguration configuration = database.sessionFactory().getConfiguration();
+
+		assertThat(Flux.range(0, 8).parallel().runOn(Schedulers.parallel())
+				.map(i -> configuration.getTransactionManager()).sequential().distinct().collectList().block())
+				.hasSize(1);
+	}
+
+	private int age(int id) {
+		return database.getDatabaseClient().sql("SELECT age FROM users WHERE id = :id").bind("id", id)
+				.map(row -> row.get("age", Integer.class)).one().block();
+	}
+}
@@ -0,0 +1,90 @@
+package org.reactive.r2dbc.iclient.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.exception.R2dbcConnectionException;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Tests validating and warming up an {@link R2dbcSqlSessionFactory} on an
+ * embedded database.
+ *
+ * @author Bhautik Bhanani
+ */
+class WarmUpTest {
+
+	interface UserMapper {
+
+		@Select("SELECT * FROM users WHERE id = :id")
+		Mono<Map<String, Object>> findById(@Param("id") Integer id);
+	}
+
+	@Test
+	void opensInitialConnectionsOfPool() throws Exception {
+		ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration
+				.builder(new TestDatabase().getConnectionFactory()).initialSize(3).maxSize(5).build());
+		try (R2dbcSqlSessionFactory sessionFactory = R2dbcSqlSessionFactoryBuilder.build(pool)) {
+			sessionFactory.openSession().getMapper(UserMapper.class);
+			assertThat(sessionFactory.isWarmedUp()).isFalse();
+
+			// the pool may open initial connections along with the validated one
+			StepVerifier.create(sessionFactory.warmUp()).expectNextCount(1).verifyComplete();
+
+			assertThat(sessionFactory.isWarmedUp()).isTrue();
+			assertThat(sessionFactory.getWarmUpFailure()).isNull();
+			assertThat(pool.getMetrics().get().allocatedSize()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	void recordsFailureOfUnreachableDatabase() {
+		R2dbcSqlSessionFactory sessionFactory = R2dbcSqlSessionFactoryBuilder.build(new UnreachableConnectionFactory());
+
+		StepVerifier.create(sessionFactory.warmUp()).verifyError(R2dbcConnectionException.class);
+
+		assertThat(sessionFactory.isWarmedUp()).isFalse();
+		assertThat(sessionFactory.getWarmUpFailure()).isInstanceOf(R2dbcConnectionException.class);
+	}
+
+	@Test
+	void validatesDatabaseWithoutBlockingBuild() {
+		R2dbcSqlSessionFactory sessionFactory = new TestDatabase().sessionFactory();
+
+		StepVerifier.create(R2dbcSqlSessionFactoryBuilder.validate(sessionFactory)).expectNext(sessionFactory)
+				.verifyComplete();
+		assertThat(sessionFactory.isWarmedUp()).isFalse();
+
+		// building never connects, validation fails on subscription
+		Mono<R2dbcSqlSessionFactory> unreachable = R2dbcSqlSessionFactoryBuilder
+				.validate(R2dbcSqlSessionFactoryBuilder.build(new UnreachableConnectionFactory()));
+		StepVerifier.create(unreachable).verifyError(R2dbcConnectionException.class);
+	}
+
+	/**
+	 * H2 {@link ConnectionFactory} failing to connect.
+	 */
+	static class UnreachableConnectionFactory implements ConnectionFactory {
+
+		@Override
+		public Mono<Connection> create() {
+			return Mono.error(new IllegalStateException("Connection refused"));
+		}
+
+		@Override
+		public ConnectionFactoryMetadata getMetadata() {
+			return () -> "H2";
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package org.reactive.r2dbc.iclient.fixture;
+
+/**
+ * Nested property of {@link User}.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class Address {
+
+	private String city;
+
+	public Address() {
+	}
+
+	public Address(String city) {
+		this.city = city;
+	}
+
+	public String getCity() {
+		return city;
+	}
+
+	public void setCity(String city) {
+		this.city = city;
+	}
+}
@@ -0,0 +1,60 @@
+package org.reactive.r2dbc.iclient.fixture;
+
+/**
+ * Domain object bound and mapped by tests.
+ * 
+ * @author Bhautik Bhanani
+ */
+public class User {
+
+	private Integer id;
+	private String name;
+	private int age;
+	private Address address;
+
+	public User() {
+	}
+
+	public User(Integer id, String name, int age) {
+		this.id = id;
+		this.name = name;
+		this.age = age;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	public void setAge(int age) {
+		this.age = age;
+	}
+
+	public Address getAddress() {
+		return address;
+	}
+
+	public void setAddress(Address address) {
+		this.address = address;
+	}
+
+	@Override
+	public String toString() {
+		return "User [id=" + id + ", name=" + name + ", age=" + age + "]";
+	}
+}
@@ -0,0 +1,115 @@
+package org.reactive.r2dbc.iclient.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests logging executed statements per {@link DefaultStatementLogger.Level}.
+ *
+ * @author Bhautik Bhanani
+ */
+class DefaultStatementLoggerTest {
+
+	interface UserMapper {
+
+		@Select("select * from users where name = :name")
+		Flux<Map<String, Object>> findByName(@Param("name") String name);
+	}
+
+	private final Logger logger = (Logger) LoggerFactory.getLogger(StatementLogger.class);
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+	private R2dbcMapperMethod method;
+	private Object params;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		method = new R2dbcMapperMethod(UserMapper.class, UserMapper.class.getMethod("findByName", String.class));
+		params = method.getMethod().getNamedParameter(new Object[] { "Alice" });
+		appender.start();
+		logger.addAppender(appender);
+		logger.setLevel(Level.INFO);
+	}
+
+	@AfterEach
+	void tearDown() {
+		logger.detachAppender(appender);
+		logger.setLevel(null);
+	}
+
+	@Test
+	void returnsResultUnchangedWhenOff() {
+		Mono<String> result = Mono.just("a");
+
+		assertThat(StatementLogger.NONE.log(method, params, result)).isSameAs(result);
+		assertThat(new DefaultStatementLogger(DefaultStatementLogger.Level.OFF, 1, Duration.ZERO).log(method, params,
+				result)).isSameAs(result);
+	}
+
+	@Test
+	void logsEveryStatementWithParametersWhenFull() {
+		DefaultStatementLogger.full().log(method, params, Flux.just(1, 2)).blockLast();
+
+		assertThat(appender.list).singleElement().satisfies(event -> {
+			assertThat(event.getLevel()).isEqualTo(Level.INFO);
+			assertThat(event.getFormattedMessage()).contains("findByName",
+					"select * from users where name = :name", "[name=Alice]");
+		});
+	}
+
+	@Test
+	void logsOnlyStatementsOverThresholdWhenSlow() {
+		DefaultStatementLogger logger = DefaultStatementLogger.slow(Duration.ofMillis(20));
+
+		logger.log(method, params, Mono.just("fast")).block();
+		assertThat(appender.list).isEmpty();
+
+		// completes on the subscribing thread, so it is logged once block returns
+		logger.log(method, params, Mono.fromCallable(() -> {
+			Thread.sleep(50);
+			return "slow";
+		})).block();
+		assertThat(appender.list).singleElement().satisfies(event -> {
+			assertThat(event.getLevel()).isEqualTo(Level.WARN);
+			assertThat(event.getFormattedMessage()).startsWith("Slow SELECT statement of findByName")
+					.doesNotContain("Alice");
+		});
+	}
+
+	@Test
+	void logsStatementOfSampledExecutions() {
+		DefaultStatementLogger logger = DefaultStatementLogger.sampled(1);
+
+		logger.log(method, params, Mono.just("a")).block();
+		logger.log(method, params, Flux.just("b")).blockLast();
+
+		assertThat(appender.list).hasSize(2).allSatisfy(
+				event -> assertThat(event.getFormattedMessage()).contains("findByName").doesNotContain("Alice"));
+	}
+
+	@Test
+	void logsOnSubscription() {
+		Mono<String> logged = DefaultStatementLogger.full().log(method, params, Mono.just("a"));
+		assertThat(appender.list).isEmpty();
+
+		logged.block();
+		logged.block();
+		assertThat(appender.list).hasSize(2);
+	}
+}
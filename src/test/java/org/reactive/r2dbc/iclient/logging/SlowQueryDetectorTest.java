@@ -0,0 +1,149 @@
+package org.reactive.r2dbc.iclient.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.annotation.Update;
+import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
+import org.reactive.r2dbc.iclient.core.R2dbcSqlSessionFactory;
+import org.reactive.r2dbc.iclient.core.R2dbcSqlSessionFactoryBuilder;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.reactive.r2dbc.iclient.routing.ReplicaRouter;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests publishing and explaining slow statements.
+ *
+ * @author Bhautik Bhanani
+ */
+class SlowQueryDetectorTest {
+
+	interface UserMapper {
+
+		@Select("SELECT * FROM users WHERE name = :name AND password = :password")
+		Flux<Map<String, Object>> findByLogin(@Param("name") String name, @Param("password") String password);
+
+		@Select("SELECT * FROM replica_only WHERE id = :id")
+		Flux<Map<String, Object>> findReplicaOnly(@Param("id") Integer id);
+
+		@Update("UPDATE users SET name = :name")
+		Mono<Integer> rename(@Param("name") String name);
+	}
+
+	private final BlockingQueue<SlowQueryEvent> events = new LinkedBlockingQueue<>();
+
+	@Test
+	void publishesEventWithRedactedParameters() throws Exception {
+		SlowQueryDetector detector = new SlowQueryDetector(new R2dbcConfiguration(client(new HangingConnectionFactory())),
+				Duration.ZERO, events::add);
+		detector.setRedactedProperties(Collections.singleton("PASSWORD"));
+		R2dbcMapperMethod method = method("findByLogin", String.class, String.class);
+
+		detector.detect(method, method.getMethod().getNamedParameter(new Object[] { "alice", "secret" }),
+				Flux.just(1, 2)).blockLast();
+
+		SlowQueryEvent event = events.poll(5, TimeUnit.SECONDS);
+		assertThat(event.getMethodName()).isEqualTo("findByLogin");
+		assertThat(event.getCommandType()).isEqualTo("SELECT");
+		assertThat(event.getRows()).isEqualTo(2);
+		assertThat(event.getParameters()).containsEntry("name", "alice").containsEntry("password", "******");
+		assertThat(event.getPlan()).isNull();
+	}
+
+	@Test
+	void publishesNothingBelowThreshold() throws Exception {
+		SlowQueryDetector detector = new SlowQueryDetector(new R2dbcConfiguration(client(new HangingConnectionFactory())),
+				Duration.ofMinutes(1), events::add);
+		R2dbcMapperMethod method = method("rename", String.class);
+
+		detector.detect(method, method.getMethod().getNamedParameter(new Object[] { "bob" }), Mono.just(3)).block();
+
+		assertThat(events).isEmpty();
+	}
+
+	@Test
+	void explainsSelectOnDatabaseItRanOn() throws Exception {
+		ConnectionFactory primary = database("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(100))");
+		ConnectionFactory replica = database("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(100))",
+				"CREATE TABLE replica_only (id INT PRIMARY KEY)");
+		R2dbcSqlSessionFactory sessionFactory = R2dbcSqlSessionFactoryBuilder.build(primary, Arrays.asList(replica),
+				ReplicaRouter.Strategy.ROUND_ROBIN);
+		SlowQueryDetector detector = new SlowQueryDetector(sessionFactory.getConfiguration(), Duration.ZERO,
+				events::add);
+		detector.setExplain(true);
+		sessionFactory.getConfiguration().setSlowQueryDetector(detector);
+
+		sessionFactory.openSession().getMapper(UserMapper.class).findReplicaOnly(1).blockLast();
+
+		// the primary has no replica_only table, its plan would fail
+		SlowQueryEvent event = events.poll(5, TimeUnit.SECONDS);
+		assertThat(event.getPlan()).isNotEmpty();
+	}
+
+	@Test
+	void publishesWithoutPlanBeyondMaxConcurrentExplains() throws Exception {
+		SlowQueryDetector detector = new SlowQueryDetector(new R2dbcConfiguration(client(new HangingConnectionFactory())),
+				Duration.ZERO, events::add);
+		detector.setExplain(true);
+		detector.setMaxConcurrentExplains(1);
+		R2dbcMapperMethod method = method("findByLogin", String.class, String.class);
+		Object params = method.getMethod().getNamedParameter(new Object[] { "alice", "secret" });
+
+		// the first plan is never returned
+		detector.detect(method, params, Flux.just(1)).blockLast();
+		assertThat(events.poll(100, TimeUnit.MILLISECONDS)).isNull();
+
+		detector.detect(method, params, Flux.just(1)).blockLast();
+		assertThat(events.poll(5, TimeUnit.SECONDS).getPlan()).isNull();
+	}
+
+	private static R2dbcMapperMethod method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+		return new R2dbcMapperMethod(UserMapper.class, UserMapper.class.getMethod(name, parameterTypes));
+	}
+
+	private static DatabaseClient client(ConnectionFactory connectionFactory) {
+		return DatabaseClient.builder().connectionFactory(connectionFactory).namedParameters(true).build();
+	}
+
+	private static ConnectionFactory database(String... statements) {
+		ConnectionFactory connectionFactory = H2ConnectionFactory.inMemory("slow-query-" + System.nanoTime());
+		for (String statement : statements) {
+			client(connectionFactory).sql(statement).then().block();
+		}
+		return connectionFactory;
+	}
+
+	/**
+	 * H2 {@link ConnectionFactory} never returning a connection.
+	 */
+	static class HangingConnectionFactory implements ConnectionFactory {
+
+		@Override
+		public Mono<Connection> create() {
+			return Mono.never();
+		}
+
+		@Override
+		public ConnectionFactoryMetadata getMetadata() {
+			return () -> "H2";
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package org.reactive.r2dbc.iclient.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.Param;
+import org.reactive.r2dbc.iclient.annotation.PropertyMapper;
+import org.reactive.r2dbc.iclient.annotation.Select;
+import org.reactive.r2dbc.iclient.exception.R2dbcBindingException;
+import org.reactive.r2dbc.iclient.fixture.Address;
+import org.reactive.r2dbc.iclient.fixture.User;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod;
+import org.reactive.r2dbc.iclient.util.ExpandedSql;
+import org.reactive.r2dbc.iclient.util.RecordingBindTarget;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Tests resolving and binding query properties by a precompiled plan.
+ *
+ * @author Bhautik Bhanani
+ */
+class BindingPlanTest {
+
+	private static final BindMarkersFactory POSTGRES = BindMarkersFactory.indexed("$", 1);
+	private static final BindMarkersFactory MYSQL = BindMarkersFactory.anonymous("?");
+
+	interface UserMapper {
+
+		@Select("select * from users where name = :user.name and city = :user.address.city and age > :age")
+		Flux<Map<String, Object>> findByUser(@Param("user") User user, @Param("age") Integer age);
+
+		@Select(value = "select * from users where id = :id",
+				propertyMapper = @PropertyMapper(javaType = Integer.class, properties = "id"))
+		Flux<Map<String, Object>> findById(@Param("id") Integer id);
+
+		@Select("select * from users where id in (:ids) or parent_id in (:ids)")
+		Flux<Map<String, Object>> findByIds(@Param("ids") List<Integer> ids);
+
+		@Select("select * from users where name = :name and id in (:ids)")
+		Flux<Map<String, Object>> findByNameAndIds(@Param("name") String name, @Param("ids") List<Long> ids);
+
+		@Select("select * from users where id not in (:ids)")
+		Flux<Map<String, Object>> findOtherThanIds(@Param("ids") List<Integer> ids);
+
+		@Select("select * from users where id in (:ids) and tags = :ids")
+		Flux<Map<String, Object>> findByIdsAndTags(@Param("ids") List<Integer> ids);
+	}
+
+	@Test
+	void resolvesNestedPropertiesOfParameters() throws Exception {
+		R2dbcMapperMethod method = method("findByUser", User.class, Integer.class);
+		User user = new User(1, "Alice", 30);
+		user.setAddress(new Address("Berlin"));
+
+		Object[] values = method.getBindingPlan()
+				.resolve(method.getMethod().getNamedParameter(new Object[] { user, 18 }));
+
+		assertThat(method.getBindingPlan().getNames()).containsExactly("user.name", "user.address.city", "age");
+		assertThat(values).containsExactly("Alice", "Berlin", 18);
+	}
+
+	@Test
+	void requiresPropertyClassForNullValue() throws Exception {
+		R2dbcMapperMethod method = method("findByUser", User.class, Integer.class);
+
+		assertThatThrownBy(() -> method.getBindingPlan()
+				.resolve(method.getMethod().getNamedParameter(new Object[] { new User(1, "Alice", 30), 18 })))
+						.isInstanceOf(R2dbcBindingException.class).hasMessageContaining("user.address.city");
+	}
+
+	@Test
+	void resolvesParametersReplacedByMap() throws Exception {
+		R2dbcMapperMethod method = method("findByUser", User.class, Integer.class);
+		User user = new User(1, "Bob", 40);
+		user.setAddress(new Address("Paris"));
+		Map<String, Object> params = new HashMap<>();
+		params.put("user", user);
+		params.put("age", 21);
+
+		assertThat(method.getBindingPlan().resolve(params)).containsExactly("Bob", "Paris", 21);
+	}
+
+	@Test
+	void bindsNullWithPropertyClass() throws Exception {
+		R2dbcMapperMethod method = method("findById", Integer.class);
+		Object[] values = method.getBindingPlan().resolve(method.getMethod().getNamedParameter(new Object[] { null }));
+		ExpandedSql sql = method.getCommand().getExpandedSql(POSTGRES);
+		RecordingBindTarget target = new RecordingBindTarget();
+
+		method.getBindingPlan().bindTo(target, values, sql);
+
+		assertThat(sql.getSql()).isEqualTo("select * from users where id = $1");
+		assertThat(target.getBindings()).containsEntry(0, "null:Integer").hasSize(1);
+	}
+
+	@Test
+	void countsBindMarkersOfInListCollections() throws Exception {
+		BindingPlan plan = method("findByNameAndIds", String.class, List.class).getBindingPlan();
+
+		assertThat(plan.valueCounts(new Object[] { "a", 1 }, true)).isNull();
+		assertThat(plan.valueCounts(new Object[] { "a", Collections.emptyList() }, false)).containsExactly(-1, 1);
+		assertThat(plan.valueCounts(new Object[] { "a", Arrays.asList(1) }, true)).containsExactly(-1, 1);
+		assertThat(plan.valueCounts(new Object[] { "a", Arrays.asList(1, 2, 3) }, false)).containsExactly(-1, 3);
+		assertThat(plan.valueCounts(new Object[] { "a", Arrays.asList(1, 2, 3) }, true)).containsExactly(-1, 4);
+		assertThat(plan.valueCounts(new Object[] { "a", Arrays.asList(1, 2, 3, 4) }, true)).containsExactly(-1, 4);
+		assertThat(plan.valueCounts(new Object[] { "a", Arrays.asList(1, 2, 3, 4, 5) }, true))
+				.containsExactly(-1, 8);
+	}
+
+	@Test
+	void keepsCollectionOutsideOfInListSingleValue() throws Exception {
+		BindingPlan plan = method("findByIdsAndTags", List.class).getBindingPlan();
+
+		assertThat(plan.valueCounts(new Object[] { Arrays.asList(1, 2) }, false)).isNull();
+	}
+
+	@Test
+	void bindsEmptyCollectionAsTypedNull() throws Exception {
+		RecordingBindTarget target = new RecordingBindTarget();
+		ExpandedSql sql = bind(method("findByIds", List.class), MYSQL, false, target, Collections.emptyList());
+
+		assertThat(sql.getSql()).isEqualTo("select * from users where id in (?) or parent_id in (?)");
+		assertThat(target.getBindings()).containsEntry(0, "null:Integer").containsEntry(1, "null:Integer")
+				.hasSize(2);
+	}
+
+	@Test
+	void rejectsEmptyCollectionOfNotInList() throws Exception {
+		R2dbcMapperMethod method = method("findOtherThanIds", List.class);
+
+		assertThatThrownBy(() -> bind(method, POSTGRES, false, new RecordingBindTarget(), Collections.emptyList()))
+				.isInstanceOf(R2dbcBindingException.class).hasMessageContaining("NOT IN");
+
+		RecordingBindTarget target = new RecordingBindTarget();
+		ExpandedSql sql = bind(method, POSTGRES, false, target, Arrays.asList(1, 2));
+		assertThat(sql.getSql()).isEqualTo("select * from users where id not in ($1, $2)");
+		assertThat(target.getBindings().values()).containsExactly(1, 2);
+	}
+
+	@Test
+	void bindsSingleElementCollection() throws Exception {
+		RecordingBindTarget target = new RecordingBindTarget();
+		ExpandedSql sql = bind(method("findByNameAndIds", String.class, List.class), POSTGRES, true, target, "a",
+				Arrays.asList(7L));
+
+		assertThat(sql.getSql()).isEqualTo("select * from users where name = $1 and id in ($2)");
+		assertThat(target.getBindings()).containsEntry(0, "a").containsEntry(1, 7L).hasSize(2);
+	}
+
+	@Test
+	void padsOddSizeCollectionWithLastElementPerOccurrence() throws Exception {
+		RecordingBindTarget mysql = new RecordingBindTarget();
+		ExpandedSql sql = bind(method("findByIds", List.class), MYSQL, true, mysql, Arrays.asList(1, 2, 3));
+
+		assertThat(sql.getSql())
+				.isEqualTo("select * from users where id in (?, ?, ?, ?) or parent_id in (?, ?, ?, ?)");
+		assertThat(mysql.getBindings().values()).containsExactly(1, 2, 3, 3, 1, 2, 3, 3);
+
+		RecordingBindTarget postgres = new RecordingBindTarget();
+		sql = bind(method("findByIds", List.class), POSTGRES, true, postgres, Arrays.asList(1, 2, 3));
+
+		assertThat(sql.getSql())
+				.isEqualTo("select * from users where id in ($1, $2, $3, $4) or parent_id in ($1, $2, $3, $4)");
+		assertThat(postgres.getBindings().values()).containsExactly(1, 2, 3, 3);
+	}
+
+	@Test
+	void cachesExpandedShapePerDialectAndValueCounts() throws Exception {
+		R2dbcMapperMethod method = method("findByIds", List.class);
+
+		ExpandedSql three = method.getCommand().getExpandedSql(MYSQL, new int[] { 3 });
+		assertThat(method.getCommand().getExpandedSql(MYSQL, new int[] { 3 })).isSameAs(three);
+		assertThat(method.getCommand().getExpandedSql(MYSQL, new int[] { 4 })).isNotSameAs(three);
+		assertThat(method.getCommand().getExpandedSql(POSTGRES, new int[] { 3 }).getSql())
+				.isEqualTo("select * from users where id in ($1, $2, $3) or parent_id in ($1, $2, $3)");
+	}
+
+	private static R2dbcMapperMethod method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+		return new R2dbcMapperMethod(UserMapper.class, UserMapper.class.getMethod(name, parameterTypes));
+	}
+
+	private static ExpandedSql bind(R2dbcMapperMethod method, BindMarkersFactory factory, boolean padding,
+			RecordingBindTarget target, Object... args) {
+		BindingPlan plan = method.getBindingPlan();
+		Object[] values = plan.resolve(method.getMethod().getNamedParameter(args));
+		ExpandedSql sql = method.getCommand().getExpandedSql(factory, plan.valueCounts(values, padding));
+		plan.bindTo(target, values, sql);
+		return sql;
+	}
+}
@@ -0,0 +1,411 @@
+package org.reactive.r2dbc.iclient.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.annotation.MappingConstructor;
+import org.reactive.r2dbc.iclient.config.R2dbcConfiguration;
+import org.reactive.r2dbc.iclient.fixture.User;
+import org.reactive.r2dbc.iclient.type.NoTypeConverter;
+import org.reactive.r2dbc.iclient.type.TypeConverter;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+
+/**
+ * Tests row mapping by compiled constructor and field handles. Records share
+ * the constructor path of {@link MappingConstructor} classes but need Java 16
+ * to compile, so they are not covered while the project targets Java 11.
+ *
+ * @author Bhautik Bhanani
+ */
+class CompiledRowMapperTest {
+
+	public static class UpperCaseName implements TypeConverter {
+
+		@Override
+		public Object convert(Row row, RowMetadata rowMetadata) {
+			return row.get("name", String.class).toUpperCase();
+		}
+	}
+
+	static class Account {
+
+		private final Integer id;
+		private final String name;
+		private final int age;
+		private String email;
+
+		@MappingConstructor
+		Account(Integer id, String name, int age) {
+			this.id = id;
+			this.name = name;
+			this.age = age;
+		}
+	}
+
+	@Test
+	void mapsConstructorArgumentsAndFieldsByColumnName() {
+		BiFunction<Row, RowMetadata, Account> mapper = mapper(Account.class, "id", "name", "age", "email");
+		StubRowMetadata metadata = new StubRowMetadata("email", "age", "name", "id");
+
+		Account account = mapper.apply(new StubRow(metadata, "a@b.c", 30, "Alice", 1), metadata);
+
+		assertThat(account.id).isEqualTo(1);
+		assertThat(account.name).isEqualTo("Alice");
+		assertThat(account.age).isEqualTo(30);
+		assertThat(account.email).isEqualTo("a@b.c");
+	}
+
+	@Test
+	void defaultsMissingAndNullConstructorArguments() {
+		StubRowMetadata metadata = new StubRowMetadata("id", "name", "email");
+
+		Account unmapped = mapper(Account.class, "id", "name", "email")
+				.apply(new StubRow(metadata, 1, "Alice", null), metadata);
+
+		assertThat(unmapped.id).isEqualTo(1);
+		assertThat(unmapped.age).isZero();
+		assertThat(unmapped.email).isNull();
+
+		StubRowMetadata nulls = new StubRowMetadata("id", "name", "age");
+		Account nullValues = mapper(Account.class, "id", "name", "age").apply(new StubRow(nulls, null, null, null),
+				nulls);
+
+		assertThat(nullValues.id).isNull();
+		assertThat(nullValues.name).isNull();
+		assertThat(nullValues.age).isZero();
+	}
+
+	@Test
+	void mapsFieldsOfNonArgumentConstructorType() {
+		BiFunction<Row, RowMetadata, User> mapper = mapper(User.class, "id", "name", "age");
+		StubRowMetadata metadata = new StubRowMetadata("age", "name", "id");
+
+		User user = mapper.apply(new StubRow(metadata, 30, "Alice", 1), metadata);
+
+		assertThat(user.getId()).isEqualTo(1);
+		assertThat(user.getName()).isEqualTo("Alice");
+		assertThat(user.getAge()).isEqualTo(30);
+	}
+
+	@Test
+	void keepsPrimitiveFieldDefaultForNullValue() {
+		StubRowMetadata metadata = new StubRowMetadata("id", "name", "age");
+
+		User user = mapper(User.class, "id", "name", "age").apply(new StubRow(metadata, 1, null, null), metadata);
+
+		assertThat(user.getId()).isEqualTo(1);
+		assertThat(user.getName()).isNull();
+		assertThat(user.getAge()).isZero();
+	}
+
+	@Test
+	void resolvesColumnIndexesAgainForAnotherShape() {
+		BiFunction<Row, RowMetadata, User> mapper = mapper(User.class, "id", "name", "age");
+		StubRowMetadata first = new StubRowMetadata("id", "name", "age");
+		StubRowMetadata sameShape = new StubRowMetadata("id", "name", "age");
+		StubRowMetadata second = new StubRowMetadata("age", "id", "name");
+
+		assertThat(mapper.apply(new StubRow(first, 1, "Alice", 30), first).getName()).isEqualTo("Alice");
+		assertThat(mapper.apply(new StubRow(sameShape, 2, "Bob", 40), sameShape).getName()).isEqualTo("Bob");
+		User user = mapper.apply(new StubRow(second, 50, 3, "Carol"), second);
+
+		assertThat(user.getId()).isEqualTo(3);
+		assertThat(user.getName()).isEqualTo("Carol");
+		assertThat(user.getAge()).isEqualTo(50);
+	}
+
+	@Test
+	void matchesColumnNamesIgnoringCase() {
+		StubRowMetadata metadata = new StubRowMetadata("ID", "Name", "AGE");
+
+		User user = mapper(User.class, "id", "name", "age").apply(new StubRow(metadata, 1, "Alice", 30), metadata);
+
+		assertThat(user.getId()).isEqualTo(1);
+		assertThat(user.getName()).isEqualTo("Alice");
+		assertThat(user.getAge()).isEqualTo(30);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	void mapsPropertyByTypeConverter() {
+		List<ResultMapping> mappings = Arrays.asList(
+				ResultMapping.build(User.class, "id", "id", Integer.class, NoTypeConverter.class, null),
+				ResultMapping.build(User.class, "name", null, String.class, UpperCaseName.class, null));
+		BiFunction<Row, RowMetadata, User> mapper = new ResultMap.Builder(new R2dbcConfiguration(null, null),
+				"converted", User.class, mappings).build().newStatementMapper();
+		StubRowMetadata metadata = new StubRowMetadata("id", "name");
+
+		User user = mapper.apply(new StubRow(metadata, 1, "alice"), metadata);
+
+		assertThat(user.getId()).isEqualTo(1);
+		assertThat(user.getName()).isEqualTo("ALICE");
+	}
+
+	@Test
+	void spreadsArgumentsOfWideConstructor() throws Exception {
+		String[] properties = new String[69];
+		Object[] values = new Object[properties.length];
+		for (int i = 0; i < properties.length; i++) {
+			properties[i] = "p" + i;
+			values[i] = i * 2;
+		}
+		StubRowMetadata metadata = new StubRowMetadata(properties);
+
+		// p69 has no column
+		Wide wide = mapper(Wide.class, properties).apply(new StubRow(metadata, values), metadata);
+
+		for (int i = 0; i < properties.length; i++) {
+			assertThat(FieldUtils.readField(wide, properties[i], true)).isEqualTo(i * 2);
+		}
+		assertThat(FieldUtils.readField(wide, "p69", true)).isEqualTo(0);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T> BiFunction<Row, RowMetadata, T> mapper(Class<T> type, String... properties) {
+		List<ResultMapping> mappings = new ArrayList<>();
+		for (String property : properties) {
+			mappings.add(ResultMapping.build(type, property, property,
+					FieldUtils.getField(type, property, true).getType(), NoTypeConverter.class, null));
+		}
+		ResultMap<T> resultMap = new ResultMap.Builder(new R2dbcConfiguration(null, null), type.getSimpleName(), type,
+				mappings).build();
+		return resultMap.newStatementMapper();
+	}
+
+	/**
+	 * {@link RowMetadata} of fixed column names.
+	 */
+	static class StubRowMetadata implements RowMetadata {
+
+		private final List<String> names;
+
+		StubRowMetadata(String... names) {
+			this.names = Arrays.asList(names);
+		}
+
+		@Override
+		public ColumnMetadata getColumnMetadata(int index) {
+			String name = names.get(index);
+			return () -> name;
+		}
+
+		@Override
+		public ColumnMetadata getColumnMetadata(String name) {
+			return getColumnMetadata(names.indexOf(name));
+		}
+
+		@Override
+		public Iterable<? extends ColumnMetadata> getColumnMetadatas() {
+			List<ColumnMetadata> columns = new ArrayList<>();
+			for (int i = 0; i < names.size(); i++) {
+				columns.add(getColumnMetadata(i));
+			}
+			return columns;
+		}
+
+		@Override
+		public Collection<String> getColumnNames() {
+			return names;
+		}
+	}
+
+	/**
+	 * {@link Row} of fixed values, decoding into wrapper types only like drivers
+	 * do.
+	 */
+	static class StubRow implements Row {
+
+		private final StubRowMetadata metadata;
+		private final Object[] values;
+
+		StubRow(StubRowMetadata metadata, Object... values) {
+			this.metadata = metadata;
+			this.values = values;
+		}
+
+		@Override
+		public <T> T get(int index, Class<T> type) {
+			if (type.isPrimitive()) {
+				throw new IllegalArgumentException("Cannot decode value of type " + type);
+			}
+			return type.cast(values[index]);
+		}
+
+		@Override
+		public <T> T get(String name, Class<T> type) {
+			int index = metadata.names.indexOf(name);
+			if (index < 0) {
+				throw new IllegalArgumentException("Unknown column " + name);
+			}
+			return get(index, type);
+		}
+	}
+
+	/**
+	 * Result type whose constructor exceeds the arguments collected into a single
+	 * method handle, so that it is instantiated by spreading an argument array.
+	 */
+	static class Wide {
+
+		private final int p0;
+		private final int p1;
+		private final int p2;
+		private final int p3;
+		private final int p4;
+		private final int p5;
+		private final int p6;
+		private final int p7;
+		private final int p8;
+		private final int p9;
+		private final int p10;
+		private final int p11;
+		private final int p12;
+		private final int p13;
+		private final int p14;
+		private final int p15;
+		private final int p16;
+		private final int p17;
+		private final int p18;
+		private final int p19;
+		private final int p20;
+		private final int p21;
+		private final int p22;
+		private final int p23;
+		private final int p24;
+		private final int p25;
+		private final int p26;
+		private final int p27;
+		private final int p28;
+		private final int p29;
+		private final int p30;
+		private final int p31;
+		private final int p32;
+		private final int p33;
+		private final int p34;
+		private final int p35;
+		private final int p36;
+		private final int p37;
+		private final int p38;
+		private final int p39;
+		private final int p40;
+		private final int p41;
+		private final int p42;
+		private final int p43;
+		private final int p44;
+		private final int p45;
+		private final int p46;
+		private final int p47;
+		private final int p48;
+		private final int p49;
+		private final int p50;
+		private final int p51;
+		private final int p52;
+		private final int p53;
+		private final int p54;
+		private final int p55;
+		private final int p56;
+		private final int p57;
+		private final int p58;
+		private final int p59;
+		private final int p60;
+		private final int p61;
+		private final int p62;
+		private final int p63;
+		private final int p64;
+		private final int p65;
+		private final int p66;
+		private final int p67;
+		private final int p68;
+		private final int p69;
+
+		@MappingConstructor
+		Wide(int p0, int p1, int p2, int p3, int p4, int p5, int p6, int p7, int p8, int p9, int p10, int p11,
+				int p12, int p13, int p14, int p15, int p16, int p17, int p18, int p19, int p20, int p21, int p22,
+				int p23, int p24, int p25, int p26, int p27, int p28, int p29, int p30, int p31, int p32, int p33,
+				int p34, int p35, int p36, int p37, int p38, int p39, int p40, int p41, int p42, int p43, int p44,
+				int p45, int p46, int p47, int p48, int p49, int p50, int p51, int p52, int p53, int p54, int p55,
+				int p56, int p57, int p58, int p59, int p60, int p61, int p62, int p63, int p64, int p65, int p66,
+				int p67, int p68, int p69) {
+			this.p0 = p0;
+			this.p1 = p1;
+			this.p2 = p2;
+			this.p3 = p3;
+			this.p4 = p4;
+			this.p5 = p5;
+			this.p6 = p6;
+			this.p7 = p7;
+			this.p8 = p8;
+			this.p9 = p9;
+			this.p10 = p10;
+			this.p11 = p11;
+			this.p12 = p12;
+			this.p13 = p13;
+			this.p14 = p14;
+			this.p15 = p15;
+			this.p16 = p16;
+			this.p17 = p17;
+			this.p18 = p18;
+			this.p19 = p19;
+			this.p20 = p20;
+			this.p21 = p21;
+			this.p22 = p22;
+			this.p23 = p23;
+			this.p24 = p24;
+			this.p25 = p25;
+			this.p26 = p26;
+			this.p27 = p27;
+			this.p28 = p28;
+			this.p29 = p29;
+			this.p30 = p30;
+			this.p31 = p31;
+			this.p32 = p32;
+			this.p33 = p33;
+			this.p34 = p34;
+			this.p35 = p35;
+			this.p36 = p36;
+			this.p37 = p37;
+			this.p38 = p38;
+			this.p39 = p39;
+			this.p40 = p40;
+			this.p41 = p41;
+			this.p42 = p42;
+			this.p43 = p43;
+			this.p44 = p44;
+			this.p45 = p45;
+			this.p46 = p46;
+			this.p47 = p47;
+			this.p48 = p48;
+			this.p49 = p49;
+			this.p50 = p50;
+			this.p51 = p51;
+			this.p52 = p52;
+			this.p53 = p53;
+			this.p54 = p54;
+			this.p55 = p55;
+			this.p56 = p56;
+			this.p57 = p57;
+			this.p58 = p58;
+			this.p59 = p59;
+			this.p60 = p60;
+			this.p61 = p61;
+			this.p62 = p62;
+			this.p63 = p63;
+			this.p64 = p64;
+			this.p65 = p65;
+			this.p66 = p66;
+			this.p67 = p67;
+			this.p68 = p68;
+			this.p69 = p69;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package org.reactive.r2dbc.iclient.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.h2.H2ConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests choosing a replica per {@link ReplicaRouter.Strategy}.
+ *
+ * @author Bhautik Bhanani
+ */
+class ReplicaRouterTest {
+
+	private final DatabaseClient first = client("first");
+	private final DatabaseClient second = client("second");
+	private final List<DatabaseClient> replicas = Arrays.asList(first, second);
+
+	@Test
+	void routesInTurnWhenRoundRobin() {
+		ReplicaRouter router = new ReplicaRouter(replicas, ReplicaRouter.Strategy.ROUND_ROBIN);
+
+		assertThat(Flux.range(0, 4).concatMap(i -> router.route(Mono::just)).collectList().block())
+				.containsExactly(first, second, first, second);
+		assertThat(router.routeMany(Flux::just).blockLast()).isSameAs(first);
+	}
+
+	@Test
+	void routesToReplicaOfLeastOutstandingStatements() {
+		ReplicaRouter router = new ReplicaRouter(replicas, ReplicaRouter.Strategy.LEAST_OUTSTANDING);
+		Disposable pending = router.route(client -> Mono.never()).subscribe();
+		assertThat(router.getOutstanding(0)).isEqualTo(1);
+
+		assertThat(Flux.range(0, 3).concatMap(i -> router.route(Mono::just)).collectList().block())
+				.containsOnly(second);
+
+		pending.dispose();
+		assertThat(router.getOutstanding(0)).isZero();
+		assertThat(router.getOutstanding(1)).isZero();
+	}
+
+	@Test
+	void choosesReplicaOnSubscription() {
+		ReplicaRouter router = new ReplicaRouter(replicas, ReplicaRouter.Strategy.ROUND_ROBIN);
+		Mono<DatabaseClient> routed = router.route(Mono::just);
+
+		assertThat(routed.block()).isSameAs(first);
+		assertThat(routed.block()).isSameAs(second);
+	}
+
+	private static DatabaseClient client(String name) {
+		return DatabaseClient.create(H2ConnectionFactory.inMemory("replica-router-" + name));
+	}
+}
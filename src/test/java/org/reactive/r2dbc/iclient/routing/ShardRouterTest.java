@@ -0,0 +1,68 @@
+package org.reactive.r2dbc.iclient.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.h2.H2ConnectionFactory;
+
+/**
+ * Tests routing shard keys by {@link ShardRouter.Strategy#HASH}.
+ *
+ * @author Bhautik Bhanani
+ */
+class ShardRouterTest {
+
+	private final ShardRouter.Strategy hash = ShardRouter.Strategy.HASH;
+
+	@Test
+	void hashesCanonicalFormOfKey() {
+		// CRC32 of the UTF-8 bytes, equal in every JVM
+		assertThat(hash.shard("alice", 1000)).isEqualTo(hash.shard(new StringBuilder("alice"), 1000));
+		assertThat(hash.shard(42, 1000)).isEqualTo(hash.shard("42", 1000));
+		assertThat(hash.shard(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), 1000))
+				.isEqualTo(hash.shard("123e4567-e89b-12d3-a456-426614174000", 1000));
+		assertThat(hash.shard(TimeUnit.SECONDS, 1000)).isEqualTo(hash.shard("SECONDS", 1000));
+	}
+
+	@Test
+	void hashesNumbersOfEqualValueToSameShard() {
+		int shard = hash.shard(42L, 1000);
+
+		assertThat(Arrays.asList(42, (short) 42, (byte) 42, BigInteger.valueOf(42), new BigDecimal("42.00"), 42.0d))
+				.allSatisfy(key -> assertThat(hash.shard(key, 1000)).isEqualTo(shard));
+		assertThat(hash.shard(1.5f, 1000)).isEqualTo(hash.shard(new BigDecimal("1.50"), 1000));
+	}
+
+	@Test
+	void spreadsKeysOverAllShards() {
+		boolean[] used = new boolean[4];
+		for (int i = 0; i < 100; i++) {
+			used[hash.shard(i, used.length)] = true;
+		}
+
+		assertThat(used).containsOnly(true);
+	}
+
+	@Test
+	void rejectsKeyWithoutStableHash() {
+		assertThatIllegalArgumentException().isThrownBy(() -> hash.shard(new Object(), 4))
+				.withMessageContaining("java.lang.Object");
+	}
+
+	@Test
+	void rejectsShardOutOfRange() {
+		DatabaseClient client = DatabaseClient.create(H2ConnectionFactory.inMemory("shard-router"));
+		ShardRouter router = new ShardRouter(Arrays.asList(client), (key, shards) -> 1);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> router.route("a")).withMessageContaining("shard 1");
+	}
+}
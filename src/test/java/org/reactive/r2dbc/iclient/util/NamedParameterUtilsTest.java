@@ -0,0 +1,173 @@
+package org.reactive.r2dbc.iclient.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.reactive.r2dbc.iclient.proxy.R2dbcMapperMethod.SqlCommand;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.r2dbc.core.binding.BindMarker;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+
+/**
+ * Tests expansion of named parameters into native bind markers.
+ *
+ * @author Bhautik Bhanani
+ */
+class NamedParameterUtilsTest {
+
+	private static final BindMarkersFactory POSTGRES = BindMarkersFactory.indexed("$", 1);
+	private static final BindMarkersFactory MYSQL = BindMarkersFactory.anonymous("?");
+	private static final BindMarkersFactory SQL_SERVER = BindMarkersFactory.named("@", "P", 32);
+
+	private static final String SELECT = "select * from t where a = :a and b = :b or c = :a";
+	private static final String SELECT_IN = "select * from t where a = :a and b in (:ids) or c = :a";
+	private static final String INSERT = "insert into t (a, b) values (:a, :b) on conflict (a) do update set b = :c";
+
+	@Test
+	void expandsIndexedMarkersReusingRepeatedParameters() {
+		ExpandedSql expanded = expand(SELECT, POSTGRES);
+
+		assertThat(expanded.getSql()).isEqualTo("select * from t where a = $1 and b = $2 or c = $1");
+		assertThat(bind(expanded, 0, "x")).containsExactly(0);
+		assertThat(bind(expanded, 1, "y")).containsExactly(1);
+	}
+
+	@Test
+	void expandsAnonymousMarkersPerOccurrence() {
+		ExpandedSql expanded = expand(SELECT, MYSQL);
+
+		assertThat(expanded.getSql()).isEqualTo("select * from t where a = ? and b = ? or c = ?");
+		assertThat(bind(expanded, 0, "x")).containsExactly(0, 2);
+		assertThat(bind(expanded, 1, "y")).containsExactly(1);
+	}
+
+	@Test
+	void expandsNamedMarkersReusingRepeatedParameters() {
+		ExpandedSql expanded = expand(SELECT, SQL_SERVER);
+
+		assertThat(expanded.getSql()).isEqualTo("select * from t where a = @P0a and b = @P1b or c = @P0a");
+		assertThat(bind(expanded, 0, "x")).containsExactly("P0a");
+		assertThat(bind(expanded, 1, "y")).containsExactly("P1b");
+	}
+
+	@Test
+	void skipsParametersInLiteralsAndComments() {
+		ExpandedSql expanded = NamedParameterUtils.expandSql(
+				NamedParameterUtils.parseSqlStatement(
+						"select ':x' from t -- :y\n where a = :a /* :z */ and b = :b and c = 'it''s :a'"),
+				POSTGRES, Arrays.asList("a", "b"));
+
+		assertThat(expanded.getSql())
+				.isEqualTo("select ':x' from t -- :y\n where a = $1 /* :z */ and b = $2 and c = 'it''s :a'");
+	}
+
+	@Test
+	void cachesExpandedStatementPerDialect() {
+		SqlCommand command = new SqlCommand(SELECT);
+
+		ExpandedSql postgres = command.getExpandedSql(POSTGRES);
+		assertThat(command.getExpandedSql(POSTGRES)).isSameAs(postgres);
+		assertThat(command.getExpandedSql(MYSQL).getSql()).isEqualTo("select * from t where a = ? and b = ? or c = ?");
+	}
+
+	@Test
+	void expandsCollectionIntoValueCountMarkers() {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(SELECT_IN);
+		List<String> order = Arrays.asList("a", "ids");
+
+		assertThat(NamedParameterUtils.expandSql(parsedSql, POSTGRES, order, new int[] { -1, 1 }).getSql())
+				.isEqualTo("select * from t where a = $1 and b in ($2) or c = $1");
+		assertThat(NamedParameterUtils.expandSql(parsedSql, POSTGRES, order, new int[] { -1, 3 }).getSql())
+				.isEqualTo("select * from t where a = $1 and b in ($2, $3, $4) or c = $1");
+		assertThat(NamedParameterUtils.expandSql(parsedSql, MYSQL, order, new int[] { -1, 3 }).getSql())
+				.isEqualTo("select * from t where a = ? and b in (?, ?, ?) or c = ?");
+		assertThat(NamedParameterUtils.expandSql(parsedSql, SQL_SERVER, order, new int[] { -1, 3 }).getSql())
+				.isEqualTo("select * from t where a = @P0a and b in (@P1ids, @P2ids, @P3ids) or c = @P0a");
+
+		ExpandedSql expanded = NamedParameterUtils.expandSql(parsedSql, MYSQL, order, new int[] { -1, 3 });
+		assertThat(expanded.isExpanded(0)).isFalse();
+		assertThat(expanded.isExpanded(1)).isTrue();
+		assertThat(expanded.getValueCount(1)).isEqualTo(3);
+		assertThat(expanded.getBindMarkers(1)).hasSize(3);
+		assertThat(expanded.getBindMarkerCount()).isEqualTo(5);
+	}
+
+	@Test
+	void findsParametersOfInLists() {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(
+				"delete from t where a in ( :a ) and b NOT\n IN(:b) and c = :c and d in (:d, :e) and main(:f)");
+
+		assertThat(NamedParameterUtils.isInListParameter(parsedSql, 0)).isTrue();
+		assertThat(NamedParameterUtils.isNotInListParameter(parsedSql, 0)).isFalse();
+		assertThat(NamedParameterUtils.isInListParameter(parsedSql, 1)).isTrue();
+		assertThat(NamedParameterUtils.isNotInListParameter(parsedSql, 1)).isTrue();
+		assertThat(NamedParameterUtils.isInListParameter(parsedSql, 2)).isFalse();
+		assertThat(NamedParameterUtils.isInListParameter(parsedSql, 3)).isFalse();
+		assertThat(NamedParameterUtils.isInListParameter(parsedSql, 4)).isFalse();
+		assertThat(NamedParameterUtils.isInListParameter(parsedSql, 5)).isFalse();
+	}
+
+	@Test
+	void findsValuesTuple() {
+		assertThat(NamedParameterUtils.findValuesTuple(NamedParameterUtils.parseSqlStatement(INSERT)))
+				.containsExactly(28, 36);
+		assertThat(NamedParameterUtils.findValuesTuple(NamedParameterUtils.parseSqlStatement(SELECT))).isNull();
+		assertThat(NamedParameterUtils.findValuesTuple(
+				NamedParameterUtils.parseSqlStatement("insert into t (v) select :v from dual where 'values (' <> ''")))
+						.isNull();
+	}
+
+	@Test
+	void repeatsValuesTuplePerRowAndBindsOutsideParametersOnce() {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(INSERT);
+		List<String> order = Arrays.asList("a", "b", "c");
+
+		ExpandedSql postgres = NamedParameterUtils.expandMultiRowSql(parsedSql, POSTGRES, order, 2);
+		assertThat(postgres.getSql()).isEqualTo(
+				"insert into t (a, b) values ($1, $2), ($3, $4) on conflict (a) do update set b = $5");
+		assertThat(postgres.getRows()).isEqualTo(2);
+		assertThat(postgres.getBindMarkers(0, 2)).hasSize(1);
+		assertThat(postgres.getBindMarkers(1, 2)).isEmpty();
+
+		RecordingBindTarget target = new RecordingBindTarget();
+		for (int row = 0; row < 2; row++) {
+			for (int p = 0; p < order.size(); p++) {
+				for (BindMarker marker : postgres.getBindMarkers(row, p)) {
+					marker.bind(target, order.get(p) + row);
+				}
+			}
+		}
+		assertThat(target.getBindings()).containsEntry(0, "a0").containsEntry(1, "b0").containsEntry(2, "a1")
+				.containsEntry(3, "b1").containsEntry(4, "c0").hasSize(5);
+
+		assertThat(NamedParameterUtils.expandMultiRowSql(parsedSql, MYSQL, order, 2).getSql())
+				.isEqualTo("insert into t (a, b) values (?, ?), (?, ?) on conflict (a) do update set b = ?");
+		assertThat(NamedParameterUtils.expandMultiRowSql(parsedSql, SQL_SERVER, order, 2).getSql()).isEqualTo(
+				"insert into t (a, b) values (@P0a, @P1b), (@P2a, @P3b) on conflict (a) do update set b = @P4c");
+	}
+
+	@Test
+	void rejectsMultiRowExpansionWithoutValuesTuple() {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(SELECT);
+
+		assertThatThrownBy(() -> NamedParameterUtils.expandMultiRowSql(parsedSql, POSTGRES, Arrays.asList("a", "b"), 2))
+				.isInstanceOf(InvalidDataAccessApiUsageException.class);
+	}
+
+	private static ExpandedSql expand(String sql, BindMarkersFactory factory) {
+		return NamedParameterUtils.expandSql(NamedParameterUtils.parseSqlStatement(sql), factory,
+				Arrays.asList("a", "b"));
+	}
+
+	private static Object[] bind(ExpandedSql expanded, int parameterPosition, Object value) {
+		RecordingBindTarget target = new RecordingBindTarget();
+		for (BindMarker marker : expanded.getBindMarkers(parameterPosition)) {
+			marker.bind(target, value);
+		}
+		return target.getBindings().keySet().toArray();
+	}
+}
@@ -0,0 +1,41 @@
+package org.reactive.r2dbc.iclient.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.r2dbc.core.binding.BindTarget;
+
+/**
+ * {@link BindTarget} recording bound values by identifier, and the type of
+ * {@code null} values as {@code "null:<type>"}.
+ *
+ * @author Bhautik Bhanani
+ */
+public class RecordingBindTarget implements BindTarget {
+
+	private final Map<Object, Object> bindings = new LinkedHashMap<>();
+
+	public Map<Object, Object> getBindings() {
+		return bindings;
+	}
+
+	@Override
+	public void bind(String identifier, Object value) {
+		bindings.put(identifier, value);
+	}
+
+	@Override
+	public void bind(int index, Object value) {
+		bindings.put(index, value);
+	}
+
+	@Override
+	public void bindNull(String identifier, Class<?> type) {
+		bindings.put(identifier, "null:" + type.getSimpleName());
+	}
+
+	@Override
+	public void bindNull(int index, Class<?> type) {
+		bindings.put(index, "null:" + type.getSimpleName());
+	}
+}